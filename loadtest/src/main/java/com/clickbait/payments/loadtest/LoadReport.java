@@ -0,0 +1,97 @@
+package com.clickbait.payments.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de uma execução: tabela no console, distribuições completas em {@code .hgrm}
+ * (formato do HdrHistogram, comparável entre execuções no plotter do HdrHistogram) e uma linha
+ * por operação em {@code summary.csv}, acumulada entre execuções.
+ */
+final class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final String CSV_HEADER = "label,timestamp,operation,target_rps,arrival,duration_s,"
+            + "responses,success,client_errors,server_errors,failures,dropped,throughput_rps,"
+            + "p50_ms,p90_ms,p99_ms,p999_ms,p9999_ms,max_ms,uncorrected_p99_ms\n";
+
+    private final LoadTestConfig config;
+    private final Map<Operation, OperationStats> stats;
+    private final double measuredSeconds;
+
+    LoadReport(LoadTestConfig config, Map<Operation, OperationStats> stats, double measuredSeconds) {
+        this.config = config;
+        this.stats = stats;
+        this.measuredSeconds = measuredSeconds;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%s: %.0f req/s (%s) for %.0fs against %s%n", config.label(), config.rate(),
+                config.arrival().name().toLowerCase(Locale.ROOT), measuredSeconds, config.baseUrl());
+        out.printf(Locale.ROOT, "%-13s %8s %8s %6s %6s %6s %7s %9s %9s %9s %9s %9s %9s %12s%n",
+                "operation", "count", "2xx", "4xx", "5xx", "fail", "dropped", "rps",
+                "p50", "p90", "p99", "p99.9", "max", "p99 (raw)");
+        for (OperationStats s : stats.values()) {
+            if (s.responses() + s.failures.sum() + s.dropped.sum() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-13s %8d %8d %6d %6d %6d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    s.operation.key(), s.responses(), s.success.sum(), s.clientErrors.sum(), s.serverErrors.sum(),
+                    s.failures.sum(), s.dropped.sum(), s.responses() / measuredSeconds,
+                    ms(s.corrected, 50), ms(s.corrected, 90), ms(s.corrected, 99), ms(s.corrected, 99.9),
+                    s.corrected.getMaxValue() / MICROS_PER_MILLI, ms(s.uncorrected, 99));
+        }
+        out.println("Latencies in ms from the scheduled send time; 'p99 (raw)' is measured from the actual send.");
+    }
+
+    void write() {
+        try {
+            Path dir = config.reportDir().resolve(config.label());
+            Files.createDirectories(dir);
+            var csv = new StringBuilder();
+            String timestamp = Instant.now().toString();
+
+            for (OperationStats s : stats.values()) {
+                if (s.corrected.getTotalCount() == 0) {
+                    continue;
+                }
+                writeDistribution(dir.resolve(s.operation.key() + ".hgrm"), s.corrected);
+                writeDistribution(dir.resolve(s.operation.key() + "-uncorrected.hgrm"), s.uncorrected);
+                csv.append(String.format(Locale.ROOT, "%s,%s,%s,%.1f,%s,%.0f,%d,%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        config.label(), timestamp, s.operation.key(), config.rate(),
+                        config.arrival().name().toLowerCase(Locale.ROOT), measuredSeconds,
+                        s.responses(), s.success.sum(), s.clientErrors.sum(), s.serverErrors.sum(),
+                        s.failures.sum(), s.dropped.sum(), s.responses() / measuredSeconds,
+                        ms(s.corrected, 50), ms(s.corrected, 90), ms(s.corrected, 99), ms(s.corrected, 99.9),
+                        ms(s.corrected, 99.99), s.corrected.getMaxValue() / MICROS_PER_MILLI, ms(s.uncorrected, 99)));
+            }
+
+            Path summary = config.reportDir().resolve("summary.csv");
+            if (Files.notExists(summary)) {
+                Files.writeString(summary, CSV_HEADER);
+            }
+            Files.writeString(summary, csv, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write load test report", e);
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,154 @@
+package com.clickbait.payments.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executa o modelo aberto: as chegadas seguem um agendamento fixo, calculado antes, e não
+ * esperam as respostas. Se o servidor ou o próprio gerador atrasar, as requisições pendentes saem
+ * em seguida e a latência continua contada a partir do instante agendado.
+ */
+final class LoadRun {
+
+    // Pagamentos criados recentemente, consultados pelas operações de leitura
+    private static final int KNOWN_PAYMENTS = 4096;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final PaymentRequests requests;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicReferenceArray<String[]> known = new AtomicReferenceArray<>(KNOWN_PAYMENTS);
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final SplittableRandom random;
+
+    LoadRun(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout())
+                .build();
+        this.requests = new PaymentRequests(Long.toString(System.currentTimeMillis(), 36));
+        this.random = new SplittableRandom(config.seed());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    LoadReport execute() {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        long sequence = 0;
+
+        long intended = start;
+        while (intended < end) {
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            boolean measured = intended >= measureFrom;
+            Operation operation = nextOperation();
+
+            if (inFlight.get() >= config.maxInFlight()) {
+                if (measured) {
+                    stats.get(operation).dropped.increment();
+                }
+            } else {
+                send(operation, sequence++, intended, measured);
+            }
+            intended += nextInterval();
+        }
+
+        awaitInFlight(System.nanoTime() + config.timeout().toNanos());
+        return new LoadReport(config, stats, (end - measureFrom) / 1e9);
+    }
+
+    private Operation nextOperation() {
+        return config.operations().next(random);
+    }
+
+    private long nextInterval() {
+        long mean = config.intervalNanos();
+        if (config.arrival() == LoadTestConfig.Arrival.POISSON) {
+            return (long) (-Math.log(1 - random.nextDouble()) * mean);
+        }
+        return mean;
+    }
+
+    private void send(Operation operation, long sequence, long intended, boolean measured) {
+        String[] payment = operation == Operation.CREATE ? null : randomKnown();
+        if (operation != Operation.CREATE && payment == null) {
+            // Sem pagamentos criados ainda, as leituras viram criações
+            operation = Operation.CREATE;
+        }
+        HttpRequest request = switch (operation) {
+            case CREATE -> {
+                String method = config.methods().next(random);
+                yield HttpRequest.newBuilder(URI.create(config.baseUrl() + "/api/v1/payments"))
+                        .timeout(config.timeout())
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(requests.body(method, requests.orderId(sequence))))
+                        .build();
+            }
+            case GET_BY_ID -> get("/api/v1/payments/" + payment[0]);
+            case GET_BY_ORDER -> get("/api/v1/payments/order/" + payment[1]);
+        };
+
+        boolean create = operation == Operation.CREATE;
+        OperationStats target = stats.get(operation);
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long completed = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (error != null) {
+                if (measured) {
+                    target.recordFailure(intended, completed);
+                }
+                return;
+            }
+            if (create && response.statusCode() == 201) {
+                remember(PaymentRequests.idOf(response.body()), requests.orderId(sequence));
+            }
+            if (measured) {
+                target.record(intended, sent, completed, response.statusCode());
+            }
+        });
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+                .timeout(config.timeout())
+                .GET()
+                .build();
+    }
+
+    private void remember(String id, String orderId) {
+        if (id != null) {
+            long n = created.getAndIncrement();
+            known.set((int) (n % KNOWN_PAYMENTS), new String[]{id, orderId});
+        }
+    }
+
+    // Pode devolver null logo após uma criação, enquanto a posição ainda não foi preenchida
+    private String[] randomKnown() {
+        int bound = (int) Math.min(created.get(), KNOWN_PAYMENTS);
+        return bound > 0 ? known.get(random.nextInt(bound)) : null;
+    }
+
+    private void awaitInFlight(long deadline) {
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+}
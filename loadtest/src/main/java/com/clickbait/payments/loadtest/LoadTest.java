@@ -0,0 +1,32 @@
+package com.clickbait.payments.loadtest;
+
+/**
+ * Ponto de entrada. Exemplo, com o serviço rodando no perfil {@code in-memory}:
+ * <pre>
+ * ./mvnw -f loadtest/pom.xml -q compile exec:java -Dexec.args="--rate=500 --duration=60s --arrival=poisson"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        System.out.printf("Warming up for %ds, then measuring for %ds...%n",
+                config.warmup().toSeconds(), config.duration().toSeconds());
+        LoadReport report = new LoadRun(config).execute();
+        report.print(System.out);
+        report.write();
+        System.out.println("Reports written to " + config.reportDir().resolve(config.label()).toAbsolutePath());
+        System.exit(0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.clickbait.payments.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Parâmetros de uma execução, lidos de argumentos {@code --chave=valor}.
+ *
+ * @param rate       chegadas por segundo (modelo aberto: não depende das respostas)
+ * @param arrival    {@code constant} (intervalos iguais) ou {@code poisson} (intervalos exponenciais)
+ * @param operations mistura de operações, por exemplo {@code create:60,get:30,get-by-order:10}
+ * @param methods    mistura de métodos nas criações, por exemplo {@code CREDIT_CARD:50,PIX:40,BANK_SLIP:10}
+ */
+record LoadTestConfig(String baseUrl,
+                      double rate,
+                      Duration duration,
+                      Duration warmup,
+                      Arrival arrival,
+                      WeightedChoice<Operation> operations,
+                      WeightedChoice<String> methods,
+                      int maxInFlight,
+                      Duration timeout,
+                      Path reportDir,
+                      String label,
+                      long seed) {
+
+    enum Arrival { CONSTANT, POISSON }
+
+    static final String USAGE = """
+            Usage: LoadTest [--option=value ...]
+              --base-url=http://localhost:8080
+              --rate=100                 arrivals per second
+              --duration=60s             measured period (ms, s, m)
+              --warmup=10s               unrecorded period before measuring
+              --arrival=constant         constant | poisson
+              --ops=create:60,get:30,get-by-order:10
+              --methods=CREDIT_CARD:50,PIX:40,BANK_SLIP:10
+              --max-in-flight=1000       arrivals beyond this are counted as dropped
+              --timeout=10s              per request
+              --report-dir=target/loadtest
+              --label=<rate>rps-<arrival>
+              --seed=42
+            """;
+
+    static LoadTestConfig parse(String... args) {
+        String baseUrl = "http://localhost:8080";
+        double rate = 100;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(10);
+        Arrival arrival = Arrival.CONSTANT;
+        String operations = "create:60,get:30,get-by-order:10";
+        String methods = "CREDIT_CARD:50,PIX:40,BANK_SLIP:10";
+        int maxInFlight = 1000;
+        Duration timeout = Duration.ofSeconds(10);
+        Path reportDir = Path.of("target", "loadtest");
+        String label = null;
+        long seed = 42;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument '" + arg + "'\n" + USAGE);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "base-url" -> baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "rate" -> rate = Double.parseDouble(value);
+                case "duration" -> duration = parseDuration(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "arrival" -> arrival = Arrival.valueOf(value.toUpperCase(Locale.ROOT));
+                case "ops" -> operations = value;
+                case "methods" -> methods = value;
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "timeout" -> timeout = parseDuration(value);
+                case "report-dir" -> reportDir = Path.of(value);
+                case "label" -> label = value;
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option '--" + key + "'\n" + USAGE);
+            }
+        }
+
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate must be greater than zero");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight must be greater than zero");
+        }
+        if (label == null) {
+            label = (rate == Math.rint(rate) ? Long.toString((long) rate) : Double.toString(rate))
+                    + "rps-" + arrival.name().toLowerCase(Locale.ROOT);
+        }
+        return new LoadTestConfig(baseUrl, rate, duration, warmup, arrival,
+                WeightedChoice.parse(operations, Operation::fromKey),
+                WeightedChoice.parse(methods, method -> method.toUpperCase(Locale.ROOT)),
+                maxInFlight, timeout, reportDir, label, seed);
+    }
+
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        throw new IllegalArgumentException("Invalid duration '" + value + "', expected e.g. 500ms, 30s or 5m");
+    }
+
+    long intervalNanos() {
+        return (long) (1_000_000_000L / rate);
+    }
+}
@@ -0,0 +1,32 @@
+package com.clickbait.payments.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Requisições que o gerador sabe disparar. As consultas escolhem um pagamento criado
+ * anteriormente nesta execução.
+ */
+enum Operation {
+    CREATE("create"),
+    GET_BY_ID("get"),
+    GET_BY_ORDER("get-by-order");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key.toLowerCase(Locale.ROOT))) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "', expected create, get or get-by-order");
+    }
+}
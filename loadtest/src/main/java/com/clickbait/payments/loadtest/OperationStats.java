@@ -0,0 +1,61 @@
+package com.clickbait.payments.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências e contagens de uma operação. Guarda dois histogramas, em microssegundos:
+ * <ul>
+ *   <li>{@code corrected}: desde o instante em que a requisição deveria ter saído pelo agendamento.
+ *   Inclui a espera de requisições atrasadas porque o gerador ou o servidor travou, que é o que um
+ *   cliente real veria (correção de coordinated omission).</li>
+ *   <li>{@code uncorrected}: desde o envio efetivo, só para comparação.</li>
+ * </ul>
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    final Operation operation;
+    final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final LongAdder success = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, int status) {
+        corrected.recordValue(micros(completedNanos - intendedNanos));
+        uncorrected.recordValue(micros(completedNanos - sentNanos));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            // Inclui as recusas sorteadas pelo simulador de gateway, que respondem 400
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    // Timeout ou erro de conexão: a latência até a falha também conta
+    void recordFailure(long intendedNanos, long completedNanos) {
+        corrected.recordValue(micros(completedNanos - intendedNanos));
+        failures.increment();
+    }
+
+    long responses() {
+        return success.sum() + clientErrors.sum() + serverErrors.sum();
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(nanos / 1_000, 0), HIGHEST_TRACKABLE_MICROS);
+    }
+}
@@ -0,0 +1,49 @@
+package com.clickbait.payments.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Corpos de {@code POST /api/v1/payments} por método, com orderId único por execução. Os dados
+ * passam na validação; recusas vêm só do simulador de gateway.
+ */
+final class PaymentRequests {
+
+    private final String runId;
+    private final String dueDate = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS).toString();
+
+    PaymentRequests(String runId) {
+        this.runId = runId;
+    }
+
+    String orderId(long sequence) {
+        return "lt-" + runId + "-" + sequence;
+    }
+
+    String body(String method, String orderId) {
+        String details = switch (method) {
+            case "CREDIT_CARD" -> """
+                    {"paymentMethod":"CREDIT_CARD","cardNumber":"4111111111111111","cardHolderName":"Load Test","expirationDate":"12/30","cvv":"123"}""";
+            case "PIX" -> """
+                    {"paymentMethod":"PIX","pixKey":"loadtest@example.com","pixKeyType":"email"}""";
+            case "BANK_SLIP" -> """
+                    {"paymentMethod":"BANK_SLIP","customerDocument":"123.456.789-00","customerName":"Load Test","dueDate":"%s"}"""
+                    .formatted(dueDate);
+            default -> throw new IllegalArgumentException("Unknown payment method " + method);
+        };
+        return """
+                {"orderId":"%s","amount":100.00,"currency":"BRL","paymentMethod":"%s","paymentDetails":%s}"""
+                .formatted(orderId, method, details);
+    }
+
+    // A resposta começa por {"id":"...": basta localizar o primeiro campo, sem um parser JSON
+    static String idOf(String responseBody) {
+        int start = responseBody.indexOf("\"id\":\"");
+        if (start < 0) {
+            return null;
+        }
+        start += 6;
+        int end = responseBody.indexOf('"', start);
+        return end > start ? responseBody.substring(start, end) : null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.clickbait.payments.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteio ponderado a partir de uma lista {@code chave:peso,chave:peso}.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final int[] cumulative;
+    private final int total;
+
+    private WeightedChoice(Map<T, Integer> weights) {
+        this.values = List.copyOf(weights.keySet());
+        this.cumulative = new int[values.size()];
+        int sum = 0;
+        for (int i = 0; i < values.size(); i++) {
+            sum += weights.get(values.get(i));
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("At least one weight must be greater than zero");
+        }
+        this.total = sum;
+    }
+
+    static <T> WeightedChoice<T> parse(String spec, Function<String, T> key) {
+        Map<T, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid weight '" + entry + "', expected key:weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of '" + parts[0] + "' cannot be negative");
+            }
+            weights.merge(key.apply(parts[0].trim()), weight, Integer::sum);
+        }
+        return new WeightedChoice<>(weights);
+    }
+
+    T next(RandomGenerator random) {
+        int roll = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return values.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    double share(T value) {
+        int index = values.indexOf(value);
+        if (index < 0) {
+            return 0;
+        }
+        int weight = cumulative[index] - (index > 0 ? cumulative[index - 1] : 0);
+        return (double) weight / total;
+    }
+}
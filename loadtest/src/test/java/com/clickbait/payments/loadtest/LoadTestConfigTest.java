@@ -0,0 +1,58 @@
+package com.clickbait.payments.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestConfigTest {
+
+    @Test
+    void shouldParseArgumentsOverDefaults() {
+        // when
+        var config = LoadTestConfig.parse("--rate=250", "--duration=2m", "--warmup=500ms", "--arrival=poisson",
+                "--ops=create:1", "--methods=pix:1", "--base-url=http://host:9000/");
+
+        // then
+        assertEquals(250, config.rate());
+        assertEquals(Duration.ofMinutes(2), config.duration());
+        assertEquals(Duration.ofMillis(500), config.warmup());
+        assertEquals(LoadTestConfig.Arrival.POISSON, config.arrival());
+        assertEquals("http://host:9000", config.baseUrl());
+        assertEquals("250rps-poisson", config.label());
+        assertEquals(4_000_000, config.intervalNanos());
+        assertEquals(1.0, config.operations().share(Operation.CREATE));
+        assertEquals(1.0, config.methods().share("PIX"));
+    }
+
+    @Test
+    void shouldRejectUnknownOptionsAndBadValues() {
+        // when/then
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--rps=10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--rate=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--duration=10h"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--ops=delete:1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("--ops=create:0"));
+    }
+
+    @Test
+    void shouldPickOperationsInProportionToWeights() {
+        // given
+        var choice = WeightedChoice.parse("create:60,get:30,get-by-order:10", Operation::fromKey);
+        var random = new SplittableRandom(1);
+        var counts = new EnumMap<Operation, Integer>(Operation.class);
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(choice.next(random), 1, Integer::sum);
+        }
+
+        // then
+        assertEquals(0.6, counts.get(Operation.CREATE) / 100_000.0, 0.01);
+        assertEquals(0.3, counts.get(Operation.GET_BY_ID) / 100_000.0, 0.01);
+        assertEquals(0.1, counts.get(Operation.GET_BY_ORDER) / 100_000.0, 0.01);
+    }
+}
@@ -0,0 +1,31 @@
+package com.clickbait.payments.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentRequestsTest {
+
+    private final PaymentRequests requests = new PaymentRequests("run1");
+
+    @Test
+    void shouldBuildBodyForEachMethodWithUniqueOrderId() {
+        // when
+        var card = requests.body("CREDIT_CARD", requests.orderId(1));
+        var slip = requests.body("BANK_SLIP", requests.orderId(2));
+
+        // then
+        assertTrue(card.startsWith("{\"orderId\":\"lt-run1-1\",\"amount\":100.00"));
+        assertTrue(card.contains("\"paymentDetails\":{\"paymentMethod\":\"CREDIT_CARD\""));
+        assertTrue(slip.contains("\"orderId\":\"lt-run1-2\""));
+        assertTrue(slip.contains("\"dueDate\":\""));
+        assertThrows(IllegalArgumentException.class, () -> requests.body("CASH", "x"));
+    }
+
+    @Test
+    void shouldExtractIdFromResponse() {
+        // when/then
+        assertEquals("65a1f0c2e4b0a1b2c3d4e5f6", PaymentRequests.idOf("{\"id\":\"65a1f0c2e4b0a1b2c3d4e5f6\",\"orderId\":\"o1\"}"));
+        assertNull(PaymentRequests.idOf("{\"message\":\"Credit card payment failed\"}"));
+    }
+}
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Prepara o jar para o AppCDS (Class Data Sharing):
+#
+#   scripts/cds.sh extract target/payments-0.0.1-SNAPSHOT.jar target/cds
+#   scripts/cds.sh train target/cds
+#   java -XX:SharedArchiveFile=target/cds/application.jsa -jar target/cds/application.jar
+#
+# O CDS não arquiva classes de jars aninhados nem de diretórios, então o fat jar vira um
+# application.jar com as classes da aplicação e um Class-Path para lib/. O treino sobe o contexto
+# até o refresh (sem iniciar Tomcat, jobs ou conexões) e grava as classes carregadas no
+# application.jsa. O arquivo só vale para a mesma JVM e os mesmos caminhos: treine no lugar onde
+# a aplicação vai rodar.
+set -euo pipefail
+
+extract() {
+    local jar=$1 dir=$2 work
+    work=$(mktemp -d)
+    trap 'rm -rf "$work"' RETURN
+    (cd "$work" && jar xf "$(realpath "$OLDPWD/$jar")")
+
+    rm -rf "$dir"
+    mkdir -p "$dir/lib"
+    local manifest="$work/MANIFEST.MF" entry first=1
+    {
+        echo "Main-Class: $(awk -F': ' '/^Start-Class/ {print $2}' "$work/META-INF/MANIFEST.MF" | tr -d '\r')"
+        # Mesma ordem do fat jar; cada continuação de linha do manifesto começa com um espaço
+        while read -r entry; do
+            entry=${entry#- \"BOOT-INF/}
+            entry=${entry%\"}
+            cp "$work/BOOT-INF/$entry" "$dir/lib/"
+            if (( first )); then
+                echo "Class-Path: $entry"
+                first=0
+            else
+                echo "  $entry"
+            fi
+        done < "$work/BOOT-INF/classpath.idx"
+    } > "$manifest"
+    jar --create --file "$dir/application.jar" --manifest "$manifest" -C "$work/BOOT-INF/classes" .
+}
+
+train() {
+    local dir=$1
+    shift
+    # Sem MongoDB no treino: o cliente é criado, mas nada conecta antes do start
+    (cd "$dir" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh \
+        -jar application.jar \
+        --spring.data.mongodb.uri=mongodb://localhost:27017 \
+        --spring.data.mongodb.auto-index-creation=false \
+        --payments.search.hmac-key=cds-training-only \
+        "$@")
+}
+
+case "${1:-}" in
+    extract) extract "$2" "$3" ;;
+    train) shift; train "$@" ;;
+    *) echo "uso: $0 extract <jar> <diretório> | train <diretório> [argumentos]" >&2; exit 1 ;;
+esac
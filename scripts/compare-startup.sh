@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Compara tempo de inicialização e RSS do build JVM, com AppCDS, com AOT e da imagem nativa.
+#
+#   ./mvnw -Pnative -DskipTests package native:compile -Dspring-boot.aot.jvmArguments="-Dspring.profiles.active=in-memory"
+#   scripts/cds.sh extract target/payments-0.0.1-SNAPSHOT.jar target/cds && scripts/cds.sh train target/cds
+#   scripts/compare-startup.sh [execuções] [requisições]
+#
+# Cada variante sobe com o profile in-memory (sem MongoDB). "Pronto" é o primeiro 200 do
+# /actuator/health e "1º pagamento" é a resposta do primeiro POST, ambos medidos desde o fork do
+# processo; o RSS é lido de /proc antes e depois de um lote de pagamentos. Variantes sem artefato
+# são ignoradas.
+set -euo pipefail
+
+RUNS=${1:-5}
+REQUESTS=${2:-200}
+PORT=${PORT:-18080}
+GRPC_PORT=${GRPC_PORT:-19090}
+JAR=$(ls target/payments-*.jar 2>/dev/null | grep -v original | head -1 || true)
+NATIVE=target/payments
+CDS=target/cds
+ARGS=(--spring.profiles.active=in-memory --server.port="$PORT" --payments.grpc.port="$GRPC_PORT")
+PAYMENT='{"orderId":"%s","amount":10.00,"currency":"BRL","paymentMethod":"PIX","paymentDetails":{"paymentMethod":"PIX","pixKey":"user@example.com","pixKeyType":"email"}}'
+
+now_ms() { date +%s%3N; }
+rss_kb() { awk '/^VmRSS/ {print $2}' "/proc/$1/status"; }
+median() { sort -n | awk '{a[NR]=$1} END {print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2)}'; }
+
+run_once() {
+    local start pid ready first idle loaded i
+    start=$(now_ms)
+    "$@" "${ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "processo encerrou antes de ficar pronto: $*" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+    ready=$(( $(now_ms) - start ))
+    idle=$(rss_kb "$pid")
+    # shellcheck disable=SC2059
+    curl -sf -o /dev/null -H 'Content-Type: application/json' \
+        -d "$(printf "$PAYMENT" "startup-$pid-0")" "http://localhost:$PORT/api/v1/payments"
+    first=$(( $(now_ms) - start ))
+    for i in $(seq 1 "$REQUESTS"); do
+        # shellcheck disable=SC2059
+        curl -sf -o /dev/null -H 'Content-Type: application/json' \
+            -d "$(printf "$PAYMENT" "startup-$pid-$i")" "http://localhost:$PORT/api/v1/payments"
+    done
+    loaded=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$ready $first $idle $loaded"
+}
+
+measure() {
+    local label=$1 results
+    shift
+    results=$(for _ in $(seq 1 "$RUNS"); do run_once "$@"; done)
+    printf '| %-10s | %9s | %12s | %6s | %12s |\n' "$label" \
+        "$(cut -d' ' -f1 <<< "$results" | median)" \
+        "$(cut -d' ' -f2 <<< "$results" | median)" \
+        "$(( $(cut -d' ' -f3 <<< "$results" | median) / 1024 ))" \
+        "$(( $(cut -d' ' -f4 <<< "$results" | median) / 1024 ))"
+}
+
+echo "Mediana de $RUNS execuções; RSS após $REQUESTS pagamentos"
+echo
+printf '| %-10s | %9s | %12s | %6s | %12s |\n' "Build" "Pronto ms" "1º pagamento" "RSS MB" "RSS carga MB"
+printf '|------------|----------:|-------------:|-------:|-------------:|\n'
+if [[ -n "$JAR" ]]; then
+    measure "jvm" java -jar "$JAR"
+    if [[ $(unzip -l "$JAR") == *__ApplicationContextInitializer* ]]; then
+        measure "jvm-aot" java -Dspring.aot.enabled=true -jar "$JAR"
+    fi
+fi
+if [[ -f "$CDS/application.jsa" ]]; then
+    measure "jvm-cds" java -XX:SharedArchiveFile="$CDS/application.jsa" -jar "$CDS/application.jar"
+fi
+if [[ -x "$NATIVE" ]]; then
+    measure "native" "$NATIVE"
+fi
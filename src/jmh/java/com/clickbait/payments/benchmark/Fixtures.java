@@ -0,0 +1,104 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentDetailsDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entradas representativas por método de pagamento, as mesmas usadas nos testes.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    // Mesma configuração de application.properties (spring.jackson.*)
+    static JsonMapper.Builder objectMapper() {
+        return JsonMapper.builder()
+                .findAndAddModules()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    static CreatePaymentRequest request(PaymentMethod method) {
+        var details = new PaymentDetailsDTO();
+        details.setPaymentMethod(method);
+        switch (method) {
+            case CREDIT_CARD -> {
+                details.setCardNumber("4111111111111111");
+                details.setCardHolderName("John Doe");
+                details.setExpirationDate("12/30");
+                details.setCvv("123");
+            }
+            case PIX -> {
+                details.setPixKey("user@example.com");
+                details.setPixKeyType("email");
+            }
+            case BANK_SLIP -> {
+                details.setCustomerDocument("123.456.789-00");
+                details.setCustomerName("John Doe");
+                details.setDueDate(LocalDateTime.now().plusDays(3).withNano(0).toString());
+            }
+        }
+
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order-" + method.name().toLowerCase());
+        request.setAmount(new BigDecimal("100.00"));
+        request.setCurrency("BRL");
+        request.setPaymentMethod(method);
+        request.setPaymentDetails(details);
+        return request;
+    }
+
+    static Payment payment(PaymentMethod method) {
+        var payment = Payment.builder()
+                .orderId("order-" + method.name().toLowerCase())
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(method)
+                .paymentDetails(details(method))
+                .build();
+        payment.setMerchantId("merchant-1");
+        return payment;
+    }
+
+    static Payment processedPayment(PaymentMethod method) {
+        var payment = payment(method);
+        payment.setId("65a1f0c2e4b0a1b2c3d4e5f6");
+        payment.setStatus(method == PaymentMethod.BANK_SLIP ? PaymentStatus.PENDING : PaymentStatus.APPROVED);
+        if (payment.getPaymentDetails() instanceof BankSlipDetails bankSlip) {
+            bankSlip.setBarCode("034919000000001000012345678901234567890123456789");
+        }
+        return payment;
+    }
+
+    static PaymentDetails details(PaymentMethod method) {
+        return switch (method) {
+            case CREDIT_CARD -> CreditCardDetails.builder()
+                    .paymentMethod(method)
+                    .cardNumber("4111111111111111")
+                    .cardHolderName("John Doe")
+                    .expirationDate("12/30")
+                    .cvv("123")
+                    .build();
+            case PIX -> PixDetails.builder()
+                    .paymentMethod(method)
+                    .pixKey("user@example.com")
+                    .pixKeyType("email")
+                    .build();
+            case BANK_SLIP -> BankSlipDetails.builder()
+                    .paymentMethod(method)
+                    .customerDocument("123.456.789-00")
+                    .customerName("John Doe")
+                    .dueDate(LocalDateTime.now().plusDays(3))
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.rest.json.PaymentJsonSerializer;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura do {@code CreatePaymentRequest} e escrita da resposta pelos dois caminhos: o
+ * {@link PaymentJsonSerializer} usado pelo controller e o DTO montado pelo {@link PaymentMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentJsonBenchmark {
+
+    @Param({"CREDIT_CARD", "PIX", "BANK_SLIP"})
+    private PaymentMethod method;
+
+    private final PaymentMapper mapper = new PaymentMapper();
+    private ObjectReader requestReader;
+    private ObjectMapper dtoMapper;
+    private ObjectMapper streamingMapper;
+    private byte[] requestJson;
+    private Payment payment;
+
+    @Setup
+    public void setUp() throws IOException {
+        dtoMapper = Fixtures.objectMapper().build();
+        streamingMapper = Fixtures.objectMapper()
+                .addModule(new SimpleModule().addSerializer(new PaymentJsonSerializer()))
+                .build();
+        requestReader = dtoMapper.readerFor(CreatePaymentRequest.class);
+        requestJson = dtoMapper.writeValueAsBytes(Fixtures.request(method));
+        payment = Fixtures.processedPayment(method);
+    }
+
+    @Benchmark
+    public CreatePaymentRequest readRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponseStreaming() throws IOException {
+        return streamingMapper.writeValueAsBytes(payment);
+    }
+
+    @Benchmark
+    public byte[] writeResponseViaDto() throws IOException {
+        return dtoMapper.writeValueAsBytes(mapper.toResponse(payment));
+    }
+}
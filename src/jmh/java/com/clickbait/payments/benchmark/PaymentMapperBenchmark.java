@@ -0,0 +1,42 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentResponse;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentMapperBenchmark {
+
+    @Param({"CREDIT_CARD", "PIX", "BANK_SLIP"})
+    private PaymentMethod method;
+
+    private final PaymentMapper mapper = new PaymentMapper();
+    private CreatePaymentRequest request;
+    private Payment payment;
+
+    @Setup
+    public void setUp() {
+        request = Fixtures.request(method);
+        payment = Fixtures.processedPayment(method);
+    }
+
+    @Benchmark
+    public Payment toEntity() {
+        return mapper.toEntity(request);
+    }
+
+    @Benchmark
+    public PaymentResponse toResponse() {
+        return mapper.toResponse(payment);
+    }
+}
@@ -0,0 +1,49 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.infrastructure.adapters.out.persistence.PaymentProcessingAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O simulador de gateway: validação do número do cartão (regex) com o sorteio de recusas, que
+ * lançam exceção, e a geração do código de barras do boleto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentProcessingAdapterBenchmark {
+
+    private final PaymentProcessingAdapter adapter = new PaymentProcessingAdapter();
+    private Payment creditCard;
+    private Payment bankSlip;
+
+    @Setup
+    public void setUp() {
+        creditCard = Fixtures.payment(PaymentMethod.CREDIT_CARD);
+        bankSlip = Fixtures.payment(PaymentMethod.BANK_SLIP);
+    }
+
+    @Benchmark
+    public Object creditCard() {
+        try {
+            return adapter.processCreditCardPayment(creditCard);
+        } catch (PaymentProcessingException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Payment bankSlipBarCode() {
+        // Sem código de barras, para que cada chamada gere um novo
+        ((BankSlipDetails) bankSlip.getPaymentDetails()).setBarCode(null);
+        return adapter.processBankSlipPayment(bankSlip);
+    }
+}
@@ -0,0 +1,128 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.application.FxConversionService;
+import com.clickbait.payments.application.MerchantQuotas;
+import com.clickbait.payments.application.PaymentLookupKeys;
+import com.clickbait.payments.application.PaymentMetrics;
+import com.clickbait.payments.application.PaymentService;
+import com.clickbait.payments.application.PaymentTracing;
+import com.clickbait.payments.domain.model.FxRate;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import com.clickbait.payments.domain.ports.out.PaymentProcessingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code processPayment} com portas em memória: mede validação, FX, chaves de busca e a montagem
+ * do evento, sem I/O. O processador aprova sempre (o sorteio de falhas do simulador fica no
+ * {@link PaymentProcessingAdapterBenchmark}) e a persistência só atribui o id, sem reter nada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentServiceBenchmark {
+
+    @Param({"CREDIT_CARD", "PIX", "BANK_SLIP"})
+    private PaymentMethod method;
+
+    @Param({"BRL", "USD"})
+    private String currency;
+
+    private PaymentService service;
+
+    @Setup
+    public void setUp() {
+        var fx = new FxConversionService(
+                () -> List.of(FxRate.of("USD", "BRL", new BigDecimal("5.42"), LocalDateTime.now())), "BRL");
+        var registry = new SimpleMeterRegistry();
+        // Só a cota de concorrência: a de taxa recusaria a maior parte das chamadas do benchmark
+        service = new PaymentService(new InMemoryPersistence(), new ApprovingProcessor(), event -> { }, new NoOpLease(),
+                new MerchantQuotas(registry, 50, 0, 0, List.of("merchant-1")), fx, new PaymentLookupKeys("benchmark-key"),
+                new PaymentMetrics(registry), new PaymentTracing(Tracer.NOOP));
+    }
+
+    @Benchmark
+    public Payment processPayment() {
+        // Um pagamento novo por chamada, como numa requisição; o custo de montá-lo entra na medida
+        Payment payment = Fixtures.payment(method);
+        if (!"BRL".equals(currency)) {
+            payment.setAmount(Money.of(new BigDecimal("100.00"), currency));
+        }
+        return service.processPayment(payment);
+    }
+
+    static final class InMemoryPersistence implements PaymentPersistencePort {
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public Payment savePayment(Payment payment) {
+            if (payment.getId() == null) {
+                payment.setId(Long.toHexString(ids.incrementAndGet()));
+            }
+            return payment;
+        }
+
+        @Override
+        public Optional<Payment> findById(String merchantId, String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Payment> findByOrderId(String merchantId, String orderId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit) {
+            return List.of();
+        }
+    }
+
+    static final class NoOpLease implements PaymentLeasePort {
+        @Override
+        public boolean tryAcquire(String merchantId, String orderId) {
+            return true;
+        }
+
+        @Override
+        public void release(String merchantId, String orderId) {
+        }
+    }
+
+    static final class ApprovingProcessor implements PaymentProcessingPort {
+        @Override
+        public Payment processCreditCardPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }
+
+        @Override
+        public Payment processPixPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }
+
+        @Override
+        public Payment processBankSlipPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.PENDING);
+            return payment;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.validation.PaymentValidator;
+import com.clickbait.payments.domain.validation.Violation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// O caminho válido é o comum; o inválido mostra o custo de montar a lista de violações
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentValidatorBenchmark {
+
+    @Param({"CREDIT_CARD", "PIX", "BANK_SLIP"})
+    private PaymentMethod method;
+
+    private final PaymentValidator validator = new PaymentValidator();
+    private Payment valid;
+    private Payment invalid;
+
+    @Setup
+    public void setUp() {
+        valid = Fixtures.payment(method);
+        invalid = Fixtures.payment(method);
+        invalid.setAmount(Money.ofMinor(0, "BRL"));
+        invalid.setOrderId(" ");
+    }
+
+    @Benchmark
+    public List<Violation> validPayment() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public List<Violation> invalidPayment() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,73 @@
+package com.clickbait.payments.benchmark;
+
+import com.clickbait.payments.infrastructure.config.TracingConfig;
+import com.clickbait.payments.infrastructure.tracing.TailSamplingSpanProcessor;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo de um trace rápido que a cabeça não amostrou (o caso de ~99% das requisições): só a cabeça
+// (spans não gravados) contra a cauda (spans gravados e descartados no fim do trace)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TailSamplingBenchmark {
+
+    private SdkTracerProvider headOnlyProvider;
+    private SdkTracerProvider tailProvider;
+    private Tracer headOnly;
+    private Tracer tail;
+
+    @Setup
+    public void setUp() {
+        var config = new TracingConfig();
+        headOnlyProvider = SdkTracerProvider.builder()
+                .setSampler(config.paymentsSampler(0.0, false))
+                .build();
+        tailProvider = SdkTracerProvider.builder()
+                .setSampler(config.paymentsSampler(0.0, true))
+                .addSpanProcessor(new TailSamplingSpanProcessor(SpanExporter.composite(List.of()), 500, 10_000, 128, 1000))
+                .build();
+        headOnly = headOnlyProvider.get("benchmark");
+        tail = tailProvider.get("benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        headOnlyProvider.close();
+        tailProvider.close();
+    }
+
+    @Benchmark
+    public Span headOnly() {
+        return trace(headOnly);
+    }
+
+    @Benchmark
+    public Span tailSampling() {
+        return trace(tail);
+    }
+
+    // Requisição, processamento, processador e uma escrita no MongoDB
+    private static Span trace(Tracer tracer) {
+        Span root = tracer.spanBuilder("http post /api/v1/payments").startSpan();
+        try (var scope = root.makeCurrent()) {
+            Span process = tracer.spanBuilder("payment.process").startSpan();
+            try (var inner = process.makeCurrent()) {
+                tracer.spanBuilder("payment.processor").startSpan().end();
+                tracer.spanBuilder("mongodb insert").startSpan().end();
+            }
+            process.end();
+        }
+        root.end();
+        return root;
+    }
+}
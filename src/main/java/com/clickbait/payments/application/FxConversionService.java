@@ -0,0 +1,117 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.FxRate;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.ports.out.ExchangeRatePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converte valores para a moeda de liquidação. As cotações ficam em uma tabela imutável que
+ * é trocada inteira a cada refresh; leitores só fazem uma leitura volátil, sem locks.
+ */
+@Slf4j
+@Service
+public class FxConversionService {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L
+    };
+
+    private final ExchangeRatePort exchangeRatePort;
+    private final String settlementCurrency;
+    private final int settlementFractionDigits;
+    private volatile Map<String, FxRate> rates;
+
+    public FxConversionService(ExchangeRatePort exchangeRatePort,
+                               @Value("${payments.fx.settlement-currency:BRL}") String settlementCurrency) {
+        this.exchangeRatePort = exchangeRatePort;
+        this.settlementCurrency = settlementCurrency;
+        this.settlementFractionDigits = Money.ofMinor(0, settlementCurrency).fractionDigits();
+        this.rates = buildTable(exchangeRatePort.loadRates());
+    }
+
+    @Scheduled(fixedDelayString = "${payments.fx.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            rates = buildTable(exchangeRatePort.loadRates());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh exchange rates, keeping previous table: {}", e.getMessage());
+        }
+    }
+
+    public String getSettlementCurrency() {
+        return settlementCurrency;
+    }
+
+    /**
+     * Converte o valor do pagamento para a moeda de liquidação e registra a cotação usada.
+     * Pagamentos já na moeda de liquidação não são alterados.
+     */
+    public void settle(Payment payment) {
+        Money amount = payment.getAmount();
+        if (settlementCurrency.equals(amount.currency())) {
+            return;
+        }
+        FxRate rate = rateFor(amount.currency());
+        payment.setSettlementAmount(convert(amount, rate));
+        payment.setFxRate(rate);
+    }
+
+    public FxRate rateFor(String currency) {
+        FxRate rate = rates.get(currency);
+        if (rate == null) {
+            throw new PaymentProcessingException("No exchange rate from " + currency + " to " + settlementCurrency);
+        }
+        return rate;
+    }
+
+    public Money convert(Money amount, FxRate rate) {
+        int exponent = settlementFractionDigits - amount.fractionDigits() - FxRate.SCALE;
+        long product = amount.minorUnits() * rate.scaledRate();
+        boolean overflow = Math.multiplyHigh(amount.minorUnits(), rate.scaledRate()) != (product >> 63);
+        if (overflow || exponent < -12 || exponent > 12) {
+            return convertExact(amount, rate);
+        }
+
+        if (exponent >= 0) {
+            return Money.ofMinor(Math.multiplyExact(product, POWERS_OF_TEN[exponent]), settlementCurrency);
+        }
+
+        // Divisão com arredondamento HALF_EVEN, igual ao caminho com BigDecimal
+        long divisor = POWERS_OF_TEN[-exponent];
+        long quotient = product / divisor;
+        long twiceRemainder = Math.abs(product % divisor) * 2;
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) == 1)) {
+            quotient += Long.signum(product);
+        }
+        return Money.ofMinor(quotient, settlementCurrency);
+    }
+
+    private Money convertExact(Money amount, FxRate rate) {
+        BigDecimal converted = amount.toBigDecimal().multiply(rate.toBigDecimal());
+        return Money.of(converted, settlementCurrency, RoundingMode.HALF_EVEN);
+    }
+
+    private Map<String, FxRate> buildTable(List<FxRate> loaded) {
+        Map<String, FxRate> table = new HashMap<>();
+        for (FxRate rate : loaded) {
+            if (settlementCurrency.equals(rate.quoteCurrency())) {
+                table.put(rate.baseCurrency(), rate);
+            }
+        }
+        log.info("Loaded {} exchange rates to {}", table.size(), settlementCurrency);
+        return Map.copyOf(table);
+    }
+}
@@ -0,0 +1,138 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cotas por lojista: pagamentos simultâneos (semáforo) e pagamentos por segundo (token bucket com
+ * rajada). Um lojista acima da cota recebe {@link MerchantQuotaExceededException} antes de chegar
+ * ao processador e ao MongoDB, então não ocupa as threads e conexões que os outros usam.
+ *
+ * <p>Os lojistas de {@code payments.tenancy.merchants} têm semáforo, bucket e métricas próprios,
+ * criados na subida; o caminho da requisição não aloca nem disputa locks com outros lojistas. O id
+ * vem do cliente, então os demais dividem uma única cota {@code other}, com as mesmas métricas: trocar
+ * de id a cada requisição não dá cota nova, e nada por lojista desconhecido fica em memória.
+ * Limites menores ou iguais a zero desligam a cota correspondente.
+ */
+@Component
+public class MerchantQuotas {
+
+    public static final String CONCURRENCY = "concurrency";
+    public static final String RATE = "rate";
+    public static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final int maxConcurrent;
+    private final double ratePerSecond;
+    private final double burst;
+    // Só leitura depois do construtor
+    private final Map<String, Quota> known;
+    private final Quota other;
+
+    public MerchantQuotas(MeterRegistry registry,
+                          @Value("${payments.tenancy.max-concurrent:50}") int maxConcurrent,
+                          @Value("${payments.tenancy.rate-per-second:200}") double ratePerSecond,
+                          @Value("${payments.tenancy.burst:400}") double burst,
+                          @Value("${payments.tenancy.merchants:}") List<String> merchants) {
+        this.registry = registry;
+        this.maxConcurrent = maxConcurrent;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = Math.max(burst, 1);
+        var quotas = new HashMap<String, Quota>();
+        for (String merchantId : merchants) {
+            if (!merchantId.isBlank()) {
+                quotas.put(merchantId.trim(), new Quota(merchantId.trim()));
+            }
+        }
+        this.known = Map.copyOf(quotas);
+        this.other = known.containsKey(OTHER) ? known.get(OTHER) : new Quota(OTHER);
+    }
+
+    /**
+     * Reserva um pagamento na cota do lojista; o chamador devolve com {@link Quota#release()}.
+     */
+    public Quota acquire(String merchantId) {
+        Quota quota = known.getOrDefault(merchantId, other);
+        quota.acquire(merchantId);
+        return quota;
+    }
+
+    // Valor da tag merchant nas métricas: o próprio id só para os lojistas configurados
+    public String metricTag(String merchantId) {
+        return known.containsKey(merchantId) ? merchantId : OTHER;
+    }
+
+    public final class Quota {
+
+        private final Semaphore inFlight;
+        private final Counter concurrencyRejections;
+        private final Counter rateRejections;
+        private double tokens;
+        private long refilledAt;
+
+        private Quota(String merchantId) {
+            this.inFlight = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+            this.concurrencyRejections = rejections(merchantId, CONCURRENCY);
+            this.rateRejections = rejections(merchantId, RATE);
+            this.tokens = burst;
+            this.refilledAt = System.nanoTime();
+            if (inFlight != null) {
+                Gauge.builder("payments.merchant.in.flight", inFlight, semaphore -> maxConcurrent - semaphore.availablePermits())
+                        .description("Payments of the merchant being processed")
+                        .tag("merchant", merchantId)
+                        .register(registry);
+            }
+        }
+
+        // O id é o da requisição, não o da cota, para a recusa dizer quem foi limitado
+        private void acquire(String merchantId) {
+            if (inFlight != null && !inFlight.tryAcquire()) {
+                concurrencyRejections.increment();
+                throw new MerchantQuotaExceededException(merchantId, CONCURRENCY);
+            }
+            if (!takeToken()) {
+                release();
+                rateRejections.increment();
+                throw new MerchantQuotaExceededException(merchantId, RATE);
+            }
+        }
+
+        public void release() {
+            if (inFlight != null) {
+                inFlight.release();
+            }
+        }
+
+        // Lock só do lojista: o refill é proporcional ao tempo desde a última retirada
+        private synchronized boolean takeToken() {
+            if (ratePerSecond <= 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerSecond / 1_000_000_000d);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    private Counter rejections(String merchantId, String quota) {
+        return Counter.builder("payments.merchant.throttled")
+                .description("Payments rejected because the merchant exceeded a quota")
+                .tag("merchant", merchantId)
+                .tag("quota", quota)
+                .register(registry);
+    }
+}
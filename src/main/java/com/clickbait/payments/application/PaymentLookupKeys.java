@@ -0,0 +1,83 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.model.Payment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Deriva as chaves de busca de documento e cartão: HMAC-SHA256 do valor normalizado com uma
+ * chave do serviço. Sem a chave, o valor indexado não permite recuperar nem testar documentos
+ * por força bruta, e o mesmo documento digitado com ou sem pontuação gera a mesma chave.
+ */
+@Component
+public class PaymentLookupKeys {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> mac;
+
+    // Sem chave a aplicação não sobe: só os profiles dev e in-memory têm uma chave padrão
+    public PaymentLookupKeys(@Value("${payments.search.hmac-key:}") String key) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("payments.search.hmac-key must be specified (set PAYMENTS_SEARCH_HMAC_KEY)");
+        }
+        var secret = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Mac não é thread-safe; uma instância por thread evita o custo de getInstance/init por chamada
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(secret);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not initialize " + ALGORITHM, e);
+            }
+        });
+    }
+
+    public void apply(Payment payment) {
+        if (payment.getPaymentDetails() instanceof BankSlipDetails details && details.getCustomerDocument() != null) {
+            payment.setCustomerDocumentHash(customerDocumentHash(details.getCustomerDocument()));
+        } else if (payment.getPaymentDetails() instanceof CreditCardDetails details && details.getCardNumber() != null) {
+            payment.setCardFingerprint(cardFingerprint(details.getCardNumber()));
+        }
+    }
+
+    // CPF/CNPJ sem pontuação; letras são mantidas (em maiúsculas) por causa do CNPJ alfanumérico
+    public String customerDocumentHash(String document) {
+        return hash("doc:", normalize(document, true));
+    }
+
+    public String cardFingerprint(String cardNumber) {
+        return hash("card:", normalize(cardNumber, false));
+    }
+
+    private String hash(String domain, String normalized) {
+        // O prefixo separa os domínios: um documento nunca colide com um cartão de mesmos dígitos
+        byte[] digest = mac.get().doFinal((domain + normalized).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private static String normalize(String value, boolean keepLetters) {
+        var normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                normalized.append(c);
+            } else if (keepLetters && Character.isLetter(c)) {
+                normalized.append(Character.toUpperCase(c));
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search value must contain digits");
+        }
+        return normalized.toString();
+    }
+}
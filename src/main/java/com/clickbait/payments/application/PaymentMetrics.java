@@ -0,0 +1,138 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.validation.Violation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas do fluxo de pagamento. Os timers de cada combinação método/resultado são resolvidos
+ * uma vez e guardados, para que o caminho feliz não monte tags nem consulte o registry.
+ * Histogramas e buckets de SLO são configurados em {@code management.metrics.distribution.*}.
+ */
+@Component
+public class PaymentMetrics {
+
+    public static final String PROCESSING = "payments.processing";
+    public static final String PROCESSOR = "payments.processor";
+    public static final String VALIDATION_FAILURES = "payments.validation.failures";
+    public static final String MERCHANT_PROCESSING = "payments.merchant.processing";
+
+    public enum Outcome {
+        APPROVED, REJECTED, PENDING, INVALID, CONFLICT, THROTTLED, FAILED, ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        public String tag() {
+            return tag;
+        }
+
+        public static Outcome of(PaymentStatus status) {
+            return switch (status) {
+                case APPROVED -> APPROVED;
+                case REJECTED -> REJECTED;
+                case PENDING -> PENDING;
+            };
+        }
+    }
+
+    private static final String UNKNOWN_METHOD = "unknown";
+
+    private final MeterRegistry registry;
+    // [método (ordinal, último = desconhecido)][resultado]; preenchidos sob demanda
+    private final Timer[][] processing;
+    private final Timer[][] processor;
+    // Um timer por lojista e resultado, sem o método; as chaves são as tags de MerchantQuotas.metricTag
+    private final Map<String, Timer[]> merchantProcessing = new ConcurrentHashMap<>();
+
+    public PaymentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        int methods = PaymentMethod.values().length + 1;
+        this.processing = new Timer[methods][Outcome.values().length];
+        this.processor = new Timer[methods][Outcome.values().length];
+    }
+
+    public void recordProcessing(PaymentMethod method, Outcome outcome, long nanos) {
+        processingTimer(method, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordProcessor(PaymentMethod method, Outcome outcome, long nanos) {
+        processorTimer(method, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMerchant(String merchantId, Outcome outcome, long nanos) {
+        Timer[] timers = merchantProcessing.get(merchantId);
+        if (timers == null) {
+            timers = merchantProcessing.computeIfAbsent(merchantId, merchant -> new Timer[Outcome.values().length]);
+        }
+        Timer timer = timers[outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(MERCHANT_PROCESSING)
+                    .description("Payment processing time per merchant")
+                    .tag("merchant", merchantId)
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+            timers[outcome.ordinal()] = timer;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra antes do primeiro pagamento os timers dos resultados normais (um por status) de
+     * cada método, para que o registro não aconteça no caminho da requisição e as séries já
+     * existam no Prometheus, zeradas, desde a subida.
+     */
+    public void preload() {
+        for (PaymentMethod method : PaymentMethod.values()) {
+            for (PaymentStatus status : PaymentStatus.values()) {
+                processingTimer(method, Outcome.of(status));
+                processorTimer(method, Outcome.of(status));
+            }
+        }
+    }
+
+    // O motivo é um código fixo; a mensagem pode repetir o valor enviado pelo cliente e fica só na resposta
+    public void recordViolations(PaymentMethod method, List<Violation> violations) {
+        for (Violation violation : violations) {
+            registry.counter(VALIDATION_FAILURES,
+                    "method", tag(method),
+                    "field", violation.field(),
+                    "reason", violation.reason()).increment();
+        }
+    }
+
+    private Timer processingTimer(PaymentMethod method, Outcome outcome) {
+        return timer(processing, PROCESSING, "Payment processing time, from validation to persistence", method, outcome);
+    }
+
+    private Timer processorTimer(PaymentMethod method, Outcome outcome) {
+        return timer(processor, PROCESSOR, "Payment processor (gateway) call time", method, outcome);
+    }
+
+    private Timer timer(Timer[][] cache, String name, String description, PaymentMethod method, Outcome outcome) {
+        int row = method != null ? method.ordinal() : cache.length - 1;
+        Timer timer = cache[row][outcome.ordinal()];
+        if (timer == null) {
+            // Corrida benigna: o registry devolve a mesma instância para o mesmo nome e tags
+            timer = Timer.builder(name)
+                    .description(description)
+                    .tag("method", tag(method))
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+            cache[row][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private static String tag(PaymentMethod method) {
+        return method != null ? method.name() : UNKNOWN_METHOD;
+    }
+}
@@ -0,0 +1,55 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.model.PaymentPage;
+import com.clickbait.payments.domain.ports.in.SearchPaymentsUseCase;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Busca por documento do cliente ou cartão usando apenas as chaves HMAC indexadas. A paginação
+ * é por keyset sobre o id (mais recentes primeiro): cada página é uma leitura de intervalo no
+ * índice, com custo constante independente da profundidade.
+ */
+@Service
+public class PaymentSearchService implements SearchPaymentsUseCase {
+
+    private final PaymentPersistencePort paymentPersistencePort;
+    private final PaymentLookupKeys lookupKeys;
+    private final int maxPageSize;
+
+    public PaymentSearchService(PaymentPersistencePort paymentPersistencePort,
+                                PaymentLookupKeys lookupKeys,
+                                @Value("${payments.search.max-page-size:100}") int maxPageSize) {
+        this.paymentPersistencePort = paymentPersistencePort;
+        this.lookupKeys = lookupKeys;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public PaymentPage searchByCustomerDocument(String merchantId, String customerDocument, String after, int limit) {
+        return search(merchantId, PaymentLookupKey.CUSTOMER_DOCUMENT, lookupKeys.customerDocumentHash(customerDocument), after, limit);
+    }
+
+    @Override
+    public PaymentPage searchByCardNumber(String merchantId, String cardNumber, String after, int limit) {
+        return search(merchantId, PaymentLookupKey.CARD_FINGERPRINT, lookupKeys.cardFingerprint(cardNumber), after, limit);
+    }
+
+    private PaymentPage search(String merchantId, PaymentLookupKey key, String value, String after, int limit) {
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        // Um item a mais indica se existe próxima página sem precisar de count
+        List<Payment> found = paymentPersistencePort.findByLookupKey(merchantId, key, value, after, limit + 1);
+        if (found.size() <= limit) {
+            return new PaymentPage(found, null);
+        }
+        List<Payment> items = found.subList(0, limit);
+        return new PaymentPage(List.copyOf(items), items.get(limit - 1).getId());
+    }
+}
@@ -1,13 +1,25 @@
 package com.clickbait.payments.application;
 
+import com.clickbait.payments.application.PaymentMetrics.Outcome;
+import com.clickbait.payments.application.jfr.PaymentPersistenceEvent;
+import com.clickbait.payments.application.jfr.PaymentProcessedEvent;
+import com.clickbait.payments.application.jfr.PaymentProcessorEvent;
+import com.clickbait.payments.application.jfr.PaymentValidationEvent;
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
+import com.clickbait.payments.domain.exception.PaymentInProgressException;
 import com.clickbait.payments.domain.exception.PaymentProcessingException;
-import com.clickbait.payments.domain.model.BankSlipDetails;
-import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.exception.PaymentValidationException;
 import com.clickbait.payments.domain.model.Payment;
-import com.clickbait.payments.domain.model.PixDetails;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
 import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.domain.ports.out.PaymentEventBus;
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
 import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
 import com.clickbait.payments.domain.ports.out.PaymentProcessingPort;
+import com.clickbait.payments.domain.validation.PaymentValidator;
+import io.micrometer.tracing.Span;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -20,108 +32,153 @@ public class PaymentService implements ProcessPaymentUseCase {
 
     private final PaymentPersistencePort paymentPersistencePort;
     private final PaymentProcessingPort paymentProcessingPort;
+    private final PaymentEventBus paymentEventBus;
+    private final PaymentLeasePort paymentLeasePort;
+    private final MerchantQuotas merchantQuotas;
+    private final FxConversionService fxConversionService;
+    private final PaymentLookupKeys paymentLookupKeys;
+    private final PaymentMetrics paymentMetrics;
+    private final PaymentTracing paymentTracing;
+    private final PaymentValidator paymentValidator = new PaymentValidator();
 
     @Override
     public Payment processPayment(Payment payment) {
-        validatePayment(payment);
-        
-        payment.setCreatedAt(LocalDateTime.now());
-        payment.setUpdatedAt(LocalDateTime.now());
-        
-        Payment processedPayment = switch (payment.getPaymentMethod()) {
-            case CREDIT_CARD -> paymentProcessingPort.processCreditCardPayment(payment);
-            case PIX -> paymentProcessingPort.processPixPayment(payment);
-            case BANK_SLIP -> paymentProcessingPort.processBankSlipPayment(payment);
-        };
-
-        return paymentPersistencePort.savePayment(processedPayment);
-    }
-
-    @Override
-    public Optional<Payment> getPaymentById(String paymentId) {
-        return paymentPersistencePort.findById(paymentId);
-    }
-
-    @Override
-    public Optional<Payment> getPaymentByOrderId(String orderId) {
-        return paymentPersistencePort.findByOrderId(orderId);
-    }
-
-    private void validatePayment(Payment payment) {
-        if (payment == null) {
-            throw new PaymentProcessingException("Payment cannot be null");
+        var event = new PaymentProcessedEvent();
+        event.begin();
+        long start = System.nanoTime();
+        PaymentMethod method = payment != null ? payment.getPaymentMethod() : null;
+        String orderId = payment != null ? payment.getOrderId() : null;
+        String merchantId = payment != null ? payment.getMerchantId() : null;
+        Outcome outcome = Outcome.ERROR;
+        String paymentId = null;
+        Span span = paymentTracing.start(PaymentTracing.PROCESS, method, orderId);
+        try (var scope = paymentTracing.inScope(span)) {
+            Payment savedPayment = process(payment);
+            outcome = Outcome.of(savedPayment.getStatus());
+            paymentId = savedPayment.getId();
+            return savedPayment;
+        } catch (PaymentValidationException e) {
+            outcome = Outcome.INVALID;
+            paymentMetrics.recordViolations(method, e.getViolations());
+            throw e;
+        } catch (PaymentInProgressException | PaymentAlreadyExistsException e) {
+            outcome = Outcome.CONFLICT;
+            throw e;
+        } catch (MerchantQuotaExceededException e) {
+            outcome = Outcome.THROTTLED;
+            throw e;
+        } catch (PaymentProcessingException e) {
+            outcome = Outcome.FAILED;
+            span.error(e);
+            throw e;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            paymentMetrics.recordProcessing(method, outcome, elapsed);
+            // Requisições inválidas não contam para o lojista
+            if (merchantId != null && outcome != Outcome.INVALID) {
+                paymentMetrics.recordMerchant(merchantQuotas.metricTag(merchantId), outcome, elapsed);
+            }
+            paymentTracing.end(span, paymentId, outcome);
+            event.finish(merchantId, orderId, paymentId, method, outcome.tag());
         }
+    }
 
-        if (payment.getAmount() == null || payment.getAmount().signum() <= 0) {
-            throw new PaymentProcessingException("Payment amount must be greater than zero");
+    private Payment process(Payment payment) {
+        var validation = new PaymentValidationEvent();
+        validation.begin();
+        var violations = paymentValidator.validate(payment);
+        validation.finish(payment != null ? payment.getMerchantId() : null, payment != null ? payment.getOrderId() : null,
+                payment != null ? payment.getPaymentMethod() : null, violations.size());
+        if (!violations.isEmpty()) {
+            throw new PaymentValidationException(violations);
+        }
+        var quota = merchantQuotas.acquire(payment.getMerchantId());
+        try {
+            return processWithinQuota(payment);
+        } finally {
+            quota.release();
         }
+    }
 
-        if (payment.getPaymentMethod() == null) {
-            throw new PaymentProcessingException("Payment method must be specified");
-        }
+    private Payment processWithinQuota(Payment payment) {
+        fxConversionService.settle(payment);
+        paymentLookupKeys.apply(payment);
 
-        if (payment.getOrderId() == null || payment.getOrderId().trim().isEmpty()) {
-            throw new PaymentProcessingException("Order ID must be specified");
-        }
+        payment.setCreatedAt(LocalDateTime.now());
+        payment.setUpdatedAt(LocalDateTime.now());
 
-        validatePaymentDetails(payment);
+        // Uma tentativa por pedido em todo o cluster, do processador até a gravação
+        if (!paymentLeasePort.tryAcquire(payment.getMerchantId(), payment.getOrderId())) {
+            throw new PaymentInProgressException(payment.getOrderId());
+        }
+        Payment savedPayment;
+        try {
+            // Com o lease, um retry sequencial do mesmo pedido encontra o pagamento já gravado; só uma recusa libera o pedido
+            var existing = paymentPersistencePort.findByOrderId(payment.getMerchantId(), payment.getOrderId());
+            if (existing.isPresent() && !existing.get().getStatus().allowsRetry()) {
+                throw new PaymentAlreadyExistsException(payment.getOrderId(), existing.get().getId());
+            }
+            savedPayment = save(callProcessor(payment));
+        } finally {
+            paymentLeasePort.release(payment.getMerchantId(), payment.getOrderId());
+        }
+
+        // Efeitos colaterais (métricas, webhooks, caches) reagem ao evento fora da thread da requisição
+        paymentEventBus.publish(PaymentCreatedEvent.of(savedPayment));
+        return savedPayment;
     }
 
-    private void validatePaymentDetails(Payment payment) {
-        if (payment.getPaymentDetails() == null) {
-            throw new PaymentProcessingException("Payment details must be specified");
-        }
-
-        if (payment.getPaymentDetails().getPaymentMethod() != payment.getPaymentMethod()) {
-            throw new PaymentProcessingException("Payment method in details must match the payment method");
-        }
-
-        switch (payment.getPaymentMethod()) {
-            case CREDIT_CARD -> validateCreditCardDetails(payment);
-            case PIX -> validatePixDetails(payment);
-            case BANK_SLIP -> validateBankSlipDetails(payment);
+    private Payment callProcessor(Payment payment) {
+        var event = new PaymentProcessorEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        Span span = paymentTracing.start(PaymentTracing.PROCESSOR, payment.getPaymentMethod(), payment.getOrderId());
+        try (var scope = paymentTracing.inScope(span)) {
+            Payment processedPayment = switch (payment.getPaymentMethod()) {
+                case CREDIT_CARD -> paymentProcessingPort.processCreditCardPayment(payment);
+                case PIX -> paymentProcessingPort.processPixPayment(payment);
+                case BANK_SLIP -> paymentProcessingPort.processBankSlipPayment(payment);
+            };
+            outcome = Outcome.of(processedPayment.getStatus());
+            return processedPayment;
+        } catch (PaymentProcessingException e) {
+            outcome = Outcome.FAILED;
+            span.error(e);
+            throw e;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            paymentMetrics.recordProcessor(payment.getPaymentMethod(), outcome, System.nanoTime() - start);
+            paymentTracing.end(span, payment.getId(), outcome);
+            event.finish(payment.getMerchantId(), payment.getOrderId(), payment.getId(), payment.getPaymentMethod(), outcome.tag());
         }
     }
 
-    private void validateCreditCardDetails(Payment payment) {
-        var details = (CreditCardDetails) payment.getPaymentDetails();
-        if (details.getCardNumber() == null || details.getCardNumber().trim().isEmpty()) {
-            throw new PaymentProcessingException("Card number must be specified");
-        }
-        if (details.getCardHolderName() == null || details.getCardHolderName().trim().isEmpty()) {
-            throw new PaymentProcessingException("Card holder name must be specified");
-        }
-        if (details.getExpirationDate() == null || details.getExpirationDate().trim().isEmpty()) {
-            throw new PaymentProcessingException("Card expiration date must be specified");
-        }
-        if (details.getCvv() == null || details.getCvv().trim().isEmpty()) {
-            throw new PaymentProcessingException("Card CVV must be specified");
+    private Payment save(Payment payment) {
+        var event = new PaymentPersistenceEvent();
+        event.begin();
+        Payment savedPayment = null;
+        try {
+            savedPayment = paymentPersistencePort.savePayment(payment);
+            return savedPayment;
+        } finally {
+            event.finish(payment.getMerchantId(), payment.getOrderId(), savedPayment != null ? savedPayment.getId() : null,
+                    payment.getPaymentMethod(), savedPayment != null ? "saved" : "error");
         }
     }
 
-    private void validatePixDetails(Payment payment) {
-        var details = (PixDetails) payment.getPaymentDetails();
-        if (details.getPixKey() == null || details.getPixKey().trim().isEmpty()) {
-            throw new PaymentProcessingException("PIX key must be specified");
-        }
-        if (details.getPixKeyType() == null || details.getPixKeyType().trim().isEmpty()) {
-            throw new PaymentProcessingException("PIX key type must be specified");
-        }
+    @Override
+    public Optional<Payment> getPaymentById(String merchantId, String paymentId) {
+        return paymentPersistencePort.findById(merchantId, paymentId);
     }
 
-    private void validateBankSlipDetails(Payment payment) {
-        var details = (BankSlipDetails) payment.getPaymentDetails();
-        if (details.getCustomerDocument() == null || details.getCustomerDocument().trim().isEmpty()) {
-            throw new PaymentProcessingException("Customer document must be specified for bank slip");
-        }
-        if (details.getCustomerName() == null || details.getCustomerName().trim().isEmpty()) {
-            throw new PaymentProcessingException("Customer name must be specified for bank slip");
-        }
-        if (details.getDueDate() == null) {
-            throw new PaymentProcessingException("Due date must be specified for bank slip");
-        }
-        if (details.getDueDate().isBefore(LocalDateTime.now())) {
-            throw new PaymentProcessingException("Due date cannot be in the past");
-        }
+    @Override
+    public Optional<Payment> getPaymentByOrderId(String merchantId, String orderId) {
+        return paymentPersistencePort.findByOrderId(merchantId, orderId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.application.PaymentMetrics.Outcome;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spans do fluxo de pagamento, filhos do span da requisição (HTTP ou gRPC). Sem tracing
+ * configurado (por exemplo, nos testes) usa o {@link Tracer#NOOP}.
+ */
+@Component
+public class PaymentTracing {
+
+    public static final String PROCESS = "payment.process";
+    public static final String PROCESSOR = "payment.processor";
+
+    private final Tracer tracer;
+
+    @Autowired
+    public PaymentTracing(ObjectProvider<Tracer> tracer) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP));
+    }
+
+    public PaymentTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public Span start(String name, PaymentMethod method, String orderId) {
+        Span span = tracer.nextSpan().name(name);
+        if (!span.isNoop()) {
+            span.tag("payment.method", method != null ? method.name() : "unknown");
+            if (orderId != null) {
+                span.tag("payment.order_id", orderId);
+            }
+        }
+        return span.start();
+    }
+
+    public Tracer.SpanInScope inScope(Span span) {
+        return tracer.withSpan(span);
+    }
+
+    public void end(Span span, String paymentId, Outcome outcome) {
+        if (!span.isNoop()) {
+            if (paymentId != null) {
+                span.tag("payment.id", paymentId);
+            }
+            span.tag("payment.outcome", outcome.tag());
+        }
+        span.end();
+    }
+}
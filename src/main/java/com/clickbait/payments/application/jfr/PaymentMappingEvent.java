@@ -0,0 +1,19 @@
+package com.clickbait.payments.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Conversão entre o contrato HTTP e o domínio. O {@code outcome} é a direção:
+ * {@code toEntity} (requisição) ou {@code toJson} (resposta). A serialização da resposta acontece
+ * depois do {@link PaymentProcessedEvent}, então só o {@code toEntity} entra no relatório de lentos.
+ */
+@Name(PaymentMappingEvent.NAME)
+@Label("Payment Mapping")
+@Description("Request to domain mapping or response serialization")
+public class PaymentMappingEvent extends PaymentStageEvent {
+    public static final String NAME = "com.clickbait.payments.Mapping";
+    public static final String TO_ENTITY = "toEntity";
+    public static final String TO_JSON = "toJson";
+}
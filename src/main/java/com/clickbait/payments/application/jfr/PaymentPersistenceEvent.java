@@ -0,0 +1,12 @@
+package com.clickbait.payments.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(PaymentPersistenceEvent.NAME)
+@Label("Payment Persistence")
+@Description("PaymentPersistencePort.savePayment, including the outbox write")
+public class PaymentPersistenceEvent extends PaymentStageEvent {
+    public static final String NAME = "com.clickbait.payments.Persistence";
+}
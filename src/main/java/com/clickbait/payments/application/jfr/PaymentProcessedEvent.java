@@ -0,0 +1,12 @@
+package com.clickbait.payments.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(PaymentProcessedEvent.NAME)
+@Label("Payment Processed")
+@Description("PaymentService.processPayment, from validation to persistence")
+public class PaymentProcessedEvent extends PaymentStageEvent {
+    public static final String NAME = "com.clickbait.payments.Payment";
+}
@@ -0,0 +1,12 @@
+package com.clickbait.payments.application.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(PaymentProcessorEvent.NAME)
+@Label("Payment Processor Call")
+@Description("Call to the payment processor (gateway) for one payment method")
+public class PaymentProcessorEvent extends PaymentStageEvent {
+    public static final String NAME = "com.clickbait.payments.Processor";
+}
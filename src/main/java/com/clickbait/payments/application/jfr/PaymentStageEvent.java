@@ -0,0 +1,44 @@
+package com.clickbait.payments.application.jfr;
+
+import com.clickbait.payments.domain.model.PaymentMethod;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos JFR do fluxo de pagamento. Sem gravação ativa, {@code begin/end} não fazem
+ * nada e o objeto não escapa, então o custo é praticamente nulo; com gravação, os campos só são
+ * preenchidos quando o evento passa do threshold configurado. Sem stack trace, que é a parte cara.
+ */
+@Category({"Clickbait", "Payments"})
+@StackTrace(false)
+public abstract class PaymentStageEvent extends Event {
+
+    @Label("Merchant Id")
+    String merchantId;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Payment Id")
+    String paymentId;
+
+    @Label("Payment Method")
+    String method;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void finish(String merchantId, String orderId, String paymentId, PaymentMethod method, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.merchantId = merchantId;
+            this.orderId = orderId;
+            this.paymentId = paymentId;
+            this.method = method != null ? method.name() : null;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.clickbait.payments.application.jfr;
+
+import com.clickbait.payments.domain.model.PaymentMethod;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(PaymentValidationEvent.NAME)
+@Label("Payment Validation")
+@Description("PaymentValidator rules for one payment")
+public class PaymentValidationEvent extends PaymentStageEvent {
+    public static final String NAME = "com.clickbait.payments.Validation";
+
+    @Label("Violations")
+    int violations;
+
+    public void finish(String merchantId, String orderId, PaymentMethod method, int violations) {
+        this.violations = violations;
+        finish(merchantId, orderId, null, method, violations == 0 ? "valid" : "invalid");
+    }
+}
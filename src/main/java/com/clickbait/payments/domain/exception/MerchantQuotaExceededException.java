@@ -0,0 +1,24 @@
+package com.clickbait.payments.domain.exception;
+
+/**
+ * O lojista passou do limite de pagamentos simultâneos ou por segundo. A requisição é recusada
+ * antes de qualquer trabalho, para que um lojista com pico não atrase os demais.
+ */
+public class MerchantQuotaExceededException extends PaymentProcessingException {
+    private final String merchantId;
+    private final String quota;
+
+    public MerchantQuotaExceededException(String merchantId, String quota) {
+        super("Merchant " + merchantId + " exceeded its " + quota + " quota");
+        this.merchantId = merchantId;
+        this.quota = quota;
+    }
+
+    public String getMerchantId() {
+        return merchantId;
+    }
+
+    public String getQuota() {
+        return quota;
+    }
+}
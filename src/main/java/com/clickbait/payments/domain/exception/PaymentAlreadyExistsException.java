@@ -0,0 +1,26 @@
+package com.clickbait.payments.domain.exception;
+
+/**
+ * O pedido já tem um pagamento aprovado ou pendente: uma nova tentativa (por exemplo, um retry do
+ * cliente depois de um timeout) não chega ao processador e não cobra de novo. Depois de um pagamento
+ * recusado o pedido aceita nova tentativa.
+ */
+public class PaymentAlreadyExistsException extends PaymentProcessingException {
+
+    private final String paymentId;
+
+    public PaymentAlreadyExistsException(String orderId, String paymentId) {
+        super("Order " + orderId + " already has payment " + paymentId);
+        this.paymentId = paymentId;
+    }
+
+    // Recusa do índice único na gravação, quando o id do pagamento que ocupa o pedido não é conhecido
+    public PaymentAlreadyExistsException(String orderId, Throwable cause) {
+        super("Order " + orderId + " already has an approved or pending payment", cause);
+        this.paymentId = null;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+}
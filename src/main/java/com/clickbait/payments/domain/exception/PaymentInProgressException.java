@@ -0,0 +1,10 @@
+package com.clickbait.payments.domain.exception;
+
+/**
+ * Outra tentativa de pagamento do mesmo pedido está em andamento (possivelmente em outra instância).
+ */
+public class PaymentInProgressException extends PaymentProcessingException {
+    public PaymentInProgressException(String orderId) {
+        super("A payment for order " + orderId + " is already in progress");
+    }
+}
@@ -0,0 +1,21 @@
+package com.clickbait.payments.domain.exception;
+
+import com.clickbait.payments.domain.validation.Violation;
+
+import java.util.List;
+
+/**
+ * Pagamento inválido. Carrega todas as violações encontradas; a mensagem é a da primeira.
+ */
+public class PaymentValidationException extends PaymentProcessingException {
+    private final List<Violation> violations;
+
+    public PaymentValidationException(List<Violation> violations) {
+        super(violations.get(0).message());
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<Violation> getViolations() {
+        return violations;
+    }
+}
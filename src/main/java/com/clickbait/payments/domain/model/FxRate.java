@@ -0,0 +1,27 @@
+package com.clickbait.payments.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cotação de {@code baseCurrency} em {@code quoteCurrency}: 1 unidade da base vale
+ * {@code scaledRate / 10^8} unidades da cotada. Fica gravada no pagamento que a utilizou.
+ */
+public record FxRate(String baseCurrency, String quoteCurrency, long scaledRate, LocalDateTime asOf) {
+
+    public static final int SCALE = 8;
+
+    public FxRate {
+        if (scaledRate <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be greater than zero");
+        }
+    }
+
+    public static FxRate of(String baseCurrency, String quoteCurrency, BigDecimal rate, LocalDateTime asOf) {
+        return new FxRate(baseCurrency, quoteCurrency, rate.movePointRight(SCALE).longValueExact(), asOf);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(scaledRate, SCALE);
+    }
+}
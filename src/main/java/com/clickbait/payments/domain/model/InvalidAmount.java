@@ -0,0 +1,20 @@
+package com.clickbait.payments.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Valor recebido que não vira {@link Money} (moeda desconhecida ou casas decimais demais). A porta
+ * de entrada guarda o valor bruto no pagamento e o {@code PaymentValidator} o reporta junto com as
+ * outras violações. No gRPC o valor chega em unidades mínimas, e sem uma moeda válida não dá para
+ * convertê-lo: {@code minorUnits} diz em qual unidade está {@code amount}.
+ */
+public record InvalidAmount(BigDecimal amount, String currency, boolean minorUnits) {
+
+    public InvalidAmount(BigDecimal amount, String currency) {
+        this(amount, currency, false);
+    }
+
+    public static InvalidAmount ofMinor(long minorUnits, String currency) {
+        return new InvalidAmount(BigDecimal.valueOf(minorUnits), currency, true);
+    }
+}
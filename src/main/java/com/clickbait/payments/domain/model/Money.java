@@ -0,0 +1,105 @@
+package com.clickbait.payments.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Valor monetário em unidades mínimas da moeda (centavos para BRL, ienes para JPY) com o
+ * código ISO 4217. No MongoDB vira {@code {minorUnits: Int64, currency: "BRL"}}.
+ *
+ * <p>A conversão de {@link BigDecimal} é exata por padrão: um valor com mais casas decimais do
+ * que a moeda permite é rejeitado. Valores calculados (câmbio, rateios) devem informar o
+ * {@link RoundingMode} explicitamente.
+ */
+public record Money(long minorUnits, String currency) implements Comparable<Money> {
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+        fractionDigits(currency);
+    }
+
+    public static Money ofMinor(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        try {
+            return new Money(amount.movePointRight(fractionDigits(currency)).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString()
+                    + " is not representable in " + currency + " minor units");
+        }
+    }
+
+    public static Money of(BigDecimal amount, String currency, RoundingMode roundingMode) {
+        int digits = fractionDigits(currency);
+        try {
+            return new Money(amount.setScale(digits, roundingMode).movePointRight(digits).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " overflows " + currency + " minor units");
+        }
+    }
+
+    public static boolean isSupportedCurrency(String currency) {
+        try {
+            return currency != null && Currency.getInstance(currency).getDefaultFractionDigits() >= 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    public int fractionDigits() {
+        return fractionDigits(currency);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int fractionDigits(String currency) {
+        int digits;
+        try {
+            digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Currency " + currency + " is not a valid ISO 4217 code");
+        }
+        if (digits < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+        }
+        return digits;
+    }
+}
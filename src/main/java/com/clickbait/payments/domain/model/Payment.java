@@ -5,34 +5,58 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "payments")
+// Toda consulta é de um lojista, então os índices começam pelo merchantId
+@CompoundIndexes({
+    @CompoundIndex(name = "merchant_order", def = "{'merchantId': 1, 'orderId': 1}"),
+    // Barreira contra cobrança dupla: no máximo um pagamento aprovado ou pendente por pedido
+    @CompoundIndex(name = "merchant_order_active", def = "{'merchantId': 1, 'orderId': 1}", unique = true,
+            partialFilter = "{'holdsOrder': true}"),
+    @CompoundIndex(name = "merchant_customer_document_lookup", def = "{'merchantId': 1, 'customerDocumentHash': 1, '_id': -1}"),
+    @CompoundIndex(name = "merchant_card_fingerprint_lookup", def = "{'merchantId': 1, 'cardFingerprint': 1, '_id': -1}")
+})
 public class Payment {
     @Id
     private String id;
+    // Lojista (tenant) dono do pagamento; o orderId só é único dentro dele
+    private String merchantId;
     private String orderId;
-    private BigDecimal amount;
+    private Money amount;
     private PaymentMethod paymentMethod;
     private PaymentStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private PaymentDetails paymentDetails;
+    private Money settlementAmount;
+    private FxRate fxRate;
+    // HMACs do documento do cliente e do número do cartão, para busca sem expor o dado nos índices
+    private String customerDocumentHash;
+    private String cardFingerprint;
+    // Derivado do status (ver PaymentStatus.allowsRetry); gravado só para o índice parcial merchant_order_active
+    private boolean holdsOrder;
+    // Só na entrada, até a validação: o valor recebido quando ele não vira Money
+    @Transient
+    private InvalidAmount invalidAmount;
 
     @Builder
-    public Payment(String id, String orderId, BigDecimal amount, PaymentMethod paymentMethod, 
+    public Payment(String id, String orderId, Money amount, PaymentMethod paymentMethod, 
                   PaymentStatus status, PaymentDetails paymentDetails, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.orderId = orderId;
         this.amount = amount;
         this.paymentMethod = paymentMethod;
         this.status = status != null ? status : PaymentStatus.PENDING;
+        this.holdsOrder = !this.status.allowsRetry();
         this.paymentDetails = paymentDetails;
         this.createdAt = createdAt != null ? createdAt : LocalDateTime.now();
         this.updatedAt = updatedAt != null ? updatedAt : this.createdAt;
@@ -40,6 +64,7 @@ public class Payment {
 
     public void setStatus(PaymentStatus status) {
         this.status = status;
+        this.holdsOrder = status != null && !status.allowsRetry();
         LocalDateTime now = LocalDateTime.now();
         if (this.updatedAt == null) {
             this.updatedAt = now;
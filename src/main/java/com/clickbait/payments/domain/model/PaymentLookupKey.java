@@ -0,0 +1,20 @@
+package com.clickbait.payments.domain.model;
+
+/**
+ * Campos de busca derivados de dados sensíveis. O valor gravado é um HMAC do dado normalizado,
+ * nunca o dado em claro.
+ */
+public enum PaymentLookupKey {
+    CUSTOMER_DOCUMENT("customerDocumentHash"),
+    CARD_FINGERPRINT("cardFingerprint");
+
+    private final String field;
+
+    PaymentLookupKey(String field) {
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,10 @@
+package com.clickbait.payments.domain.model;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados paginada por keyset: {@code nextCursor} é o id a partir do qual a
+ * próxima página continua, ou {@code null} na última.
+ */
+public record PaymentPage(List<Payment> items, String nextCursor) {
+}
@@ -6,5 +6,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public enum PaymentStatus {
     APPROVED,
     REJECTED,
-    PENDING
+    PENDING;
+
+    // Só um pagamento recusado libera o pedido para nova tentativa; aprovado ou pendente ocupa o pedido
+    public boolean allowsRetry() {
+        return this == REJECTED;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.clickbait.payments.domain.model.event;
+
+import com.clickbait.payments.domain.model.Payment;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Estado de um pagamento reconstruído a partir de um snapshot opcional mais os eventos
+ * posteriores a ele.
+ */
+@Getter
+public class PaymentAggregate {
+
+    private final String paymentId;
+    private Payment state;
+    private long version;
+
+    private PaymentAggregate(String paymentId, Payment state, long version) {
+        this.paymentId = paymentId;
+        this.state = state;
+        this.version = version;
+    }
+
+    public static PaymentAggregate empty(String paymentId) {
+        return new PaymentAggregate(paymentId, null, 0);
+    }
+
+    public static PaymentAggregate replay(String paymentId, Payment snapshot, long snapshotVersion, List<PaymentEvent> tail) {
+        var aggregate = new PaymentAggregate(paymentId, snapshot, snapshotVersion);
+        tail.forEach(aggregate::apply);
+        return aggregate;
+    }
+
+    public boolean exists() {
+        return state != null;
+    }
+
+    /**
+     * Gera os eventos necessários para levar o estado atual até {@code target} e os aplica.
+     * Apenas status e detalhes podem mudar depois da criação; os demais campos são ignorados.
+     */
+    public List<PaymentEvent> record(Payment target, LocalDateTime occurredAt) {
+        List<PaymentEvent> changes = new ArrayList<>(2);
+
+        if (state == null) {
+            changes.add(PaymentCreatedEvent.builder()
+                    .paymentId(paymentId)
+                    .merchantId(target.getMerchantId())
+                    .orderId(target.getOrderId())
+                    .sequence(version + 1)
+                    .occurredAt(occurredAt)
+                    .amount(target.getAmount())
+                    .paymentMethod(target.getPaymentMethod())
+                    .status(target.getStatus())
+                    .paymentDetails(target.getPaymentDetails())
+                    .createdAt(target.getCreatedAt())
+                    .settlementAmount(target.getSettlementAmount())
+                    .fxRate(target.getFxRate())
+                    .customerDocumentHash(target.getCustomerDocumentHash())
+                    .cardFingerprint(target.getCardFingerprint())
+                    .build());
+        } else {
+            if (!Objects.equals(state.getPaymentDetails(), target.getPaymentDetails())) {
+                changes.add(PaymentDetailsUpdatedEvent.builder()
+                        .paymentId(paymentId)
+                        .merchantId(state.getMerchantId())
+                        .orderId(state.getOrderId())
+                        .sequence(version + changes.size() + 1)
+                        .occurredAt(occurredAt)
+                        .paymentDetails(target.getPaymentDetails())
+                        .build());
+            }
+            if (state.getStatus() != target.getStatus()) {
+                changes.add(PaymentStatusChangedEvent.builder()
+                        .paymentId(paymentId)
+                        .merchantId(state.getMerchantId())
+                        .orderId(state.getOrderId())
+                        .sequence(version + changes.size() + 1)
+                        .occurredAt(occurredAt)
+                        .previousStatus(state.getStatus())
+                        .status(target.getStatus())
+                        .build());
+            }
+        }
+
+        changes.forEach(this::apply);
+        return changes;
+    }
+
+    private void apply(PaymentEvent event) {
+        if (event.getSequence() != version + 1) {
+            throw new IllegalStateException("Out of order event " + event.getSequence()
+                    + " for payment " + paymentId + " at version " + version);
+        }
+        state = event.applyTo(state);
+        version = event.getSequence();
+    }
+}
@@ -0,0 +1,85 @@
+package com.clickbait.payments.domain.model.event;
+
+import com.clickbait.payments.domain.model.FxRate;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentDetails;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+
+import java.time.LocalDateTime;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@CompoundIndexes({
+    @CompoundIndex(name = "merchant_customer_document_lookup", def = "{'merchantId': 1, 'customerDocumentHash': 1, 'paymentId': -1}"),
+    @CompoundIndex(name = "merchant_card_fingerprint_lookup", def = "{'merchantId': 1, 'cardFingerprint': 1, 'paymentId': -1}")
+})
+public class PaymentCreatedEvent extends PaymentEvent {
+    private Money amount;
+    private PaymentMethod paymentMethod;
+    private PaymentStatus status;
+    @JsonIgnore // dados de cartão/documento não saem do serviço
+    private PaymentDetails paymentDetails;
+    private LocalDateTime createdAt;
+    private Money settlementAmount;
+    private FxRate fxRate;
+    @JsonIgnore // chaves de busca são internas ao serviço
+    private String customerDocumentHash;
+    @JsonIgnore
+    private String cardFingerprint;
+
+    public static PaymentCreatedEvent of(Payment payment) {
+        return PaymentCreatedEvent.builder()
+                .paymentId(payment.getId())
+                .merchantId(payment.getMerchantId())
+                .orderId(payment.getOrderId())
+                .occurredAt(payment.getUpdatedAt())
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getPaymentMethod())
+                .status(payment.getStatus())
+                .paymentDetails(payment.getPaymentDetails())
+                .createdAt(payment.getCreatedAt())
+                .settlementAmount(payment.getSettlementAmount())
+                .fxRate(payment.getFxRate())
+                .customerDocumentHash(payment.getCustomerDocumentHash())
+                .cardFingerprint(payment.getCardFingerprint())
+                .build();
+    }
+
+    @Override
+    public PaymentEventType getType() {
+        return PaymentEventType.PAYMENT_CREATED;
+    }
+
+    @Override
+    public Payment applyTo(Payment current) {
+        Payment payment = Payment.builder()
+                .id(getPaymentId())
+                .orderId(getOrderId())
+                .amount(amount)
+                .paymentMethod(paymentMethod)
+                .status(status)
+                .paymentDetails(paymentDetails)
+                .createdAt(createdAt)
+                .updatedAt(getOccurredAt())
+                .build();
+        payment.setMerchantId(getMerchantId());
+        payment.setSettlementAmount(settlementAmount);
+        payment.setFxRate(fxRate);
+        payment.setCustomerDocumentHash(customerDocumentHash);
+        payment.setCardFingerprint(cardFingerprint);
+        return payment;
+    }
+}
@@ -0,0 +1,32 @@
+package com.clickbait.payments.domain.model.event;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentDetails;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PaymentDetailsUpdatedEvent extends PaymentEvent {
+    @JsonIgnore // dados de cartão/documento não saem do serviço
+    private PaymentDetails paymentDetails;
+
+    @Override
+    public PaymentEventType getType() {
+        return PaymentEventType.PAYMENT_DETAILS_UPDATED;
+    }
+
+    @Override
+    public Payment applyTo(Payment current) {
+        current.setPaymentDetails(paymentDetails);
+        current.setUpdatedAt(getOccurredAt());
+        return current;
+    }
+}
@@ -0,0 +1,40 @@
+package com.clickbait.payments.domain.model.event;
+
+import com.clickbait.payments.domain.model.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mudança imutável no ciclo de vida de um pagamento. A sequência é única por pagamento,
+ * então duas escritas concorrentes sobre a mesma versão falham no índice.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "payment_events")
+@CompoundIndexes({
+    @CompoundIndex(name = "payment_sequence", def = "{'paymentId': 1, 'sequence': 1}", unique = true),
+    @CompoundIndex(name = "merchant_order", def = "{'merchantId': 1, 'orderId': 1}")
+})
+public abstract class PaymentEvent {
+    @Id
+    private String id;
+    private String paymentId;
+    private String merchantId;
+    private String orderId;
+    private long sequence;
+    private LocalDateTime occurredAt;
+
+    public abstract PaymentEventType getType();
+
+    public abstract Payment applyTo(Payment current);
+}
@@ -0,0 +1,7 @@
+package com.clickbait.payments.domain.model.event;
+
+public enum PaymentEventType {
+    PAYMENT_CREATED,
+    PAYMENT_STATUS_CHANGED,
+    PAYMENT_DETAILS_UPDATED
+}
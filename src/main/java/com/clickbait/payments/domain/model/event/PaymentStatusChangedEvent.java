@@ -0,0 +1,41 @@
+package com.clickbait.payments.domain.model.event;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PaymentStatusChangedEvent extends PaymentEvent {
+    private PaymentStatus previousStatus;
+    private PaymentStatus status;
+
+    public static PaymentStatusChangedEvent of(Payment payment) {
+        return PaymentStatusChangedEvent.builder()
+                .paymentId(payment.getId())
+                .merchantId(payment.getMerchantId())
+                .orderId(payment.getOrderId())
+                .occurredAt(payment.getUpdatedAt())
+                .status(payment.getStatus())
+                .build();
+    }
+
+    @Override
+    public PaymentEventType getType() {
+        return PaymentEventType.PAYMENT_STATUS_CHANGED;
+    }
+
+    @Override
+    public Payment applyTo(Payment current) {
+        current.setStatus(status);
+        current.setUpdatedAt(getOccurredAt());
+        return current;
+    }
+}
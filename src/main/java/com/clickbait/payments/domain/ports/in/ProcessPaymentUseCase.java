@@ -5,6 +5,6 @@ import java.util.Optional;
 
 public interface ProcessPaymentUseCase {
     Payment processPayment(Payment payment);
-    Optional<Payment> getPaymentById(String paymentId);
-    Optional<Payment> getPaymentByOrderId(String orderId);
-}
\ No newline at end of file
+    Optional<Payment> getPaymentById(String merchantId, String paymentId);
+    Optional<Payment> getPaymentByOrderId(String merchantId, String orderId);
+}
@@ -0,0 +1,8 @@
+package com.clickbait.payments.domain.ports.in;
+
+import com.clickbait.payments.domain.model.PaymentPage;
+
+public interface SearchPaymentsUseCase {
+    PaymentPage searchByCustomerDocument(String merchantId, String customerDocument, String after, int limit);
+    PaymentPage searchByCardNumber(String merchantId, String cardNumber, String after, int limit);
+}
@@ -0,0 +1,9 @@
+package com.clickbait.payments.domain.ports.out;
+
+import com.clickbait.payments.domain.model.FxRate;
+
+import java.util.List;
+
+public interface ExchangeRatePort {
+    List<FxRate> loadRates();
+}
@@ -0,0 +1,7 @@
+package com.clickbait.payments.domain.ports.out;
+
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+
+public interface PaymentEventPublisher {
+    void publish(PaymentEvent event);
+}
@@ -0,0 +1,15 @@
+package com.clickbait.payments.domain.ports.out;
+
+/**
+ * Lease por pedido: enquanto uma instância processa um pagamento do pedido, nenhuma outra
+ * tentativa do mesmo pedido do mesmo lojista passa, nesta ou em outra réplica.
+ */
+public interface PaymentLeasePort {
+
+    /**
+     * @return {@code false} se outra tentativa do pedido já estiver em andamento
+     */
+    boolean tryAcquire(String merchantId, String orderId);
+
+    void release(String merchantId, String orderId);
+}
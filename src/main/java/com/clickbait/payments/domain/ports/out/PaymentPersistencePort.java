@@ -1,10 +1,23 @@
 package com.clickbait.payments.domain.ports.out;
 
 import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * As consultas são sempre de um lojista: um pagamento de outro lojista não é encontrado, mesmo
+ * com o id certo.
+ */
 public interface PaymentPersistencePort {
     Payment savePayment(Payment payment);
-    Optional<Payment> findById(String id);
-    Optional<Payment> findByOrderId(String orderId);
-}
\ No newline at end of file
+    Optional<Payment> findById(String merchantId, String id);
+    Optional<Payment> findByOrderId(String merchantId, String orderId);
+
+    /**
+     * Pagamentos do lojista com o valor de busca informado, do mais recente para o mais antigo,
+     * com id menor que {@code afterId} quando informado.
+     */
+    List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit);
+}
@@ -0,0 +1,160 @@
+package com.clickbait.payments.domain.validation;
+
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.model.InvalidAmount;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PixDetails;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Única validação de entrada de um pagamento, usada pelo serviço para qualquer porta de entrada
+ * (REST, gRPC, lotes). As regras de cada {@link PaymentMethod} são montadas uma vez; uma passada
+ * avalia todas e devolve todas as violações, sem lançar exceção. Sem violações, nada é alocado.
+ */
+public final class PaymentValidator {
+
+    static final String INVALID_CURRENCY = "invalid_currency";
+    static final String INVALID_SCALE = "invalid_scale";
+
+    private static final Rule[] COMMON = {
+            // Um valor que nem virou Money tem violação própria, com a causa
+            new Rule("amount", "Payment amount must be greater than zero",
+                    payment -> payment.getInvalidAmount() != null
+                            || payment.getAmount() != null && payment.getAmount().isPositive()),
+            new Rule("paymentMethod", "Payment method must be specified",
+                    payment -> payment.getPaymentMethod() != null),
+            new Rule("orderId", "Order ID must be specified",
+                    payment -> isPresent(payment.getOrderId())),
+            // Preenchido pela porta de entrada a partir do canal, não pelo cliente
+            new Rule("merchantId", "Merchant must be specified",
+                    payment -> isPresent(payment.getMerchantId())),
+    };
+
+    private final Map<PaymentMethod, Rule[]> detailRules = new EnumMap<>(PaymentMethod.class);
+
+    public PaymentValidator() {
+        detailRules.put(PaymentMethod.CREDIT_CARD, new Rule[]{
+                details("cardNumber", "Card number must be specified", CreditCardDetails.class,
+                        card -> isPresent(card.getCardNumber())),
+                // Sem dígitos não há o que derivar para a chave de busca do cartão
+                details("cardNumber", "Card number must contain digits", CreditCardDetails.class,
+                        card -> !isPresent(card.getCardNumber()) || hasAny(card.getCardNumber(), false)),
+                details("cardHolderName", "Card holder name must be specified", CreditCardDetails.class,
+                        card -> isPresent(card.getCardHolderName())),
+                details("expirationDate", "Card expiration date must be specified", CreditCardDetails.class,
+                        card -> isPresent(card.getExpirationDate())),
+                details("cvv", "Card CVV must be specified", CreditCardDetails.class,
+                        card -> isPresent(card.getCvv())),
+        });
+        detailRules.put(PaymentMethod.PIX, new Rule[]{
+                details("pixKey", "PIX key must be specified", PixDetails.class,
+                        pix -> isPresent(pix.getPixKey())),
+                details("pixKeyType", "PIX key type must be specified", PixDetails.class,
+                        pix -> isPresent(pix.getPixKeyType())),
+        });
+        detailRules.put(PaymentMethod.BANK_SLIP, new Rule[]{
+                details("customerDocument", "Customer document must be specified for bank slip", BankSlipDetails.class,
+                        slip -> isPresent(slip.getCustomerDocument())),
+                // O CNPJ alfanumérico tem letras; só pontuação não identifica ninguém
+                details("customerDocument", "Customer document must contain digits or letters", BankSlipDetails.class,
+                        slip -> !isPresent(slip.getCustomerDocument()) || hasAny(slip.getCustomerDocument(), true)),
+                details("customerName", "Customer name must be specified for bank slip", BankSlipDetails.class,
+                        slip -> isPresent(slip.getCustomerName())),
+                details("dueDate", "Due date must be specified for bank slip", BankSlipDetails.class,
+                        slip -> slip.getDueDate() != null),
+                details("dueDate", "Due date cannot be in the past", BankSlipDetails.class,
+                        slip -> slip.getDueDate() == null || !slip.getDueDate().isBefore(LocalDateTime.now())),
+        });
+    }
+
+    public List<Violation> validate(Payment payment) {
+        if (payment == null) {
+            return List.of(new Violation("payment", "Payment cannot be null"));
+        }
+
+        List<Violation> violations = null;
+        if (payment.getInvalidAmount() != null) {
+            violations = add(violations, describe(payment.getInvalidAmount()));
+        }
+        for (Rule rule : COMMON) {
+            violations = check(rule, payment, violations);
+        }
+
+        PaymentMethod method = payment.getPaymentMethod();
+        if (method != null) {
+            if (payment.getPaymentDetails() == null) {
+                violations = add(violations, "paymentDetails", "Payment details must be specified");
+            } else if (payment.getPaymentDetails().getPaymentMethod() == null) {
+                violations = add(violations, "paymentDetails.paymentMethod", "Payment method is required");
+            } else if (payment.getPaymentDetails().getPaymentMethod() != method) {
+                // Com o tipo errado, as regras do método não se aplicam aos detalhes
+                violations = add(violations, "paymentDetails.paymentMethod", "Payment method in details must match the payment method");
+            } else {
+                for (Rule rule : detailRules.get(method)) {
+                    violations = check(rule, payment, violations);
+                }
+            }
+        }
+
+        return violations != null ? violations : List.of();
+    }
+
+    // A mensagem repete o valor enviado; o motivo é fixo, porque vira tag de métrica
+    private static Violation describe(InvalidAmount amount) {
+        if (!Money.isSupportedCurrency(amount.currency())) {
+            return new Violation("amount", "Currency " + amount.currency() + " is not a valid ISO 4217 code",
+                    INVALID_CURRENCY);
+        }
+        String value = amount.amount().toPlainString() + (amount.minorUnits() ? " minor units" : "");
+        return new Violation("amount", "Amount " + value + " is not representable in " + amount.currency() + " minor units",
+                INVALID_SCALE);
+    }
+
+    private static List<Violation> check(Rule rule, Payment payment, List<Violation> violations) {
+        return rule.valid().test(payment) ? violations : add(violations, rule.field(), rule.message());
+    }
+
+    private static List<Violation> add(List<Violation> violations, String field, String message) {
+        return add(violations, new Violation(field, message));
+    }
+
+    private static List<Violation> add(List<Violation> violations, Violation violation) {
+        if (violations == null) {
+            violations = new ArrayList<>(4);
+        }
+        violations.add(violation);
+        return violations;
+    }
+
+    private static <T> Rule details(String field, String message, Class<T> type, Predicate<T> valid) {
+        return new Rule("paymentDetails." + field, message, payment -> valid.test(type.cast(payment.getPaymentDetails())));
+    }
+
+    // String.isBlank não aloca, ao contrário de trim().isEmpty()
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    // Os mesmos caracteres que PaymentLookupKeys mantém ao normalizar o valor
+    private static boolean hasAny(String value, boolean letters) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9' || letters && Character.isLetter(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Rule(String field, String message, Predicate<Payment> valid) {
+    }
+}
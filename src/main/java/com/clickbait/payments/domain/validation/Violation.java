@@ -0,0 +1,18 @@
+package com.clickbait.payments.domain.validation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Uma regra de validação que falhou: o campo (com caminho, ex.: {@code paymentDetails.cvv}), a mensagem
+ * devolvida ao cliente e o motivo, um código fixo usado como tag de métrica. A mensagem pode conter
+ * dados da requisição; o motivo nunca, para não abrir uma série nova por valor enviado.
+ */
+public record Violation(String field, String message, @JsonIgnore String reason) {
+
+    /**
+     * Violação de mensagem fixa, que serve também de motivo.
+     */
+    public Violation(String field, String message) {
+        this(field, message, message);
+    }
+}
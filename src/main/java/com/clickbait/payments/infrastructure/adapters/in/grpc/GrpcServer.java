@@ -0,0 +1,79 @@
+package com.clickbait.payments.infrastructure.adapters.in.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor gRPC (HTTP/2) que roda ao lado do Tomcat, em porta própria, para chamadas internas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServer implements SmartLifecycle {
+
+    private final List<BindableService> services;
+    private final int port;
+    private final long shutdownGraceMs;
+    private volatile Server server;
+
+    public GrpcServer(List<BindableService> services,
+                      @Value("${payments.grpc.port:9090}") int port,
+                      @Value("${payments.grpc.shutdown-grace-ms:5000}") long shutdownGraceMs) {
+        this.services = services;
+        this.port = port;
+        this.shutdownGraceMs = shutdownGraceMs;
+    }
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        // Chamadas em andamento (inclusive lotes em stream) têm um prazo para terminar
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownGraceMs, TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        return server != null ? server.getPort() : port;
+    }
+}
@@ -0,0 +1,138 @@
+package com.clickbait.payments.infrastructure.adapters.in.grpc;
+
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.model.InvalidAmount;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentDetails;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PixDetails;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentStatus;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converte entre as mensagens protobuf e o modelo de domínio. Strings vazias (o padrão do
+ * proto3) viram {@code null}, para que a validação do serviço trate campos ausentes igual ao REST.
+ */
+@Component
+public class PaymentGrpcMapper {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final String DEFAULT_CURRENCY = "BRL";
+
+    public Payment toDomain(CreatePaymentRequest request) {
+        Payment payment = new Payment();
+        payment.setOrderId(emptyToNull(request.getOrderId()));
+        if (request.hasAmount()) {
+            String currency = request.getAmount().getCurrency().isEmpty()
+                    ? DEFAULT_CURRENCY : request.getAmount().getCurrency();
+            try {
+                payment.setAmount(Money.ofMinor(request.getAmount().getMinorUnits(), currency));
+            } catch (IllegalArgumentException e) {
+                // Moeda desconhecida: reportada pelo validador junto com os outros campos
+                payment.setInvalidAmount(InvalidAmount.ofMinor(request.getAmount().getMinorUnits(), currency));
+            }
+        }
+        payment.setPaymentMethod(toDomain(request.getPaymentMethod()));
+        payment.setPaymentDetails(toDomainDetails(request));
+        return payment;
+    }
+
+    public com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Payment toProto(Payment payment) {
+        var builder = com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Payment.newBuilder();
+        if (payment.getId() != null) builder.setId(payment.getId());
+        if (payment.getOrderId() != null) builder.setOrderId(payment.getOrderId());
+        if (payment.getMerchantId() != null) builder.setMerchantId(payment.getMerchantId());
+        if (payment.getAmount() != null) builder.setAmount(toProto(payment.getAmount()));
+        if (payment.getSettlementAmount() != null) builder.setSettlementAmount(toProto(payment.getSettlementAmount()));
+        if (payment.getFxRate() != null) {
+            builder.setExchangeRate(payment.getFxRate().toBigDecimal().stripTrailingZeros().toPlainString());
+        }
+        if (payment.getPaymentMethod() != null) builder.setPaymentMethod(toProto(payment.getPaymentMethod()));
+        if (payment.getStatus() != null) builder.setStatus(PaymentStatus.valueOf(payment.getStatus().name()));
+        if (payment.getCreatedAt() != null) builder.setCreatedAt(payment.getCreatedAt().format(DATE_FORMATTER));
+        if (payment.getUpdatedAt() != null) builder.setUpdatedAt(payment.getUpdatedAt().format(DATE_FORMATTER));
+
+        PaymentDetails details = payment.getPaymentDetails();
+        if (details instanceof CreditCardDetails creditCard) {
+            var card = com.clickbait.payments.infrastructure.adapters.in.grpc.v1.CreditCardDetails.newBuilder();
+            if (creditCard.getCardNumber() != null) card.setCardNumber(maskCardNumber(creditCard.getCardNumber()));
+            if (creditCard.getCardHolderName() != null) card.setCardHolderName(creditCard.getCardHolderName());
+            if (creditCard.getExpirationDate() != null) card.setExpirationDate(creditCard.getExpirationDate());
+            builder.setCreditCard(card);
+        } else if (details instanceof PixDetails pix) {
+            var proto = com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PixDetails.newBuilder();
+            if (pix.getPixKey() != null) proto.setPixKey(pix.getPixKey());
+            if (pix.getPixKeyType() != null) proto.setPixKeyType(pix.getPixKeyType());
+            builder.setPix(proto);
+        } else if (details instanceof BankSlipDetails bankSlip) {
+            var proto = com.clickbait.payments.infrastructure.adapters.in.grpc.v1.BankSlipDetails.newBuilder();
+            if (bankSlip.getCustomerDocument() != null) proto.setCustomerDocument(bankSlip.getCustomerDocument());
+            if (bankSlip.getCustomerName() != null) proto.setCustomerName(bankSlip.getCustomerName());
+            if (bankSlip.getBarCode() != null) proto.setBarCode(bankSlip.getBarCode());
+            if (bankSlip.getDueDate() != null) proto.setDueDate(bankSlip.getDueDate().format(DATE_FORMATTER));
+            builder.setBankSlip(proto);
+        }
+        return builder.build();
+    }
+
+    private PaymentDetails toDomainDetails(CreatePaymentRequest request) {
+        return switch (request.getDetailsCase()) {
+            case CREDIT_CARD -> CreditCardDetails.builder()
+                    .paymentMethod(PaymentMethod.CREDIT_CARD)
+                    .cardNumber(emptyToNull(request.getCreditCard().getCardNumber()))
+                    .cardHolderName(emptyToNull(request.getCreditCard().getCardHolderName()))
+                    .expirationDate(emptyToNull(request.getCreditCard().getExpirationDate()))
+                    .cvv(emptyToNull(request.getCreditCard().getCvv()))
+                    .build();
+            case PIX -> PixDetails.builder()
+                    .paymentMethod(PaymentMethod.PIX)
+                    .pixKey(emptyToNull(request.getPix().getPixKey()))
+                    .pixKeyType(emptyToNull(request.getPix().getPixKeyType()))
+                    .build();
+            case BANK_SLIP -> BankSlipDetails.builder()
+                    .paymentMethod(PaymentMethod.BANK_SLIP)
+                    .customerDocument(emptyToNull(request.getBankSlip().getCustomerDocument()))
+                    .customerName(emptyToNull(request.getBankSlip().getCustomerName()))
+                    .barCode(emptyToNull(request.getBankSlip().getBarCode()))
+                    .dueDate(request.getBankSlip().getDueDate().isEmpty()
+                            ? null : LocalDateTime.parse(request.getBankSlip().getDueDate(), DATE_FORMATTER))
+                    .build();
+            case DETAILS_NOT_SET -> null;
+        };
+    }
+
+    private PaymentMethod toDomain(com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentMethod method) {
+        return switch (method) {
+            case CREDIT_CARD -> PaymentMethod.CREDIT_CARD;
+            case PIX -> PaymentMethod.PIX;
+            case BANK_SLIP -> PaymentMethod.BANK_SLIP;
+            case PAYMENT_METHOD_UNSPECIFIED, UNRECOGNIZED -> null;
+        };
+    }
+
+    private com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentMethod toProto(PaymentMethod method) {
+        return com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentMethod.valueOf(method.name());
+    }
+
+    private com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Money toProto(Money money) {
+        return com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Money.newBuilder()
+                .setMinorUnits(money.minorUnits())
+                .setCurrency(money.currency())
+                .build();
+    }
+
+    private String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private String maskCardNumber(String cardNumber) {
+        if (cardNumber.length() < 4) return cardNumber;
+        return "**** **** **** " + cardNumber.substring(cardNumber.length() - 4);
+    }
+}
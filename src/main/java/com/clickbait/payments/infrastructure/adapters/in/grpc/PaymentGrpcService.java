@@ -0,0 +1,155 @@
+package com.clickbait.payments.infrastructure.adapters.in.grpc;
+
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
+import com.clickbait.payments.domain.exception.PaymentInProgressException;
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.exception.PaymentValidationException;
+import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.domain.validation.Violation;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.GetPaymentByOrderIdRequest;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.GetPaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Payment;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentResult;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentServiceGrpc;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payments.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentGrpcService extends PaymentServiceGrpc.PaymentServiceImplBase {
+
+    // Exceções inesperadas podem trazer texto do driver ou do MongoDB; o detalhe fica só no log
+    private static final String INTERNAL_ERROR = "Internal error";
+
+    private final ProcessPaymentUseCase processPaymentUseCase;
+    private final PaymentGrpcMapper paymentGrpcMapper;
+    private final MerchantResolver merchantResolver;
+
+    @Override
+    public void createPayment(CreatePaymentRequest request, StreamObserver<Payment> responseObserver) {
+        try {
+            var payment = processPaymentUseCase.processPayment(toDomain(request));
+            responseObserver.onNext(paymentGrpcMapper.toProto(payment));
+            responseObserver.onCompleted();
+        } catch (MerchantQuotaExceededException e) {
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).asRuntimeException());
+        } catch (PaymentInProgressException e) {
+            log.info("Payment conflict: {}", e.getMessage());
+            responseObserver.onError(Status.ABORTED.withDescription(e.getMessage()).asRuntimeException());
+        } catch (PaymentAlreadyExistsException e) {
+            log.info("Payment conflict: {}", e.getMessage());
+            responseObserver.onError(Status.ALREADY_EXISTS.withDescription(e.getMessage()).asRuntimeException());
+        } catch (PaymentProcessingException | IllegalArgumentException | DateTimeException e) {
+            log.warn("Payment validation error: {}", e.getMessage());
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(describe(e)).asRuntimeException());
+        } catch (RuntimeException e) {
+            log.error("Unexpected error: ", e);
+            responseObserver.onError(Status.INTERNAL.withDescription(INTERNAL_ERROR).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void getPayment(GetPaymentRequest request, StreamObserver<Payment> responseObserver) {
+        respond(request.getMerchantId(), merchant -> processPaymentUseCase.getPaymentById(merchant, request.getId()),
+                responseObserver);
+    }
+
+    @Override
+    public void getPaymentByOrderId(GetPaymentByOrderIdRequest request, StreamObserver<Payment> responseObserver) {
+        respond(request.getMerchantId(), merchant -> processPaymentUseCase.getPaymentByOrderId(merchant, request.getOrderId()),
+                responseObserver);
+    }
+
+    /**
+     * Cada requisição recebida é processada e respondida antes da próxima; um item inválido
+     * gera um {@link PaymentResult} com {@code error} e o stream continua.
+     */
+    @Override
+    public StreamObserver<CreatePaymentRequest> submitPayments(StreamObserver<PaymentResult> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(CreatePaymentRequest request) {
+                var result = PaymentResult.newBuilder().setOrderId(request.getOrderId());
+                try {
+                    var payment = processPaymentUseCase.processPayment(toDomain(request));
+                    result.setPayment(paymentGrpcMapper.toProto(payment));
+                } catch (RuntimeException e) {
+                    if (isClientError(e)) {
+                        log.warn("Batch payment for order {} failed: {}", request.getOrderId(), e.getMessage());
+                    } else {
+                        log.error("Unexpected error in batch payment for order {}: ", request.getOrderId(), e);
+                    }
+                    result.setError(describe(e));
+                }
+                responseObserver.onNext(result.build());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Batch payment stream cancelled by client: {}", t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private com.clickbait.payments.domain.model.Payment toDomain(CreatePaymentRequest request) {
+        var payment = paymentGrpcMapper.toDomain(request);
+        payment.setMerchantId(merchantResolver.resolve(request.getMerchantId()));
+        return payment;
+    }
+
+    // Todas as violações na mesma mensagem, já que o status gRPC só tem uma descrição
+    private static String describe(RuntimeException e) {
+        if (e instanceof PaymentValidationException validation) {
+            return validation.getViolations().stream()
+                    .map(Violation::message)
+                    .collect(Collectors.joining("; "));
+        }
+        if (!isClientError(e)) {
+            return INTERNAL_ERROR;
+        }
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    // As mesmas exceções que createPayment responde com INVALID_ARGUMENT, ABORTED etc.
+    private static boolean isClientError(RuntimeException e) {
+        return e instanceof PaymentProcessingException || e instanceof IllegalArgumentException
+                || e instanceof DateTimeException;
+    }
+
+    private void respond(String merchantId,
+                         Function<String, Optional<com.clickbait.payments.domain.model.Payment>> lookup,
+                         StreamObserver<Payment> responseObserver) {
+        Optional<com.clickbait.payments.domain.model.Payment> payment;
+        try {
+            payment = lookup.apply(merchantResolver.resolve(merchantId));
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        if (payment.isEmpty()) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription("Payment not found").asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(paymentGrpcMapper.toProto(payment.get()));
+        responseObserver.onCompleted();
+    }
+}
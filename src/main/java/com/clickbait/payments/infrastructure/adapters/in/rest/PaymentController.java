@@ -1,56 +1,69 @@
 package com.clickbait.payments.infrastructure.adapters.in.rest;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import com.clickbait.payments.infrastructure.adapters.in.rest.validator.PaymentDetailsValidator;
 
+import com.clickbait.payments.application.jfr.PaymentMappingEvent;
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
+import com.clickbait.payments.domain.exception.PaymentInProgressException;
 import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.exception.PaymentValidationException;
+import com.clickbait.payments.domain.model.Payment;
 import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.domain.validation.Violation;
 import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
 import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentResponse;
 import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
-import jakarta.validation.Valid;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/payments")
 @RequiredArgsConstructor
 @Tag(name = "Payment API", description = "Endpoints for payment processing")
+// As respostas devolvem o Payment, escrito pelo PaymentJsonSerializer com o contrato de PaymentResponse
 public class PaymentController {
 
     private final ProcessPaymentUseCase processPaymentUseCase;
     private final PaymentMapper paymentMapper;
-    private final PaymentDetailsValidator paymentDetailsValidator;
+    private final MerchantResolver merchantResolver;
 
     @Operation(summary = "Create a new payment", description = "Process a new payment with the provided payment details")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Payment created successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid payment data provided")
+        @ApiResponse(responseCode = "201", description = "Payment created successfully",
+            content = @Content(schema = @Schema(implementation = PaymentResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid payment data provided"),
+        @ApiResponse(responseCode = "409", description = "Another payment for the same order is in progress"),
+        @ApiResponse(responseCode = "429", description = "Merchant exceeded its concurrency or rate quota")
     })
     @PostMapping
-    public ResponseEntity<PaymentResponse> createPayment(@Valid @RequestBody CreatePaymentRequest request) {
-        // Validar os detalhes do pagamento
-        if (request.getPaymentDetails() != null) {
-            var errors = new org.springframework.validation.BeanPropertyBindingResult(
-                request.getPaymentDetails(), "paymentDetails");
-            paymentDetailsValidator.validate(request.getPaymentDetails(), errors);
-            if (errors.hasErrors()) {
-                throw new IllegalArgumentException(errors.getFieldError().getDefaultMessage());
-            }
-        }
-
+    public ResponseEntity<Payment> createPayment(@RequestHeader(name = MerchantResolver.HEADER, required = false) String merchantId,
+                                                 @RequestBody CreatePaymentRequest request) {
+        String merchant = merchantResolver.resolve(merchantId);
+        // A validação acontece uma única vez, no serviço, e devolve todas as violações juntas
+        var mapping = new PaymentMappingEvent();
+        mapping.begin();
         var payment = paymentMapper.toEntity(request);
+        mapping.finish(merchant, request.getOrderId(), null, request.getPaymentMethod(), PaymentMappingEvent.TO_ENTITY);
+        payment.setMerchantId(merchant);
         var processedPayment = processPaymentUseCase.processPayment(payment);
-        var response = paymentMapper.toResponse(processedPayment);
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -58,44 +71,83 @@ public class PaymentController {
                 .buildAndExpand(processedPayment.getId())
                 .toUri();
 
-        return ResponseEntity.created(location).body(response);
+        return ResponseEntity.created(location).eTag(etagOf(processedPayment)).body(processedPayment);
     }
 
     @Operation(summary = "Get payment by ID", description = "Retrieve payment details by its unique identifier")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Payment found"),
+        @ApiResponse(responseCode = "200", description = "Payment found",
+            content = @Content(schema = @Schema(implementation = PaymentResponse.class))),
         @ApiResponse(responseCode = "404", description = "Payment not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<PaymentResponse> getPaymentById(@PathVariable String id) {
-        return processPaymentUseCase.getPaymentById(id)
-                .map(payment -> ResponseEntity.ok(paymentMapper.toResponse(payment)))
+    public ResponseEntity<Payment> getPaymentById(@RequestHeader(name = MerchantResolver.HEADER, required = false) String merchantId,
+                                                  @PathVariable String id) {
+        return processPaymentUseCase.getPaymentById(merchantResolver.resolve(merchantId), id)
+                .map(payment -> ResponseEntity.ok().eTag(etagOf(payment)).body(payment))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Get payment by order ID", description = "Retrieve payment details by its associated order ID")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Payment found"),
+        @ApiResponse(responseCode = "200", description = "Payment found",
+            content = @Content(schema = @Schema(implementation = PaymentResponse.class))),
         @ApiResponse(responseCode = "404", description = "Payment not found")
     })
     @GetMapping("/order/{orderId}")
-    public ResponseEntity<PaymentResponse> getPaymentByOrderId(@PathVariable String orderId) {
-        return processPaymentUseCase.getPaymentByOrderId(orderId)
-                .map(payment -> ResponseEntity.ok(paymentMapper.toResponse(payment)))
+    public ResponseEntity<Payment> getPaymentByOrderId(@RequestHeader(name = MerchantResolver.HEADER, required = false) String merchantId,
+                                                       @PathVariable String orderId) {
+        return processPaymentUseCase.getPaymentByOrderId(merchantResolver.resolve(merchantId), orderId)
+                .map(payment -> ResponseEntity.ok().eTag(etagOf(payment)).body(payment))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * ETag forte a partir do id e do {@code updatedAt}, que muda a cada alteração do pagamento,
+     * sem serializar o corpo. Com o ETag na resposta, o Spring compara com o {@code If-None-Match}
+     * e devolve 304 sem escrever o corpo.
+     */
+    private static String etagOf(Payment payment) {
+        LocalDateTime updatedAt = payment.getUpdatedAt();
+        if (payment.getId() == null || updatedAt == null) {
+            return null;
+        }
+        return "\"" + payment.getId() + "-" + Long.toString(updatedAt.toEpochSecond(ZoneOffset.UTC), 36)
+                + "." + Integer.toString(updatedAt.getNano(), 36) + "\"";
+    }
+
+    @ExceptionHandler(PaymentValidationException.class)
+    public ResponseEntity<ErrorResponse> handleValidationException(PaymentValidationException ex) {
+        // Só a primeira violação e a quantidade: o detalhe por campo já está em payments.validation.failures
+        log.warn("Payment validation error: {} ({} violations)", ex.getMessage(), ex.getViolations().size());
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), ex.getViolations()));
+    }
+
+    @ExceptionHandler({PaymentInProgressException.class, PaymentAlreadyExistsException.class})
+    public ResponseEntity<ErrorResponse> handlePaymentConflict(PaymentProcessingException ex) {
+        log.info("Payment conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(ex.getMessage(), null));
+    }
+
+    @ExceptionHandler(MerchantQuotaExceededException.class)
+    public ResponseEntity<ErrorResponse> handleQuotaExceeded(MerchantQuotaExceededException ex) {
+        // Sem log por requisição: as recusas já são contadas em payments.merchant.throttled
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage(), null));
+    }
+
     @ExceptionHandler({PaymentProcessingException.class, IllegalArgumentException.class})
     public ResponseEntity<ErrorResponse> handlePaymentExceptions(Exception ex) {
         log.warn("Payment validation error: {}", ex.getMessage());
-        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), null));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         log.error("Unexpected error: ", ex);
-        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage(), null));
     }
 
-    private record ErrorResponse(String message) {}
+    private record ErrorResponse(String message, List<Violation> errors) {}
 }
@@ -0,0 +1,57 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest;
+
+import com.clickbait.payments.domain.ports.in.SearchPaymentsUseCase;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentSearchRequest;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentSearchResponse;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/payments")
+@RequiredArgsConstructor
+@Tag(name = "Payment API", description = "Endpoints for payment processing")
+public class PaymentSearchController {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SearchPaymentsUseCase searchPaymentsUseCase;
+    private final MerchantResolver merchantResolver;
+
+    @Operation(summary = "Search payments", description = "Find payments by customer document or card number, newest first, paginated by cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of matching payments"),
+        @ApiResponse(responseCode = "400", description = "Invalid search criteria or cursor")
+    })
+    @PostMapping("/search")
+    public PaymentSearchResponse search(@RequestHeader(name = MerchantResolver.HEADER, required = false) String merchantId,
+                                        @RequestBody PaymentSearchRequest request) {
+        String merchant = merchantResolver.resolve(merchantId);
+        boolean byDocument = request.getCustomerDocument() != null;
+        if (byDocument == (request.getCardNumber() != null)) {
+            throw new IllegalArgumentException("Exactly one of customerDocument or cardNumber must be specified");
+        }
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+
+        var page = byDocument
+                ? searchPaymentsUseCase.searchByCustomerDocument(merchant, request.getCustomerDocument(), request.getAfter(), limit)
+                : searchPaymentsUseCase.searchByCardNumber(merchant, request.getCardNumber(), request.getAfter(), limit);
+        return PaymentSearchResponse.of(page);
+    }
+
+    // Não registra o valor buscado: a mensagem nunca contém o documento ou o cartão
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        log.warn("Invalid payment search: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+    }
+
+    private record ErrorResponse(String message) {}
+}
@@ -0,0 +1,68 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest;
+
+import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.infrastructure.adapters.in.rest.sse.PaymentStreamRegistry;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/payments")
+@RequiredArgsConstructor
+@Tag(name = "Payment API", description = "Endpoints for payment processing")
+public class PaymentStreamController {
+
+    private final ProcessPaymentUseCase processPaymentUseCase;
+    private final PaymentStreamRegistry paymentStreamRegistry;
+    private final MerchantResolver merchantResolver;
+
+    @Operation(summary = "Stream payment status changes",
+            description = "Server-Sent Events: a 'payment' event with the current state, then a 'status' event per change. "
+                    + "The stream closes when the payment is APPROVED or REJECTED")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "404", description = "Payment not found")
+    })
+    @GetMapping(path = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPayment(@RequestHeader(name = MerchantResolver.HEADER, required = false) String merchantId,
+                                                    @PathVariable String id) {
+        String merchant = merchantResolver.resolve(merchantId);
+        return paymentStreamRegistry.subscribeToPayment(id, () -> processPaymentUseCase.getPaymentById(merchant, id))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Stream payment status changes by order ID",
+            description = "Same as /{id}/stream, for the payment associated with the order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "404", description = "Payment not found")
+    })
+    @GetMapping(path = "/order/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPaymentByOrderId(@RequestHeader(name = MerchantResolver.HEADER, required = false) String merchantId,
+                                                             @PathVariable String orderId) {
+        String merchant = merchantResolver.resolve(merchantId);
+        return paymentStreamRegistry.subscribeToOrder(merchant, orderId,
+                        () -> processPaymentUseCase.getPaymentByOrderId(merchant, orderId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Sem corpo: o cliente pediu text/event-stream e não haveria conversor para um JSON de erro
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().build();
+    }
+}
@@ -2,9 +2,6 @@ package com.clickbait.payments.infrastructure.adapters.in.rest.dto;
 
 import com.clickbait.payments.domain.model.PaymentMethod;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -12,20 +9,19 @@ import java.math.BigDecimal;
 @Data
 @Schema(
     description = "Request object for creating a new payment",
-    example = "{\"orderId\": \"order123\", \"amount\": 100.00, \"paymentMethod\": \"CREDIT_CARD\", \"paymentDetails\": {\"paymentMethod\": \"CREDIT_CARD\", \"cardNumber\": \"4111111111111111\", \"cardHolderName\": \"John Doe\", \"expirationDate\": \"12/25\", \"cvv\": \"123\"}}"
+    example = "{\"orderId\": \"order123\", \"amount\": 100.00, \"currency\": \"BRL\", \"paymentMethod\": \"CREDIT_CARD\", \"paymentDetails\": {\"paymentMethod\": \"CREDIT_CARD\", \"cardNumber\": \"4111111111111111\", \"cardHolderName\": \"John Doe\", \"expirationDate\": \"12/25\", \"cvv\": \"123\"}}"
 )
 public class CreatePaymentRequest {
-    @Schema(description = "Order ID associated with the payment", example = "order123")
-    @NotBlank(message = "Order ID is required")
+    @Schema(description = "Order ID associated with the payment", example = "order123", requiredMode = Schema.RequiredMode.REQUIRED)
     private String orderId;
 
-    @Schema(description = "Payment amount", example = "100.00")
-    @NotNull(message = "Amount is required")
-    @Positive(message = "Amount must be greater than zero")
+    @Schema(description = "Payment amount", example = "100.00", requiredMode = Schema.RequiredMode.REQUIRED, exclusiveMinimum = true, minimum = "0")
     private BigDecimal amount;
 
-    @Schema(description = "Payment method", example = "CREDIT_CARD", allowableValues = {"CREDIT_CARD", "PIX", "BANK_SLIP"})
-    @NotNull(message = "Payment method is required")
+    @Schema(description = "ISO 4217 currency code (defaults to BRL)", example = "BRL", pattern = "[A-Z]{3}")
+    private String currency;
+
+    @Schema(description = "Payment method", example = "CREDIT_CARD", allowableValues = {"CREDIT_CARD", "PIX", "BANK_SLIP"}, requiredMode = Schema.RequiredMode.REQUIRED)
     private PaymentMethod paymentMethod;
 
     @Schema(description = "Payment method specific details")
@@ -16,7 +16,19 @@ public class PaymentResponse {
     
     @Schema(description = "Payment amount", example = "100.00")
     private BigDecimal amount;
+
+    @Schema(description = "ISO 4217 currency code", example = "BRL")
+    private String currency;
     
+    @Schema(description = "Amount converted to the settlement currency (only for foreign-currency payments)", example = "542.00")
+    private BigDecimal settlementAmount;
+
+    @Schema(description = "Settlement currency (only for foreign-currency payments)", example = "BRL")
+    private String settlementCurrency;
+
+    @Schema(description = "Exchange rate applied to the payment (only for foreign-currency payments)", example = "5.42")
+    private BigDecimal exchangeRate;
+
     @Schema(description = "Payment method", example = "CREDIT_CARD")
     private PaymentMethod paymentMethod;
     
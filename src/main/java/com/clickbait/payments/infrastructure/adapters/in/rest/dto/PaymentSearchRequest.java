@@ -0,0 +1,23 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(
+    description = "Search by customer document or card number. Sent in the body so the raw values stay out of URLs and access logs",
+    example = "{\"customerDocument\": \"123.456.789-00\", \"limit\": 20}"
+)
+public class PaymentSearchRequest {
+    @Schema(description = "Customer CPF/CNPJ, with or without punctuation", example = "123.456.789-00")
+    private String customerDocument;
+
+    @Schema(description = "Full card number", example = "4111111111111111")
+    private String cardNumber;
+
+    @Schema(description = "Cursor returned as 'next' by the previous page")
+    private String after;
+
+    @Schema(description = "Page size", example = "20", defaultValue = "20", minimum = "1")
+    private Integer limit;
+}
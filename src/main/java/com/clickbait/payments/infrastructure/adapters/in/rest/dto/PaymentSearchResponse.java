@@ -0,0 +1,20 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.dto;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentPage;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+// Os itens são escritos pelo PaymentJsonSerializer, com o mesmo contrato de PaymentResponse
+public record PaymentSearchResponse(
+        @ArraySchema(schema = @Schema(implementation = PaymentResponse.class))
+        List<Payment> items,
+        @Schema(description = "Cursor for the next page, absent on the last one")
+        String next) {
+
+    public static PaymentSearchResponse of(PaymentPage page) {
+        return new PaymentSearchResponse(page.items(), page.nextCursor());
+    }
+}
@@ -0,0 +1,247 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.json;
+
+import com.clickbait.payments.application.jfr.PaymentMappingEvent;
+import com.clickbait.payments.domain.model.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve um {@link Payment} direto no {@link JsonGenerator}, sem montar
+ * {@code PaymentResponse}/{@code PaymentDetailsDTO} nem passar pela serialização por reflexão.
+ *
+ * <p>O JSON produzido é o mesmo de {@code PaymentMapper.toResponse} serializado pelo
+ * {@code ObjectMapper} da aplicação (campos nulos omitidos, datas ISO, cartão mascarado).
+ * Nomes de campos e valores de enums são pré-codificados; valores monetários, datas e a máscara
+ * do cartão são formatados num buffer de caracteres reaproveitado por thread.
+ */
+@JsonComponent
+public class PaymentJsonSerializer extends StdSerializer<Payment> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ORDER_ID = new SerializedString("orderId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString SETTLEMENT_AMOUNT = new SerializedString("settlementAmount");
+    private static final SerializedString SETTLEMENT_CURRENCY = new SerializedString("settlementCurrency");
+    private static final SerializedString EXCHANGE_RATE = new SerializedString("exchangeRate");
+    private static final SerializedString PAYMENT_METHOD = new SerializedString("paymentMethod");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString PAYMENT_DETAILS = new SerializedString("paymentDetails");
+    private static final SerializedString CARD_NUMBER = new SerializedString("cardNumber");
+    private static final SerializedString CARD_HOLDER_NAME = new SerializedString("cardHolderName");
+    private static final SerializedString EXPIRATION_DATE = new SerializedString("expirationDate");
+    private static final SerializedString PIX_KEY = new SerializedString("pixKey");
+    private static final SerializedString PIX_KEY_TYPE = new SerializedString("pixKeyType");
+    private static final SerializedString CUSTOMER_DOCUMENT = new SerializedString("customerDocument");
+    private static final SerializedString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializedString BAR_CODE = new SerializedString("barCode");
+    private static final SerializedString DUE_DATE = new SerializedString("dueDate");
+
+    private static final SerializedString[] METHOD_VALUES = encode(PaymentMethod.values());
+    private static final SerializedString[] STATUS_VALUES = encode(PaymentStatus.values());
+
+    private static final char[] CARD_MASK = "**** **** **** ".toCharArray();
+
+    // Suficiente para um long com sinal e ponto decimal, uma data ISO com nanos ou o cartão mascarado
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    public PaymentJsonSerializer() {
+        super(Payment.class);
+    }
+
+    @Override
+    public void serialize(Payment payment, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        var event = new PaymentMappingEvent();
+        event.begin();
+        write(payment, gen);
+        event.finish(payment.getMerchantId(), payment.getOrderId(), payment.getId(), payment.getPaymentMethod(),
+                PaymentMappingEvent.TO_JSON);
+    }
+
+    private void write(Payment payment, JsonGenerator gen) throws IOException {
+        char[] buffer = BUFFER.get();
+        gen.writeStartObject();
+
+        writeString(gen, ID, payment.getId());
+        writeString(gen, ORDER_ID, payment.getOrderId());
+        if (payment.getAmount() != null) {
+            writeMoney(gen, AMOUNT, payment.getAmount(), buffer);
+            writeString(gen, CURRENCY, payment.getAmount().currency());
+        }
+        if (payment.getSettlementAmount() != null) {
+            writeMoney(gen, SETTLEMENT_AMOUNT, payment.getSettlementAmount(), buffer);
+            writeString(gen, SETTLEMENT_CURRENCY, payment.getSettlementAmount().currency());
+        }
+        if (payment.getFxRate() != null) {
+            // Caminho raro (só pagamentos em moeda estrangeira): mantém a mesma representação do mapper
+            gen.writeFieldName(EXCHANGE_RATE);
+            gen.writeNumber(payment.getFxRate().toBigDecimal().stripTrailingZeros());
+        }
+        if (payment.getPaymentMethod() != null) {
+            gen.writeFieldName(PAYMENT_METHOD);
+            gen.writeString(METHOD_VALUES[payment.getPaymentMethod().ordinal()]);
+        }
+        if (payment.getStatus() != null) {
+            gen.writeFieldName(STATUS);
+            gen.writeString(STATUS_VALUES[payment.getStatus().ordinal()]);
+        }
+        writeDateTime(gen, CREATED_AT, payment.getCreatedAt(), buffer);
+        writeDateTime(gen, UPDATED_AT, payment.getUpdatedAt(), buffer);
+        if (payment.getPaymentDetails() != null) {
+            gen.writeFieldName(PAYMENT_DETAILS);
+            writeDetails(gen, payment.getPaymentDetails(), buffer);
+        }
+
+        gen.writeEndObject();
+    }
+
+    private void writeDetails(JsonGenerator gen, PaymentDetails details, char[] buffer) throws IOException {
+        gen.writeStartObject();
+        PaymentMethod method = details.getPaymentMethod();
+        if (method != null) {
+            gen.writeFieldName(PAYMENT_METHOD);
+            gen.writeString(METHOD_VALUES[method.ordinal()]);
+
+            switch (method) {
+                case CREDIT_CARD -> {
+                    CreditCardDetails creditCard = (CreditCardDetails) details;
+                    writeMaskedCardNumber(gen, creditCard.getCardNumber(), buffer);
+                    writeString(gen, CARD_HOLDER_NAME, creditCard.getCardHolderName());
+                    writeString(gen, EXPIRATION_DATE, creditCard.getExpirationDate());
+                }
+                case PIX -> {
+                    PixDetails pix = (PixDetails) details;
+                    writeString(gen, PIX_KEY, pix.getPixKey());
+                    writeString(gen, PIX_KEY_TYPE, pix.getPixKeyType());
+                }
+                case BANK_SLIP -> {
+                    BankSlipDetails bankSlip = (BankSlipDetails) details;
+                    writeString(gen, CUSTOMER_DOCUMENT, bankSlip.getCustomerDocument());
+                    writeString(gen, CUSTOMER_NAME, bankSlip.getCustomerName());
+                    writeString(gen, BAR_CODE, bankSlip.getBarCode());
+                    writeDateTime(gen, DUE_DATE, bankSlip.getDueDate(), buffer);
+                }
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeMaskedCardNumber(JsonGenerator gen, String cardNumber, char[] buffer) throws IOException {
+        if (cardNumber == null) {
+            return;
+        }
+        gen.writeFieldName(CARD_NUMBER);
+        if (cardNumber.length() < 4) {
+            gen.writeString(cardNumber);
+            return;
+        }
+        System.arraycopy(CARD_MASK, 0, buffer, 0, CARD_MASK.length);
+        cardNumber.getChars(cardNumber.length() - 4, cardNumber.length(), buffer, CARD_MASK.length);
+        gen.writeString(buffer, 0, CARD_MASK.length + 4);
+    }
+
+    /**
+     * Mesmo texto de {@code BigDecimal.valueOf(minorUnits, fractionDigits).toString()}, que para
+     * escalas de moeda (0 a 3) é sempre a notação simples.
+     */
+    private static void writeMoney(JsonGenerator gen, SerializedString name, Money money, char[] buffer) throws IOException {
+        gen.writeFieldName(name);
+        long value = money.minorUnits();
+        if (value == Long.MIN_VALUE) {
+            gen.writeNumber(money.toBigDecimal());
+            return;
+        }
+        boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+        int fractionDigits = money.fractionDigits();
+        int pos = buffer.length;
+        for (int i = 0; i < fractionDigits; i++) {
+            buffer[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        if (fractionDigits > 0) {
+            buffer[--pos] = '.';
+        }
+        do {
+            buffer[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        gen.writeNumber(buffer, pos, buffer.length - pos);
+    }
+
+    /**
+     * Mesmo texto de {@link DateTimeFormatter#ISO_DATE_TIME} para um {@link LocalDateTime}:
+     * segundos sempre presentes e fração sem zeros à direita.
+     */
+    private static void writeDateTime(JsonGenerator gen, SerializedString name, LocalDateTime dateTime, char[] buffer) throws IOException {
+        if (dateTime == null) {
+            return;
+        }
+        gen.writeFieldName(name);
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(dateTime.format(DateTimeFormatter.ISO_DATE_TIME));
+            return;
+        }
+        int pos = 0;
+        pos = digits(buffer, pos, year, 4);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, dateTime.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        pos = digits(buffer, pos, dateTime.getDayOfMonth(), 2);
+        buffer[pos++] = 'T';
+        pos = digits(buffer, pos, dateTime.getHour(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, dateTime.getMinute(), 2);
+        buffer[pos++] = ':';
+        pos = digits(buffer, pos, dateTime.getSecond(), 2);
+        int nano = dateTime.getNano();
+        if (nano > 0) {
+            buffer[pos++] = '.';
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            pos = digits(buffer, pos, nano, width);
+        }
+        gen.writeString(buffer, 0, pos);
+    }
+
+    private static int digits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+
+    private static SerializedString[] encode(Enum<?>[] values) {
+        var encoded = new SerializedString[values.length];
+        for (Enum<?> value : values) {
+            encoded[value.ordinal()] = new SerializedString(value.name());
+        }
+        return encoded;
+    }
+}
@@ -12,13 +12,14 @@ import java.time.format.DateTimeFormatter;
 @Component
 public class PaymentMapper {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final String DEFAULT_CURRENCY = "BRL";
 
     public Payment toEntity(CreatePaymentRequest request) {
         Payment payment = new Payment();
         payment.setOrderId(request.getOrderId());
-        payment.setAmount(request.getAmount());
+        setAmount(payment, request);
         payment.setPaymentMethod(request.getPaymentMethod());
-        payment.setPaymentDetails(toPaymentDetails(request.getPaymentDetails()));
+        payment.setPaymentDetails(toPaymentDetails(request.getPaymentDetails(), request.getPaymentMethod()));
         return payment;
     }
 
@@ -26,7 +27,17 @@ public class PaymentMapper {
         PaymentResponse response = new PaymentResponse();
         response.setId(payment.getId());
         response.setOrderId(payment.getOrderId());
-        response.setAmount(payment.getAmount());
+        if (payment.getAmount() != null) {
+            response.setAmount(payment.getAmount().toBigDecimal());
+            response.setCurrency(payment.getAmount().currency());
+        }
+        if (payment.getSettlementAmount() != null) {
+            response.setSettlementAmount(payment.getSettlementAmount().toBigDecimal());
+            response.setSettlementCurrency(payment.getSettlementAmount().currency());
+        }
+        if (payment.getFxRate() != null) {
+            response.setExchangeRate(payment.getFxRate().toBigDecimal().stripTrailingZeros());
+        }
         response.setPaymentMethod(payment.getPaymentMethod());
         response.setStatus(payment.getStatus().name());
         response.setCreatedAt(formatDateTime(payment.getCreatedAt()));
@@ -35,11 +46,26 @@ public class PaymentMapper {
         return response;
     }
 
-    private PaymentDetails toPaymentDetails(PaymentDetailsDTO dto) {
+    // Conversão exata: mais casas decimais do que a moeda permite é erro de entrada, não arredondamento.
+    // O erro fica no pagamento para o validador reportar junto com os outros campos.
+    private void setAmount(Payment payment, CreatePaymentRequest request) {
+        if (request.getAmount() == null) return;
+        String currency = request.getCurrency() != null ? request.getCurrency() : DEFAULT_CURRENCY;
+        try {
+            payment.setAmount(Money.of(request.getAmount(), currency));
+        } catch (IllegalArgumentException e) {
+            payment.setInvalidAmount(new InvalidAmount(request.getAmount(), currency));
+        }
+    }
+
+    // Sem método nos detalhes, o tipo vem do pagamento e o método fica nulo para o validador reportar
+    private PaymentDetails toPaymentDetails(PaymentDetailsDTO dto, PaymentMethod paymentMethod) {
         if (dto == null) return null;
 
         PaymentMethod method = dto.getPaymentMethod();
-        return switch (method) {
+        PaymentMethod type = method != null ? method : paymentMethod;
+        if (type == null) return null;
+        return switch (type) {
             case CREDIT_CARD -> CreditCardDetails.builder()
                     .paymentMethod(method)
                     .cardNumber(dto.getCardNumber())
@@ -0,0 +1,67 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.sse;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Acompanha a coleção {@code payments} por change stream para que assinantes conectados a esta
+ * instância vejam mudanças gravadas por outras. Mudanças feitas aqui chegam também pelo
+ * barramento interno; a assinatura descarta o status repetido.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.sse.change-streams.enabled", havingValue = "true")
+public class MongoPaymentChangeStream implements MessageListener<ChangeStreamDocument<Document>, Payment>, SmartLifecycle {
+
+    private final PaymentStreamRegistry registry;
+    private final MessageListenerContainer container;
+
+    public MongoPaymentChangeStream(PaymentStreamRegistry registry, MongoTemplate mongoTemplate) {
+        this.registry = registry;
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+        this.container.register(ChangeStreamRequest.builder(this)
+                .collection("payments")
+                .filter(newAggregation(match(where("operationType").in("insert", "update", "replace"))))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build(), Payment.class, error -> log.warn("Payment change stream error: {}", error.getMessage()));
+    }
+
+    @Override
+    public void onMessage(Message<ChangeStreamDocument<Document>, Payment> message) {
+        Payment payment = message.getBody();
+        if (payment != null && payment.getStatus() != null) {
+            registry.publish(payment.getMerchantId(), PaymentStatusUpdate.of(payment));
+        }
+    }
+
+    @Override
+    public void start() {
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+}
@@ -0,0 +1,16 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.sse;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Corpo dos eventos {@code status} enviados aos assinantes SSE.
+ */
+public record PaymentStatusUpdate(String paymentId, String orderId, PaymentStatus status, LocalDateTime updatedAt) {
+
+    public static PaymentStatusUpdate of(Payment payment) {
+        return new PaymentStatusUpdate(payment.getId(), payment.getOrderId(), payment.getStatus(), payment.getUpdatedAt());
+    }
+}
@@ -0,0 +1,183 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.sse;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import com.clickbait.payments.infrastructure.eventbus.PaymentEventHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Assinaturas SSE por pagamento e por pedido. Recebe as mudanças de status do barramento interno
+ * e, quando habilitado, do change stream do MongoDB (mudanças feitas por outras instâncias).
+ */
+@Component
+public class PaymentStreamRegistry implements PaymentEventHandler, SmartLifecycle {
+
+    private final Map<String, Set<PaymentSubscription>> byPayment = new ConcurrentHashMap<>();
+    private final Map<String, Set<PaymentSubscription>> byOrder = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final long heartbeatIntervalMs;
+    private final Counter dropped;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private volatile boolean running;
+
+    public PaymentStreamRegistry(MeterRegistry meterRegistry,
+                                 @Value("${payments.sse.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${payments.sse.buffer-size:16}") int bufferSize,
+                                 @Value("${payments.sse.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                                 @Value("${payments.sse.sender-threads:2}") int senderThreads) {
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.sender = Executors.newFixedThreadPool(senderThreads, daemon("payment-sse-sender-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("payment-sse-heartbeat-"));
+        this.dropped = Counter.builder("payments.sse.dropped")
+                .description("Status updates discarded because a subscriber buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("payments.sse.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    public String group() {
+        return "sse";
+    }
+
+    @Override
+    public void onEvent(PaymentEvent event) {
+        PaymentStatus status;
+        if (event instanceof PaymentCreatedEvent created) {
+            status = created.getStatus();
+        } else if (event instanceof PaymentStatusChangedEvent changed) {
+            status = changed.getStatus();
+        } else {
+            return;
+        }
+        publish(event.getMerchantId(), new PaymentStatusUpdate(event.getPaymentId(), event.getOrderId(), status, event.getOccurredAt()));
+    }
+
+    public void publish(String merchantId, PaymentStatusUpdate update) {
+        dispatch(byPayment.get(update.paymentId()), update);
+        dispatch(byOrder.get(orderKey(merchantId, update.orderId())), update);
+    }
+
+    public Optional<SseEmitter> subscribeToPayment(String paymentId, Supplier<Optional<Payment>> lookup) {
+        return subscribe(byPayment, paymentId, lookup);
+    }
+
+    public Optional<SseEmitter> subscribeToOrder(String merchantId, String orderId, Supplier<Optional<Payment>> lookup) {
+        return subscribe(byOrder, orderKey(merchantId, orderId), lookup);
+    }
+
+    // O mesmo orderId pode existir em dois lojistas
+    private static String orderKey(String merchantId, String orderId) {
+        return merchantId + ':' + orderId;
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Registra antes de consultar o estado atual, para não perder uma mudança que aconteça entre
+     * a consulta e o registro. Um pagamento já finalizado recebe o snapshot e a conexão é encerrada.
+     */
+    private Optional<SseEmitter> subscribe(Map<String, Set<PaymentSubscription>> index, String key,
+                                           Supplier<Optional<Payment>> lookup) {
+        var emitter = new SseEmitter(timeoutMs);
+        var subscription = new PaymentSubscription(emitter, bufferSize, sender, dropped,
+                closed -> unregister(index, key, closed));
+
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscribers.incrementAndGet();
+
+        Optional<Payment> current;
+        try {
+            current = lookup.get();
+        } catch (RuntimeException e) {
+            // Sem isso a inscrição ficaria no índice e na gauge de inscritos
+            subscription.close();
+            throw e;
+        }
+        if (current.isEmpty()) {
+            subscription.close();
+            return Optional.empty();
+        }
+        subscription.snapshot(current.get());
+        return Optional.of(emitter);
+    }
+
+    private void unregister(Map<String, Set<PaymentSubscription>> index, String key, PaymentSubscription subscription) {
+        index.computeIfPresent(key, (k, set) -> {
+            if (set.remove(subscription)) {
+                subscribers.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void dispatch(Set<PaymentSubscription> subscriptions, PaymentStatusUpdate update) {
+        if (subscriptions != null) {
+            subscriptions.forEach(subscription -> subscription.update(update));
+        }
+    }
+
+    private void sendHeartbeats() {
+        byPayment.values().forEach(set -> set.forEach(PaymentSubscription::heartbeat));
+        byOrder.values().forEach(set -> set.forEach(PaymentSubscription::heartbeat));
+    }
+
+    @Override
+    public void start() {
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        heartbeat.shutdownNow();
+        var open = new ArrayList<PaymentSubscription>();
+        byPayment.values().forEach(open::addAll);
+        byOrder.values().forEach(open::addAll);
+        open.forEach(PaymentSubscription::close);
+        sender.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.sse;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Um assinante SSE. Nenhuma thread fica presa à conexão: atualizações entram numa fila limitada
+ * (a mais antiga é descartada quando enche, já que só o último status interessa) e são enviadas
+ * por um pool compartilhado, com no máximo uma drenagem por assinante ao mesmo tempo.
+ *
+ * <p>O snapshot fica fora da fila e é sempre o primeiro evento: atualizações que chegam entre o
+ * registro e a consulta do estado atual esperam por ele, então nem o descarte da fila nem um status
+ * final encerram a conexão antes de o cliente receber o pagamento.
+ */
+@Slf4j
+final class PaymentSubscription {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Object> queue;
+    private final Executor sender;
+    private final Counter dropped;
+    private final Consumer<PaymentSubscription> onClose;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Payment snapshot;
+    private volatile boolean ready;
+    private volatile PaymentStatus lastStatus;
+
+    PaymentSubscription(SseEmitter emitter, int bufferSize, Executor sender, Counter dropped, Consumer<PaymentSubscription> onClose) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.dropped = dropped;
+        this.onClose = onClose;
+        emitter.onCompletion(this::release);
+        emitter.onTimeout(this::release);
+        emitter.onError(error -> release());
+    }
+
+    void snapshot(Payment payment) {
+        snapshot = payment;
+        ready = true;
+        schedule();
+    }
+
+    void update(PaymentStatusUpdate update) {
+        offer(update);
+    }
+
+    void heartbeat() {
+        // Só ocupa a fila quando não há nada pendente: qualquer evento já serve de heartbeat
+        if (queue.isEmpty()) {
+            offer(HEARTBEAT);
+        }
+    }
+
+    void close() {
+        if (release()) {
+            emitter.complete();
+        }
+    }
+
+    private void offer(Object item) {
+        if (closed.get()) {
+            return;
+        }
+        while (!queue.offer(item)) {
+            if (queue.poll() != null) {
+                dropped.increment();
+            }
+        }
+        schedule();
+    }
+
+    // Antes do snapshot nada é enviado: as atualizações ficam na fila
+    private void schedule() {
+        if (ready && scheduled.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Payment first = snapshot;
+            if (first != null) {
+                snapshot = null;
+                send(first);
+            }
+            Object item;
+            while (!closed.get() && (item = queue.poll()) != null) {
+                send(item);
+            }
+        } finally {
+            scheduled.set(false);
+            if (!closed.get() && (!queue.isEmpty() || snapshot != null)) {
+                schedule();
+            }
+        }
+    }
+
+    private void send(Object item) {
+        try {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+
+            PaymentStatus status;
+            if (item instanceof Payment payment) {
+                status = payment.getStatus();
+                emitter.send(SseEmitter.event().name("payment").data(payment, MediaType.APPLICATION_JSON));
+            } else {
+                var update = (PaymentStatusUpdate) item;
+                status = update.status();
+                // A mesma mudança pode chegar pelo barramento local e pelo change stream
+                if (status == lastStatus) {
+                    return;
+                }
+                emitter.send(SseEmitter.event().name("status").data(update, MediaType.APPLICATION_JSON));
+            }
+            lastStatus = status;
+
+            if (status == PaymentStatus.APPROVED || status == PaymentStatus.REJECTED) {
+                close();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou emitter já encerrado
+            log.debug("Closing payment stream subscriber: {}", e.getMessage());
+            release();
+        }
+    }
+
+    private boolean release() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        queue.clear();
+        onClose.accept(this);
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.clickbait.payments.infrastructure.adapters.out.fx;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.FxRate;
+import com.clickbait.payments.domain.ports.out.ExchangeRatePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê cotações de um arquivo CSV ({@code base,cotada,taxa}); linhas iniciadas por {@code #}
+ * são comentários.
+ */
+@Component
+public class FileExchangeRateAdapter implements ExchangeRatePort {
+
+    private final Resource ratesFile;
+
+    public FileExchangeRateAdapter(@Value("${payments.fx.rates-location:classpath:fx-rates.csv}") Resource ratesFile) {
+        this.ratesFile = ratesFile;
+    }
+
+    @Override
+    public List<FxRate> loadRates() {
+        var asOf = LocalDateTime.now();
+        List<FxRate> rates = new ArrayList<>();
+        try (var reader = new BufferedReader(new InputStreamReader(ratesFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    throw new PaymentProcessingException("Invalid exchange rate at line " + lineNumber + " of " + ratesFile);
+                }
+                rates.add(FxRate.of(columns[0].strip(), columns[1].strip(), new BigDecimal(columns[2].strip()), asOf));
+            }
+        } catch (IOException e) {
+            throw new PaymentProcessingException("Failed to read exchange rates from " + ratesFile, e);
+        }
+        return rates;
+    }
+}
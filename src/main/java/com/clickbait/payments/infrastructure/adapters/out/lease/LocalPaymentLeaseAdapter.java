@@ -0,0 +1,26 @@
+package com.clickbait.payments.infrastructure.adapters.out.lease;
+
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Leases só desta instância, para o modo in-memory e execuções com uma única réplica
+@Component
+@ConditionalOnProperty(name = "payments.lease.store", havingValue = "local")
+public class LocalPaymentLeaseAdapter implements PaymentLeasePort {
+
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean tryAcquire(String merchantId, String orderId) {
+        return held.add(merchantId + ':' + orderId);
+    }
+
+    @Override
+    public void release(String merchantId, String orderId) {
+        held.remove(merchantId + ':' + orderId);
+    }
+}
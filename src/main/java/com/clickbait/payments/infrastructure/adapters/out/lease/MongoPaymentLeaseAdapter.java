@@ -0,0 +1,115 @@
+package com.clickbait.payments.infrastructure.adapters.out.lease;
+
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Leases em {@code payment_leases}, adquiridos com um único {@code findAndModify} com upsert: o
+ * filtro só casa com um lease vencido; se o lease do pedido existe e ainda vale, o upsert tenta
+ * inserir o mesmo {@code _id} e o MongoDB recusa com chave duplicada.
+ *
+ * <p>Os pedidos com lease desta instância ficam num conjunto local, então uma segunda tentativa
+ * do mesmo pedido na mesma instância é recusada sem ir ao MongoDB. O lease vence depois de
+ * {@code payments.lease.ttl-ms}, o que libera pedidos de uma instância que caiu no meio do
+ * processamento; o prazo usa o relógio de cada instância e precisa ficar bem acima da diferença
+ * entre eles e do tempo de um pagamento.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.lease.store", havingValue = "mongo", matchIfMissing = true)
+public class MongoPaymentLeaseAdapter implements PaymentLeasePort {
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final String owner;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    public MongoPaymentLeaseAdapter(MongoTemplate mongoTemplate,
+                                    @Value("${payments.lease.ttl-ms:30000}") long ttlMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.owner = hostName() + "-" + UUID.randomUUID();
+    }
+
+    @Override
+    public boolean tryAcquire(String merchantId, String orderId) {
+        String key = key(merchantId, orderId);
+        if (!held.add(key)) {
+            return false;
+        }
+        boolean acquired = false;
+        try {
+            acquired = claim(key);
+            return acquired;
+        } finally {
+            if (!acquired) {
+                held.remove(key);
+            }
+        }
+    }
+
+    private boolean claim(String key) {
+        Instant now = Instant.now();
+        var query = Query.query(where("_id").is(key).and("expiresAt").lt(now));
+        var update = new Update()
+                .set("owner", owner)
+                .set("acquiredAt", now)
+                .set("expiresAt", now.plus(ttl));
+        try {
+            mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true), PaymentLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // Se a remoção falhar o lease vence sozinho; o pagamento já foi processado e não deve falhar por isso
+    @Override
+    public void release(String merchantId, String orderId) {
+        String key = key(merchantId, orderId);
+        try {
+            mongoTemplate.remove(Query.query(where("_id").is(key).and("owner").is(owner)), PaymentLease.class);
+        } catch (DataAccessException e) {
+            log.warn("Could not release lease for order {}, it will expire in {} ms: {}",
+                    orderId, ttl.toMillis(), e.getMessage());
+        } finally {
+            held.remove(key);
+        }
+    }
+
+    // O orderId só é único dentro do lojista
+    private static String key(String merchantId, String orderId) {
+        return merchantId + ':' + orderId;
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
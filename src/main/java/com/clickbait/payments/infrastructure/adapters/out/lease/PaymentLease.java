@@ -0,0 +1,24 @@
+package com.clickbait.payments.infrastructure.adapters.out.lease;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Um documento por pedido em processamento, com id lojista:pedido; o índice TTL só limpa leases abandonados, a validade vem de expiresAt
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "payment_leases")
+public class PaymentLease {
+    @Id
+    private String key;
+    private String owner;
+    private Instant acquiredAt;
+    @Indexed(name = "expired_leases", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
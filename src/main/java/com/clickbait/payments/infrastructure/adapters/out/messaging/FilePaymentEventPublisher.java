@@ -0,0 +1,42 @@
+package com.clickbait.payments.infrastructure.adapters.out.messaging;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.ports.out.PaymentEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava cada evento como uma linha JSON em um arquivo local, no lugar de um broker.
+ */
+@Component
+@ConditionalOnProperty(name = "payments.outbox.publisher", havingValue = "file")
+public class FilePaymentEventPublisher implements PaymentEventPublisher {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FilePaymentEventPublisher(ObjectMapper objectMapper,
+                                     @Value("${payments.outbox.file.path:payment-events.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void publish(PaymentEvent event) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(event) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            Files.write(path, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new PaymentProcessingException("Failed to write payment event to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.clickbait.payments.infrastructure.adapters.out.messaging;
+
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.ports.out.PaymentEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Publicador para desenvolvimento e testes: mantém apenas os últimos eventos em memória.
+ */
+@Component
+@ConditionalOnProperty(name = "payments.outbox.publisher", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryPaymentEventPublisher implements PaymentEventPublisher {
+
+    private final Deque<PaymentEvent> published = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryPaymentEventPublisher(@Value("${payments.outbox.in-memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(PaymentEvent event) {
+        if (published.size() == capacity) {
+            published.removeFirst();
+        }
+        published.addLast(event);
+    }
+
+    public synchronized List<PaymentEvent> getPublished() {
+        return List.copyOf(published);
+    }
+}
@@ -0,0 +1,159 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.model.event.PaymentAggregate;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Persiste cada mudança como um evento imutável (somente inserts) e reconstrói o estado a
+ * partir do último snapshot mais os eventos seguintes. Um snapshot é gravado a cada
+ * {@code payments.persistence.snapshot-interval} eventos.
+ */
+@Component
+@ConditionalOnProperty(name = "payments.persistence.mode", havingValue = "event-sourced")
+public class EventSourcedPaymentPersistenceAdapter implements PaymentPersistencePort {
+
+    private final PaymentEventRepository eventRepository;
+    private final PaymentSnapshotRepository snapshotRepository;
+    private final MongoTemplate mongoTemplate;
+    private final int snapshotInterval;
+
+    public EventSourcedPaymentPersistenceAdapter(PaymentEventRepository eventRepository,
+                                                 PaymentSnapshotRepository snapshotRepository,
+                                                 MongoTemplate mongoTemplate,
+                                                 @Value("${payments.persistence.snapshot-interval:20}") int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be greater than zero");
+        }
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public Payment savePayment(Payment payment) {
+        PaymentAggregate aggregate = payment.getId() == null
+                ? PaymentAggregate.empty(new ObjectId().toHexString())
+                : load(payment.getId());
+
+        long previousVersion = aggregate.getVersion();
+        LocalDateTime occurredAt = payment.getUpdatedAt() != null ? payment.getUpdatedAt() : LocalDateTime.now();
+        List<PaymentEvent> changes = aggregate.record(payment, occurredAt);
+        if (changes.isEmpty()) {
+            return aggregate.getState();
+        }
+
+        try {
+            eventRepository.insert(changes);
+        } catch (DuplicateKeyException e) {
+            throw new PaymentProcessingException("Payment " + aggregate.getPaymentId() + " was modified concurrently", e);
+        }
+
+        if (aggregate.getVersion() / snapshotInterval > previousVersion / snapshotInterval) {
+            snapshotRepository.save(new PaymentSnapshot(
+                    aggregate.getPaymentId(), aggregate.getVersion(), aggregate.getState(), LocalDateTime.now()));
+        }
+
+        return aggregate.getState();
+    }
+
+    @Override
+    public Optional<Payment> findById(String merchantId, String id) {
+        var aggregate = load(id);
+        return aggregate.exists() && merchantId.equals(aggregate.getState().getMerchantId())
+                ? Optional.of(aggregate.getState())
+                : Optional.empty();
+    }
+
+    @Override
+    public Optional<Payment> findByOrderId(String merchantId, String orderId) {
+        return eventRepository.findFirstByMerchantIdAndOrderIdOrderByPaymentIdDesc(merchantId, orderId)
+                .flatMap(event -> findById(merchantId, event.getPaymentId()));
+    }
+
+    /**
+     * As chaves de busca ficam no evento de criação, indexadas junto com o paymentId. Os ids são
+     * ObjectIds em hexadecimal, então a ordem das strings é a ordem de criação. A página inteira é
+     * reconstruída com duas consultas (snapshots e eventos seguintes), não com duas por pagamento.
+     */
+    @Override
+    public List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit) {
+        Criteria criteria = where("merchantId").is(merchantId).and(key.getField()).is(value);
+        if (afterId != null) {
+            if (!ObjectId.isValid(afterId)) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            criteria = criteria.and("paymentId").lt(afterId);
+        }
+        var query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "paymentId"))
+                .limit(limit);
+        query.fields().include("paymentId");
+        var paymentIds = mongoTemplate.find(query, PaymentCreatedEvent.class).stream()
+                .map(PaymentEvent::getPaymentId)
+                .toList();
+        return loadAll(paymentIds).stream()
+                .filter(PaymentAggregate::exists)
+                .map(PaymentAggregate::getState)
+                .filter(payment -> merchantId.equals(payment.getMerchantId()))
+                .toList();
+    }
+
+    private List<PaymentAggregate> loadAll(List<String> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, PaymentSnapshot> snapshots = snapshotRepository.findAllById(paymentIds).stream()
+                .collect(Collectors.toMap(PaymentSnapshot::getPaymentId, Function.identity()));
+
+        // Um $or de (paymentId, sequence > versão do snapshot) usa o índice payment_sequence
+        var tails = paymentIds.stream()
+                .map(id -> where("paymentId").is(id).and("sequence").gt(version(snapshots.get(id))))
+                .toArray(Criteria[]::new);
+        var query = Query.query(new Criteria().orOperator(tails)).with(Sort.by("paymentId", "sequence"));
+        Map<String, List<PaymentEvent>> events = mongoTemplate.find(query, PaymentEvent.class).stream()
+                .collect(Collectors.groupingBy(PaymentEvent::getPaymentId));
+
+        return paymentIds.stream()
+                .map(id -> {
+                    var snapshot = snapshots.get(id);
+                    return PaymentAggregate.replay(id, snapshot != null ? snapshot.getState() : null,
+                            version(snapshot), events.getOrDefault(id, List.of()));
+                })
+                .toList();
+    }
+
+    private static long version(PaymentSnapshot snapshot) {
+        return snapshot != null ? snapshot.getVersion() : 0L;
+    }
+
+    private PaymentAggregate load(String paymentId) {
+        var snapshot = snapshotRepository.findById(paymentId);
+        long fromVersion = snapshot.map(PaymentSnapshot::getVersion).orElse(0L);
+        var tail = eventRepository.findByPaymentIdAndSequenceGreaterThanOrderBySequenceAsc(paymentId, fromVersion);
+        return PaymentAggregate.replay(paymentId, snapshot.map(PaymentSnapshot::getState).orElse(null), fromVersion, tail);
+    }
+}
@@ -0,0 +1,139 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistência em memória para testes de carga e desenvolvimento local, sem MongoDB. Guarda no
+ * máximo {@code payments.persistence.in-memory.max-size} pagamentos, descartando os mais antigos.
+ * Não grava outbox: os eventos circulam só pelo barramento interno.
+ */
+@Component
+@ConditionalOnProperty(name = "payments.persistence.mode", havingValue = "in-memory")
+public class InMemoryPaymentPersistenceAdapter implements PaymentPersistencePort {
+
+    private final Map<String, Payment> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByOrder = new ConcurrentHashMap<>();
+    // Ids por chave de busca, em ordem: a página é um headSet, como o intervalo no índice do MongoDB
+    private final Map<String, NavigableSet<String>> idsByLookupKey = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxSize;
+
+    public InMemoryPaymentPersistenceAdapter(@Value("${payments.persistence.in-memory.max-size:100000}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("In-memory max size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Payment savePayment(Payment payment) {
+        if (payment.getId() == null) {
+            // ObjectId, como no MongoDB: ordenável por criação e aceito como cursor da pesquisa
+            payment.setId(new ObjectId().toHexString());
+        }
+        if (byId.put(payment.getId(), payment) == null) {
+            // A tentativa mais recente do pedido, como no MongoDB
+            idByOrder.put(orderKey(payment.getMerchantId(), payment.getOrderId()), payment.getId());
+            index(payment.getMerchantId(), PaymentLookupKey.CUSTOMER_DOCUMENT, payment.getCustomerDocumentHash(), payment.getId());
+            index(payment.getMerchantId(), PaymentLookupKey.CARD_FINGERPRINT, payment.getCardFingerprint(), payment.getId());
+            insertionOrder.add(payment.getId());
+            if (size.incrementAndGet() > maxSize) {
+                evictOldest();
+            }
+        }
+        return payment;
+    }
+
+    @Override
+    public Optional<Payment> findById(String merchantId, String id) {
+        Payment payment = byId.get(id);
+        return payment != null && merchantId.equals(payment.getMerchantId()) ? Optional.of(payment) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Payment> findByOrderId(String merchantId, String orderId) {
+        String id = idByOrder.get(orderKey(merchantId, orderId));
+        return id != null ? findById(merchantId, id) : Optional.empty();
+    }
+
+    @Override
+    public List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit) {
+        if (afterId != null && !ObjectId.isValid(afterId)) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+        NavigableSet<String> ids = idsByLookupKey.get(lookupKey(merchantId, key, value));
+        if (ids == null) {
+            return List.of();
+        }
+        Iterator<String> newestFirst = (afterId != null ? ids.headSet(afterId, false) : ids).descendingIterator();
+        List<Payment> page = new ArrayList<>(Math.min(limit, 16));
+        while (page.size() < limit && newestFirst.hasNext()) {
+            findById(merchantId, newestFirst.next()).ifPresent(page::add);
+        }
+        return page;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    // As chaves começam pelo lojista, como os índices do MongoDB
+    private static String orderKey(String merchantId, String orderId) {
+        return merchantId + ':' + orderId;
+    }
+
+    private static String lookupKey(String merchantId, PaymentLookupKey key, String value) {
+        return merchantId + ':' + key.getField() + ':' + value;
+    }
+
+    private void index(String merchantId, PaymentLookupKey key, String value, String id) {
+        if (value != null) {
+            // compute, e não computeIfAbsent + add, para não perder o id se o conjunto for removido ao mesmo tempo
+            idsByLookupKey.compute(lookupKey(merchantId, key, value), (k, ids) -> {
+                NavigableSet<String> set = ids != null ? ids : new ConcurrentSkipListSet<>();
+                set.add(id);
+                return set;
+            });
+        }
+    }
+
+    private void evictOldest() {
+        String id = insertionOrder.poll();
+        Payment evicted = id != null ? byId.remove(id) : null;
+        if (evicted == null) {
+            return;
+        }
+        size.decrementAndGet();
+        idByOrder.remove(orderKey(evicted.getMerchantId(), evicted.getOrderId()), id);
+        unindex(evicted.getMerchantId(), PaymentLookupKey.CUSTOMER_DOCUMENT, evicted.getCustomerDocumentHash(), id);
+        unindex(evicted.getMerchantId(), PaymentLookupKey.CARD_FINGERPRINT, evicted.getCardFingerprint(), id);
+    }
+
+    private void unindex(String merchantId, PaymentLookupKey key, String value, String id) {
+        if (value != null) {
+            idsByLookupKey.computeIfPresent(lookupKey(merchantId, key, value), (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
@@ -1,30 +1,83 @@
 package com.clickbait.payments.infrastructure.adapters.out.persistence;
 
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
 import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
 import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import com.clickbait.payments.infrastructure.partition.PaymentPartitions;
+import com.clickbait.payments.infrastructure.tracing.OutboxTraceContext;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "payments.persistence.mode", havingValue = "document", matchIfMissing = true)
 public class MongoPaymentPersistenceAdapter implements PaymentPersistencePort {
 
     private final PaymentRepository paymentRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OutboxTraceContext outboxTraceContext;
+    private final PaymentPartitions paymentPartitions;
 
+    // O evento vai para o outbox na mesma transação do pagamento; o OutboxRelay publica depois
     @Override
+    @Transactional
     public Payment savePayment(Payment payment) {
-        return paymentRepository.save(payment);
+        boolean created = payment.getId() == null;
+        Payment saved;
+        try {
+            saved = paymentRepository.save(payment);
+        } catch (DuplicateKeyException e) {
+            // merchant_order_active: outra tentativa do pedido gravou antes (por exemplo, depois de o lease vencer)
+            throw new PaymentAlreadyExistsException(payment.getOrderId(), e);
+        }
+        PaymentEvent event = created ? PaymentCreatedEvent.of(saved) : PaymentStatusChangedEvent.of(saved);
+        var message = OutboxMessage.of(event, outboxTraceContext.capture());
+        message.setPartition(paymentPartitions.of(saved.getOrderId()));
+        outboxMessageRepository.insert(message);
+        return saved;
+    }
+
+    @Override
+    public Optional<Payment> findById(String merchantId, String id) {
+        return paymentRepository.findByIdAndMerchantId(id, merchantId);
     }
 
     @Override
-    public Optional<Payment> findById(String id) {
-        return paymentRepository.findById(id);
+    public Optional<Payment> findByOrderId(String merchantId, String orderId) {
+        return paymentRepository.findFirstByMerchantIdAndOrderIdOrderByIdDesc(merchantId, orderId);
     }
 
+    // Filtro e ordenação saem do índice {merchantId: 1, campo: 1, _id: -1}: cada página é uma leitura de intervalo
     @Override
-    public Optional<Payment> findByOrderId(String orderId) {
-        return paymentRepository.findByOrderId(orderId);
+    public List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit) {
+        Criteria criteria = where("merchantId").is(merchantId).and(key.getField()).is(value);
+        if (afterId != null) {
+            if (!ObjectId.isValid(afterId)) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            criteria = criteria.and("_id").lt(new ObjectId(afterId));
+        }
+        var query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Payment.class);
     }
-}
\ No newline at end of file
+}
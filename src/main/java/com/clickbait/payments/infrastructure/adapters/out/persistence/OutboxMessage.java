@@ -0,0 +1,50 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.model.event.PaymentEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "payment_outbox")
+@CompoundIndex(name = "pending_messages_by_partition", def = "{'partition': 1, 'deliveredAt': 1, 'createdAt': 1, '_id': 1}")
+public class OutboxMessage {
+    @Id
+    private String id;
+    private String paymentId;
+    private String orderId;
+    // Partição do pedido (PaymentPartitions); ausente nas mensagens gravadas antes do particionamento
+    private Integer partition;
+    private PaymentEventType eventType;
+    private PaymentEvent event;
+    private LocalDateTime createdAt;
+    private LocalDateTime deliveredAt;
+    // Cabeçalhos de propagação do trace que gravou a mensagem (ausente fora de um trace)
+    private Map<String, String> traceContext;
+
+    public static OutboxMessage of(PaymentEvent event) {
+        return of(event, null);
+    }
+
+    public static OutboxMessage of(PaymentEvent event, Map<String, String> traceContext) {
+        return OutboxMessage.builder()
+                .paymentId(event.getPaymentId())
+                .orderId(event.getOrderId())
+                .eventType(event.getType())
+                .event(event)
+                .createdAt(LocalDateTime.now())
+                .traceContext(traceContext)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.ports.out.PaymentEventPublisher;
+import com.clickbait.payments.infrastructure.partition.PartitionOwnership;
+import com.clickbait.payments.infrastructure.tracing.OutboxTraceContext;
+import io.micrometer.tracing.Span;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Lê o outbox em lotes, publica as mensagens de cada pedido na ordem em que foram gravadas
+ * e marca as entregues com um único update. Se uma publicação falhar, as mensagens seguintes
+ * do mesmo pedido ficam para a próxima execução para não quebrar a ordem.
+ *
+ * <p>Cada réplica lê só as partições que são suas ({@link PartitionOwnership}); o dono da
+ * partição 0 também entrega as mensagens gravadas antes do particionamento, que não têm partição.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.persistence.mode", havingValue = "document", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentEventPublisher publisher;
+    private final OutboxTraceContext traceContext;
+    private final PartitionOwnership partitionOwnership;
+    private final int batchSize;
+
+    public OutboxRelay(MongoTemplate mongoTemplate,
+                       PaymentEventPublisher publisher,
+                       OutboxTraceContext traceContext,
+                       PartitionOwnership partitionOwnership,
+                       @Value("${payments.outbox.batch-size:100}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.publisher = publisher;
+        this.traceContext = traceContext;
+        this.partitionOwnership = partitionOwnership;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${payments.outbox.relay-interval-ms:500}")
+    public void relay() {
+        Set<Integer> partitions = partitionOwnership.ownedPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        int delivered;
+        int fetched;
+        do {
+            var batch = fetchPending(partitions);
+            fetched = batch.size();
+            delivered = publish(batch);
+        } while (fetched == batchSize && delivered > 0);
+    }
+
+    int publish(List<OutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxMessage>> byOrder = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            byOrder.computeIfAbsent(message.getOrderId(), orderId -> new ArrayList<>()).add(message);
+        }
+
+        List<String> deliveredIds = new ArrayList<>(batch.size());
+        for (var messages : byOrder.values()) {
+            for (OutboxMessage message : messages) {
+                try {
+                    publish(message);
+                    deliveredIds.add(message.getId());
+                } catch (RuntimeException e) {
+                    log.warn("Failed to publish outbox message {} for order {}: {}",
+                            message.getId(), message.getOrderId(), e.getMessage());
+                    break;
+                }
+            }
+        }
+
+        if (!deliveredIds.isEmpty()) {
+            mongoTemplate.updateMulti(
+                    Query.query(where("_id").in(deliveredIds)),
+                    Update.update("deliveredAt", LocalDateTime.now()),
+                    OutboxMessage.class);
+        }
+        return deliveredIds.size();
+    }
+
+    // Publica dentro de um span filho do trace que gravou a mensagem, quando houver um
+    private void publish(OutboxMessage message) {
+        Span span = traceContext.resume("outbox publish", message.getTraceContext());
+        if (span == null) {
+            publisher.publish(message.getEvent());
+            return;
+        }
+        span.tag("payment.order_id", message.getOrderId());
+        span.tag("payment.event_type", String.valueOf(message.getEventType()));
+        try (var scope = traceContext.inScope(span)) {
+            publisher.publish(message.getEvent());
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    List<OutboxMessage> fetchPending(Set<Integer> partitions) {
+        List<Integer> values = new ArrayList<>(partitions);
+        if (partitions.contains(0)) {
+            values.add(null);
+        }
+        var query = Query.query(where("partition").in(values).and("deliveredAt").is(null))
+                .with(Sort.by("createdAt", "_id"))
+                .limit(batchSize);
+        return mongoTemplate.find(query, OutboxMessage.class);
+    }
+}
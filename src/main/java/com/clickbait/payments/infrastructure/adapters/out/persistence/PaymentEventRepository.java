@@ -0,0 +1,13 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentEventRepository extends MongoRepository<PaymentEvent, String> {
+    List<PaymentEvent> findByPaymentIdAndSequenceGreaterThanOrderBySequenceAsc(String paymentId, long sequence);
+    // A tentativa mais recente do pedido: os paymentIds são ObjectIds em hexadecimal, em ordem de criação
+    Optional<PaymentEvent> findFirstByMerchantIdAndOrderIdOrderByPaymentIdDesc(String merchantId, String orderId);
+}
@@ -5,5 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.Optional;
 
 public interface PaymentRepository extends MongoRepository<Payment, String> {
-    Optional<Payment> findByOrderId(String orderId);
+    Optional<Payment> findByIdAndMerchantId(String id, String merchantId);
+    // Um pedido pode ter várias tentativas (depois de recusas); os ids são ObjectIds, então a maior é a mais recente
+    Optional<Payment> findFirstByMerchantIdAndOrderIdOrderByIdDesc(String merchantId, String orderId);
 }
\ No newline at end of file
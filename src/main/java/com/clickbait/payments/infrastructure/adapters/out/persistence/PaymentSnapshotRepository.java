@@ -0,0 +1,6 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface PaymentSnapshotRepository extends MongoRepository<PaymentSnapshot, String> {
+}
@@ -0,0 +1,41 @@
+package com.clickbait.payments.infrastructure.config;
+
+import com.clickbait.payments.infrastructure.health.CachedHealthIndicator;
+import com.clickbait.payments.infrastructure.health.ProcessorHealthIndicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.data.mongo.MongoHealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+
+/**
+ * Indicadores que consultam dependências rodam no {@code HealthCheckScheduler} e os probes leem o
+ * último resultado. O nome {@code mongoHealthIndicator} substitui o indicador do auto-configuration,
+ * que fazia um ping síncrono a cada probe.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HealthConfig {
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("mongo")
+    public CachedHealthIndicator mongoHealthIndicator(MongoTemplate mongoTemplate,
+                                                      @Value("${payments.health.max-age-ms:15000}") long maxAgeMs) {
+        return new CachedHealthIndicator(new MongoHealthIndicator(mongoTemplate), Duration.ofMillis(maxAgeMs));
+    }
+
+    @Bean
+    public CachedHealthIndicator processorHealthIndicator(
+            MeterRegistry meterRegistry,
+            @Value("${payments.health.max-age-ms:15000}") long maxAgeMs,
+            @Value("${payments.health.processor.window-checks:6}") int windowChecks,
+            @Value("${payments.health.processor.min-calls:20}") long minCalls,
+            @Value("${payments.health.processor.failure-threshold:0.5}") double failureThreshold) {
+        return new CachedHealthIndicator(
+                new ProcessorHealthIndicator(meterRegistry, windowChecks, minCalls, failureThreshold),
+                Duration.ofMillis(maxAgeMs));
+    }
+}
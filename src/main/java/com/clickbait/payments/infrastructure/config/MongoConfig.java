@@ -1,10 +1,52 @@
 package com.clickbait.payments.infrastructure.config;
 
+import com.clickbait.payments.infrastructure.crac.RestorableMongoClient;
+import com.clickbait.payments.infrastructure.warmup.MongoConnectionPoolMonitor;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableMongoRepositories(basePackages = "com.clickbait.payments.infrastructure.adapters.out.persistence")
 @EnableMongoAuditing
-public class MongoConfig {}
\ No newline at end of file
+public class MongoConfig {
+
+    // Transações exigem replica set (o outbox é gravado junto com o pagamento)
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    // O driver só abre as conexões do mínimo na manutenção periódica (60s por padrão); ver WarmupRunner
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            MongoConnectionPoolMonitor poolMonitor,
+            @Value("${payments.mongo.pool.min-size:0}") int minSize,
+            @Value("${payments.mongo.pool.maintenance-frequency-ms:60000}") long maintenanceFrequencyMs) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .minSize(minSize)
+                .maintenanceFrequency(maintenanceFrequencyMs, TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(poolMonitor));
+    }
+
+    // Substitui o cliente do auto-configuration, com os mesmos customizers, por um que reabre após o restore
+    @Bean
+    @ConditionalOnProperty(name = "payments.crac.enabled", havingValue = "true")
+    public MongoClient mongo(ObjectProvider<MongoClientSettingsBuilderCustomizer> builderCustomizers,
+                             MongoClientSettings settings) {
+        var factory = new MongoClientFactory(builderCustomizers.orderedStream().toList());
+        return new RestorableMongoClient(() -> factory.createMongoClient(settings)).client();
+    }
+}
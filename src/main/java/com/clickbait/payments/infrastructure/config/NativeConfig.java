@@ -0,0 +1,55 @@
+package com.clickbait.payments.infrastructure.config;
+
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PixDetails;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
+import com.clickbait.payments.domain.model.event.PaymentDetailsUpdatedEvent;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import com.clickbait.payments.infrastructure.adapters.in.rest.sse.PaymentStatusUpdate;
+import com.clickbait.payments.infrastructure.adapters.out.persistence.OutboxMessage;
+import com.clickbait.payments.infrastructure.adapters.out.persistence.PaymentSnapshot;
+import com.clickbait.payments.infrastructure.jfr.SlowPayment;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Hints para a imagem nativa ({@code ./mvnw -Pnative native:compile}). O processamento AOT já
+ * descobre os beans, os controllers e as entidades dos repositórios; o que fica de fora é o que
+ * só é resolvido por reflexão em tempo de execução.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeConfig.PaymentRuntimeHints.class)
+public class NativeConfig {
+
+    static class PaymentRuntimeHints implements RuntimeHintsRegistrar {
+
+        // O MongoDB grava o _class de cada subtipo e o instancia pelo nome na leitura; nenhum
+        // deles aparece na assinatura dos repositórios, que só conhecem os tipos abstratos
+        static final List<Class<?>> MONGO_SUBTYPES = List.of(
+                CreditCardDetails.class, PixDetails.class, BankSlipDetails.class,
+                PaymentCreatedEvent.class, PaymentStatusChangedEvent.class, PaymentDetailsUpdatedEvent.class);
+
+        // Escritos pelo Jackson fora dos controllers: eventos publicados, SSE e endpoint do actuator
+        static final List<Class<?>> JSON_TYPES = List.of(
+                Payment.class, Money.class, OutboxMessage.class, PaymentSnapshot.class,
+                PaymentCreatedEvent.class, PaymentStatusChangedEvent.class, PaymentDetailsUpdatedEvent.class,
+                CreditCardDetails.class, PixDetails.class, BankSlipDetails.class,
+                PaymentStatusUpdate.class, SlowPayment.class);
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            MONGO_SUBTYPES.forEach(type -> hints.reflection().registerType(type, MemberCategory.values()));
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class<?>[]::new));
+            hints.resources().registerPattern("fx-rates.csv");
+        }
+    }
+}
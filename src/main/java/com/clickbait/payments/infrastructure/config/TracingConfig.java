@@ -0,0 +1,83 @@
+package com.clickbait.payments.infrastructure.config;
+
+import com.clickbait.payments.infrastructure.tracing.FileSpanExporter;
+import com.clickbait.payments.infrastructure.tracing.RecordUnsampledSampler;
+import com.clickbait.payments.infrastructure.tracing.TailSamplingSpanProcessor;
+import com.clickbait.payments.infrastructure.tracing.TracingMongoCommandListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Tracing com Micrometer Tracing sobre OpenTelemetry. A cabeça amostra
+ * {@code management.tracing.sampling.probability} dos traces; com a amostragem na cauda ligada,
+ * os demais são gravados sem exportar e só saem se forem lentos ou terminarem com erro.
+ * Qualquer {@link SpanExporter} registrado é usado (o OTLP do Spring Boot entra ao adicionar
+ * {@code opentelemetry-exporter-otlp}); {@code payments.tracing.exporter} escolhe o exporter local.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public Sampler paymentsSampler(@Value("${management.tracing.sampling.probability:0.1}") double probability,
+                                   @Value("${payments.tracing.tail.enabled:true}") boolean tailEnabled) {
+        Sampler head = Sampler.traceIdRatioBased(probability);
+        if (!tailEnabled) {
+            return Sampler.parentBased(head);
+        }
+        // Pai não amostrado (local ou remoto) também grava, para a cauda poder exportar o trace
+        Sampler recordOnly = new RecordUnsampledSampler(Sampler.alwaysOff());
+        return Sampler.parentBasedBuilder(new RecordUnsampledSampler(head))
+                .setRemoteParentNotSampled(recordOnly)
+                .setLocalParentNotSampled(recordOnly)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payments.tracing.tail.enabled", havingValue = "true", matchIfMissing = true)
+    public SpanProcessor tailSamplingSpanProcessor(ObjectProvider<SpanExporter> exporters, MeterRegistry meterRegistry,
+                                                   @Value("${payments.tracing.tail.latency-threshold-ms:500}") long latencyThresholdMs,
+                                                   @Value("${payments.tracing.tail.max-traces:10000}") int maxTraces,
+                                                   @Value("${payments.tracing.tail.max-spans-per-trace:128}") int maxSpansPerTrace,
+                                                   @Value("${payments.tracing.tail.export-queue-size:1000}") int exportQueueSize) {
+        var processor = new TailSamplingSpanProcessor(SpanExporter.composite(exporters.orderedStream().toList()),
+                latencyThresholdMs, maxTraces, maxSpansPerTrace, exportQueueSize);
+        FunctionCounter.builder("payments.tracing.tail.dropped", processor, TailSamplingSpanProcessor::droppedTraces)
+                .description("Traces the tail sampler could not buffer or queue for export")
+                .register(meterRegistry);
+        return processor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payments.tracing.exporter", havingValue = "logging", matchIfMissing = true)
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payments.tracing.exporter", havingValue = "file")
+    public SpanExporter fileSpanExporter(ObjectMapper objectMapper,
+                                         @Value("${payments.tracing.file.path:traces.jsonl}") String path) {
+        return new FileSpanExporter(objectMapper, Path.of(path));
+    }
+
+    // Sem tracer (tracing desligado) o listener não é registrado
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTracingCustomizer(ObjectProvider<Tracer> tracer) {
+        return builder -> tracer.ifAvailable(available ->
+                builder.addCommandListener(new TracingMongoCommandListener(available)));
+    }
+}
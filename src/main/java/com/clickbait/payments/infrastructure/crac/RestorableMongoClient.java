@@ -0,0 +1,70 @@
+package com.clickbait.payments.infrastructure.crac;
+
+import com.mongodb.client.MongoClient;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * {@link MongoClient} que atravessa um checkpoint CRaC. O checkpoint falha com sockets abertos, e
+ * o cliente do driver abre conexões de monitoramento assim que é criado; um cliente fechado não
+ * pode ser reaberto. Os beans recebem um proxy e, no checkpoint, o cliente real é fechado; no
+ * restore é criado outro com as mesmas configurações (pool, listeners de métricas e tracing).
+ *
+ * <p>O MongoTemplate pede o banco ao cliente a cada operação, então nada guarda o cliente antigo.
+ */
+@Slf4j
+public class RestorableMongoClient implements InvocationHandler, Resource {
+
+    private final Supplier<MongoClient> factory;
+    private final MongoClient proxy;
+    private volatile MongoClient delegate;
+
+    public RestorableMongoClient(Supplier<MongoClient> factory) {
+        this.factory = factory;
+        this.delegate = factory.get();
+        this.proxy = (MongoClient) Proxy.newProxyInstance(MongoClient.class.getClassLoader(),
+                new Class<?>[]{MongoClient.class}, this);
+        // O contexto global guarda só referências fracas; o bean (proxy) mantém esta instância viva
+        Core.getGlobalContext().register(this);
+    }
+
+    public MongoClient client() {
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> target == args[0];
+                case "hashCode" -> System.identityHashCode(target);
+                default -> "RestorableMongoClient[" + delegate + "]";
+            };
+        }
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        log.info("Closing MongoDB client before checkpoint");
+        delegate.close();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        delegate = factory.get();
+        log.info("MongoDB client reopened after restore");
+    }
+}
@@ -0,0 +1,16 @@
+package com.clickbait.payments.infrastructure.eventbus;
+
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+
+/**
+ * Consumidor do barramento interno. Handlers com o mesmo grupo são chamados em sequência
+ * pela mesma thread; cada grupo avança no seu próprio ritmo.
+ */
+public interface PaymentEventHandler {
+
+    default String group() {
+        return "default";
+    }
+
+    void onEvent(PaymentEvent event);
+}
@@ -0,0 +1,254 @@
+package com.clickbait.payments.infrastructure.eventbus;
+
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.ports.out.PaymentEventBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Barramento em processo sobre um ring buffer pré-alocado, no estilo do Disruptor.
+ *
+ * <p>Produtores reservam uma sequência com CAS, escrevem no slot (um único escritor por slot)
+ * e marcam o slot como disponível. Cada grupo de consumidores tem sua própria thread e
+ * sequência; quando o buffer dá a volta e alcança o grupo mais lento, o produtor espera
+ * (backpressure) em vez de sobrescrever eventos não consumidos. A espera é limitada por
+ * {@code payments.eventbus.publish-timeout-ms}: depois dela o evento é descartado e contado, para
+ * que um consumidor travado não prenda as threads das requisições.
+ *
+ * <p>O último grupo a consumir um slot solta a referência ao evento. O barramento sobe antes e
+ * para depois do servidor web ({@link #PHASE}), então nenhum evento publicado por uma requisição é
+ * descartado na subida ou no shutdown.
+ */
+@Slf4j
+@Component
+public class RingBufferPaymentEventBus implements PaymentEventBus, SmartLifecycle {
+
+    // O servidor web sobe em DEFAULT_PHASE - 2048 e o graceful shutdown roda em DEFAULT_PHASE - 1024
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final Slot[] slots;
+    private final AtomicIntegerArray available;
+    // Grupos que ainda não consumiram o slot
+    private final AtomicIntegerArray pendingGroups;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<ConsumerGroup> groups = new ArrayList<>();
+    private final WaitStrategy waitStrategy;
+    private final Counter producerWaits;
+    private final Counter dropped;
+    private final long publishTimeoutNanos;
+    private volatile boolean running;
+
+    public RingBufferPaymentEventBus(List<PaymentEventHandler> handlers,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${payments.eventbus.buffer-size:1024}") int bufferSize,
+                                     @Value("${payments.eventbus.wait-strategy:sleeping}") String waitStrategy,
+                                     @Value("${payments.eventbus.publish-timeout-ms:5}") long publishTimeoutMs) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Event bus buffer size must be a power of two");
+        }
+        this.slots = new Slot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            slots[i] = new Slot();
+        }
+        this.available = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            available.set(i, -1);
+        }
+        this.pendingGroups = new AtomicIntegerArray(bufferSize);
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = WaitStrategy.of(waitStrategy);
+
+        Map<String, List<PaymentEventHandler>> byGroup = new LinkedHashMap<>();
+        handlers.forEach(handler -> byGroup.computeIfAbsent(handler.group(), group -> new ArrayList<>()).add(handler));
+        byGroup.forEach((name, members) -> groups.add(new ConsumerGroup(name, members, meterRegistry)));
+
+        this.producerWaits = Counter.builder("payments.eventbus.producer.waits")
+                .description("Times a producer had to wait for the slowest consumer group")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("payments.eventbus.dropped")
+                .description("Events dropped because the slowest consumer group did not catch up in time")
+                .register(meterRegistry);
+        Gauge.builder("payments.eventbus.remaining.capacity", this, RingBufferPaymentEventBus::remainingCapacity)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(PaymentEvent event) {
+        if (!running) {
+            // Sem consumidores ativos (antes do start ou depois do stop) não há quem drene o buffer
+            log.debug("Event bus is not running, dropping {} for payment {}", event.getType(), event.getPaymentId());
+            return;
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            log.debug("Event bus is full, dropping {} for payment {}", event.getType(), event.getPaymentId());
+            return;
+        }
+        int index = (int) (sequence & mask);
+        slots[index].event = event;
+        pendingGroups.set(index, groups.size());
+        available.set(index, (int) (sequence >>> indexShift));
+        waitStrategy.signalAll();
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public long remainingCapacity() {
+        return slots.length - (cursor.get() - minimumGroupSequence(cursor.get()));
+    }
+
+    private long claim() {
+        long deadline = 0;
+        for (;;) {
+            long current = cursor.get();
+            long next = current + 1;
+            if (next - slots.length > minimumGroupSequence(current)) {
+                if (deadline == 0) {
+                    producerWaits.increment();
+                    deadline = System.nanoTime() + publishTimeoutNanos;
+                } else if (!running || System.nanoTime() - deadline >= 0) {
+                    return -1;
+                }
+                LockSupport.parkNanos(1_000);
+                continue;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minimumGroupSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (ConsumerGroup group : groups) {
+            minimum = Math.min(minimum, group.sequence.get());
+        }
+        return minimum;
+    }
+
+    private boolean isAvailable(long sequence) {
+        return available.get((int) (sequence & mask)) == (int) (sequence >>> indexShift);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        groups.forEach(ConsumerGroup::start);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (ConsumerGroup group : groups) {
+            try {
+                group.thread.join(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static final class Slot {
+        private PaymentEvent event;
+    }
+
+    private final class ConsumerGroup implements Runnable {
+        private final String name;
+        private final List<PaymentEventHandler> handlers;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Counter errors;
+        private final Thread thread;
+
+        private ConsumerGroup(String name, List<PaymentEventHandler> handlers, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.handlers = handlers;
+            this.errors = Counter.builder("payments.eventbus.handler.errors")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("payments.eventbus.lag", this, group -> cursor.get() - group.sequence.get())
+                    .tag("group", name)
+                    .register(meterRegistry);
+            this.thread = new Thread(this, "payment-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int attempt = 0;
+            while (running || isAvailable(next)) {
+                if (!isAvailable(next)) {
+                    waitStrategy.idle(attempt);
+                    if (attempt < 1_000) {
+                        attempt++;
+                    }
+                    continue;
+                }
+                attempt = 0;
+
+                long last = next;
+                long published = cursor.get();
+                while (last < published && isAvailable(last + 1)) {
+                    last++;
+                }
+                for (long current = next; current <= last; current++) {
+                    int index = (int) (current & mask);
+                    dispatch(slots[index].event);
+                    // Antes de avançar a sequência: o produtor só reusa o slot depois disso
+                    if (pendingGroups.decrementAndGet(index) == 0) {
+                        slots[index].event = null;
+                    }
+                }
+                sequence.set(last);
+                next = last + 1;
+            }
+        }
+
+        private void dispatch(PaymentEvent event) {
+            for (PaymentEventHandler handler : handlers) {
+                try {
+                    handler.onEvent(event);
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    log.warn("Payment event handler {} in group {} failed: {}",
+                            handler.getClass().getSimpleName(), name, e.getMessage());
+                }
+            }
+        }
+    }
+}
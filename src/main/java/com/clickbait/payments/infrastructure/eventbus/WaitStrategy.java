@@ -0,0 +1,75 @@
+package com.clickbait.payments.infrastructure.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Como um consumidor espera enquanto não há eventos publicados. Troca latência por CPU:
+ * {@code busy-spin} e {@code yielding} ocupam um núcleo, {@code sleeping} e {@code blocking} não.
+ */
+interface WaitStrategy {
+
+    void idle(int attempt);
+
+    default void signalAll() {
+    }
+
+    static WaitStrategy of(String name) {
+        return switch (name) {
+            case "busy-spin" -> attempt -> Thread.onSpinWait();
+            case "yielding" -> attempt -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            };
+            case "sleeping" -> attempt -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else if (attempt < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(100_000);
+                }
+            };
+            case "blocking" -> new Blocking();
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        };
+    }
+
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private volatile int waiters;
+
+        @Override
+        public void idle(int attempt) {
+            lock.lock();
+            try {
+                waiters++;
+                published.await(1, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiters--;
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            if (waiters == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
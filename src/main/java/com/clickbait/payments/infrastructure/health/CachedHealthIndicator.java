@@ -0,0 +1,60 @@
+package com.clickbait.payments.infrastructure.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Serve o último resultado de um indicador calculado em segundo plano pelo
+ * {@link HealthCheckScheduler}. O probe só faz uma leitura volátil, então a frequência dos probes
+ * não gera carga no MongoDB nem no processador.
+ *
+ * <p>Antes da primeira verificação o resultado é {@code OUT_OF_SERVICE}, para que o readiness não
+ * aceite tráfego sem saber o estado da dependência. Um resultado mais antigo que {@code maxAge}
+ * (a verificação travou, por exemplo, num MongoDB que não responde) vira {@code DOWN}.
+ */
+public class CachedHealthIndicator implements HealthIndicator {
+
+    private final HealthIndicator delegate;
+    private final long maxAgeNanos;
+    private volatile Health cached = Health.outOfService().withDetail("reason", "Not checked yet").build();
+    private volatile long checkedAt;
+    private volatile Instant checkedAtInstant;
+
+    public CachedHealthIndicator(HealthIndicator delegate, Duration maxAge) {
+        this.delegate = delegate;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    @Override
+    public Health health() {
+        Health health = cached;
+        Instant lastCheck = checkedAtInstant;
+        if (lastCheck != null && System.nanoTime() - checkedAt > maxAgeNanos) {
+            return Health.down()
+                    .withDetail("reason", "Health check is stale")
+                    .withDetail("lastStatus", health.getStatus().getCode())
+                    .withDetail("checkedAt", lastCheck.toString())
+                    .build();
+        }
+        return health;
+    }
+
+    public void refresh() {
+        Health health;
+        try {
+            health = delegate.health();
+        } catch (RuntimeException e) {
+            health = Health.down(e).build();
+        }
+        Instant now = Instant.now();
+        cached = Health.status(health.getStatus())
+                .withDetails(health.getDetails())
+                .withDetail("checkedAt", now.toString())
+                .build();
+        checkedAt = System.nanoTime();
+        checkedAtInstant = now;
+    }
+}
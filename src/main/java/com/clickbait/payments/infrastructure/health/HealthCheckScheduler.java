@@ -0,0 +1,70 @@
+package com.clickbait.payments.infrastructure.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Atualiza os {@link CachedHealthIndicator}s em intervalo fixo. Cada indicador tem sua própria
+ * thread: um ping do MongoDB que trava até o timeout do driver não atrasa as outras verificações
+ * nem os jobs {@code @Scheduled} (relay do outbox, cotações de câmbio).
+ */
+@Slf4j
+@Component
+public class HealthCheckScheduler implements SmartLifecycle {
+
+    private final List<CachedHealthIndicator> indicators;
+    private final long intervalMs;
+    private volatile ScheduledExecutorService executor;
+
+    public HealthCheckScheduler(List<CachedHealthIndicator> indicators,
+                                @Value("${payments.health.refresh-interval-ms:5000}") long intervalMs) {
+        this.indicators = indicators;
+        this.intervalMs = intervalMs;
+    }
+
+    @Override
+    public void start() {
+        if (indicators.isEmpty()) {
+            return;
+        }
+        var threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(indicators.size(), task -> {
+            var thread = new Thread(task, "health-check-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        indicators.forEach(indicator ->
+                executor.scheduleWithFixedDelay(() -> refresh(indicator), 0, intervalMs, TimeUnit.MILLISECONDS));
+    }
+
+    private static void refresh(CachedHealthIndicator indicator) {
+        try {
+            indicator.refresh();
+        } catch (RuntimeException e) {
+            // Uma exceção aqui cancelaria as próximas execuções do agendamento
+            log.warn("Health check refresh failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        var current = executor;
+        executor = null;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.clickbait.payments.infrastructure.health;
+
+import com.clickbait.payments.application.PaymentMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Estado do processador de pagamentos derivado dos timers {@code payments.processor}: o circuito
+ * é considerado aberto quando, nas últimas {@code windowChecks} verificações, houve pelo menos
+ * {@code minCalls} chamadas e a fração de falhas ({@code failed} e {@code error}) chegou ao limite.
+ * Circuito aberto tira a instância do readiness ({@code OUT_OF_SERVICE}) sem derrubar o liveness.
+ *
+ * <p>Cada chamada de {@link #health()} guarda uma amostra dos contadores acumulados, então o
+ * indicador deve ser chamado só pelo {@link HealthCheckScheduler}, via {@link CachedHealthIndicator}.
+ */
+public class ProcessorHealthIndicator implements HealthIndicator {
+
+    private static final Set<String> FAILURES = Set.of(
+            PaymentMetrics.Outcome.FAILED.tag(), PaymentMetrics.Outcome.ERROR.tag());
+
+    private final MeterRegistry registry;
+    private final int windowChecks;
+    private final long minCalls;
+    private final double failureThreshold;
+    // {chamadas, falhas} acumuladas em cada verificação, da mais antiga para a mais recente
+    private final Deque<long[]> samples = new ArrayDeque<>();
+
+    public ProcessorHealthIndicator(MeterRegistry registry, int windowChecks, long minCalls, double failureThreshold) {
+        this.registry = registry;
+        this.windowChecks = windowChecks;
+        this.minCalls = minCalls;
+        this.failureThreshold = failureThreshold;
+    }
+
+    @Override
+    public synchronized Health health() {
+        long calls = 0;
+        long failures = 0;
+        for (Timer timer : registry.find(PaymentMetrics.PROCESSOR).timers()) {
+            long count = timer.count();
+            calls += count;
+            if (FAILURES.contains(timer.getId().getTag("outcome"))) {
+                failures += count;
+            }
+        }
+        samples.addLast(new long[] {calls, failures});
+        if (samples.size() > windowChecks + 1) {
+            samples.removeFirst();
+        }
+
+        long[] oldest = samples.peekFirst();
+        long windowCalls = calls - oldest[0];
+        long windowFailures = failures - oldest[1];
+        double failureRatio = windowCalls == 0 ? 0 : (double) windowFailures / windowCalls;
+        boolean open = windowCalls >= minCalls && failureRatio >= failureThreshold;
+        return (open ? Health.outOfService() : Health.up())
+                .withDetail("circuit", open ? "OPEN" : "CLOSED")
+                .withDetail("calls", windowCalls)
+                .withDetail("failures", windowFailures)
+                .withDetail("failureRatio", Math.round(failureRatio * 1000) / 1000.0)
+                .build();
+    }
+}
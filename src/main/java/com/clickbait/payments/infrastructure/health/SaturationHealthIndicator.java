@@ -0,0 +1,36 @@
+package com.clickbait.payments.infrastructure.health;
+
+import com.clickbait.payments.infrastructure.eventbus.RingBufferPaymentEventBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ocupação do barramento de eventos. Perto do limite os produtores passam a esperar pelo grupo de
+ * consumidores mais lento (backpressure), então a instância sai do readiness até a fila drenar.
+ * São só leituras de sequências atômicas, por isso o cálculo é feito a cada probe, sem cache.
+ */
+@Component
+public class SaturationHealthIndicator implements HealthIndicator {
+
+    private final RingBufferPaymentEventBus eventBus;
+    private final double threshold;
+
+    public SaturationHealthIndicator(RingBufferPaymentEventBus eventBus,
+                                     @Value("${payments.health.saturation.threshold:0.8}") double threshold) {
+        this.eventBus = eventBus;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Health health() {
+        int capacity = eventBus.capacity();
+        long depth = capacity - eventBus.remainingCapacity();
+        double usage = (double) depth / capacity;
+        return (usage >= threshold ? Health.outOfService() : Health.up())
+                .withDetail("eventBusDepth", depth)
+                .withDetail("eventBusCapacity", capacity)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.clickbait.payments.infrastructure.jfr;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Um pagamento acima do threshold, com o tempo de cada etapa em milissegundos. Etapas que não
+ * aparecem não foram executadas (por exemplo, o processador depois de uma validação falha).
+ */
+public record SlowPayment(String orderId,
+                          String paymentId,
+                          String paymentMethod,
+                          String outcome,
+                          Instant startedAt,
+                          double durationMs,
+                          Map<String, Double> stagesMs) {
+}
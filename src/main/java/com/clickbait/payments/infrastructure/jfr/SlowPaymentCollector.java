@@ -0,0 +1,92 @@
+package com.clickbait.payments.infrastructure.jfr;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Junta, por lojista e orderId, as etapas de cada pagamento lento (o mesmo orderId pode existir em
+ * dois lojistas). O stream entrega os eventos em blocos; as
+ * etapas terminam antes do pagamento que as contém, então estão no mesmo bloco ou no anterior.
+ * Por isso as etapas ficam guardadas por dois blocos e os pagamentos lentos são resolvidos no
+ * fim de cada bloco. Todos os métodos são chamados pela thread do stream, exceto {@link #recent()}.
+ */
+final class SlowPaymentCollector {
+
+    private record Pending(String key, String orderId, String paymentId, String method, String outcome,
+                           Instant startedAt, Duration duration) {
+    }
+
+    private final int capacity;
+    private final Deque<SlowPayment> recent;
+    private final List<Pending> pending = new ArrayList<>();
+    private Map<String, Map<String, Duration>> current = new HashMap<>();
+    private Map<String, Map<String, Duration>> previous = new HashMap<>();
+
+    SlowPaymentCollector(int capacity) {
+        this.capacity = capacity;
+        this.recent = new ArrayDeque<>(capacity);
+    }
+
+    void stage(String merchantId, String orderId, String stage, Duration duration) {
+        if (orderId != null) {
+            current.computeIfAbsent(key(merchantId, orderId), k -> new LinkedHashMap<>()).merge(stage, duration, Duration::plus);
+        }
+    }
+
+    void payment(String merchantId, String orderId, String paymentId, String method, String outcome,
+                 Instant startedAt, Duration duration) {
+        pending.add(new Pending(key(merchantId, orderId), orderId, paymentId, method, outcome, startedAt, duration));
+    }
+
+    void flush() {
+        if (!pending.isEmpty()) {
+            List<SlowPayment> resolved = new ArrayList<>(pending.size());
+            for (Pending payment : pending) {
+                Map<String, Double> stages = new LinkedHashMap<>();
+                addStages(stages, previous.get(payment.key()));
+                addStages(stages, current.get(payment.key()));
+                resolved.add(new SlowPayment(payment.orderId(), payment.paymentId(), payment.method(), payment.outcome(),
+                        payment.startedAt(), millis(payment.duration()), stages));
+            }
+            pending.clear();
+            synchronized (recent) {
+                for (SlowPayment payment : resolved) {
+                    if (recent.size() == capacity) {
+                        recent.removeLast();
+                    }
+                    recent.addFirst(payment);
+                }
+            }
+        }
+        previous = current;
+        current = new HashMap<>();
+    }
+
+    // Mais recentes primeiro
+    List<SlowPayment> recent() {
+        synchronized (recent) {
+            return List.copyOf(recent);
+        }
+    }
+
+    private static String key(String merchantId, String orderId) {
+        return merchantId + ':' + orderId;
+    }
+
+    private static void addStages(Map<String, Double> target, Map<String, Duration> stages) {
+        if (stages != null) {
+            stages.forEach((stage, duration) -> target.merge(stage, millis(duration), Double::sum));
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
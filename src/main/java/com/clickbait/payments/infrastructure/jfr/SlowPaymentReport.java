@@ -0,0 +1,104 @@
+package com.clickbait.payments.infrastructure.jfr;
+
+import com.clickbait.payments.application.jfr.PaymentMappingEvent;
+import com.clickbait.payments.application.jfr.PaymentPersistenceEvent;
+import com.clickbait.payments.application.jfr.PaymentProcessedEvent;
+import com.clickbait.payments.application.jfr.PaymentProcessorEvent;
+import com.clickbait.payments.application.jfr.PaymentValidationEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório de pagamentos lentos a partir dos eventos JFR, consumidos dentro da própria
+ * aplicação por um {@link RecordingStream}. Pagamentos acima de
+ * {@code payments.jfr.slow-report.threshold-ms} aparecem em {@code /actuator/slowpayments} com o
+ * tempo de validação, processador, persistência e mapeamento da requisição. Desligado por padrão:
+ * o stream grava as etapas de todos os pagamentos acima de {@code payments.jfr.slow-report.stage-threshold-ms}.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "slowpayments")
+@ConditionalOnProperty(name = "payments.jfr.slow-report.enabled", havingValue = "true")
+public class SlowPaymentReport implements SmartLifecycle {
+
+    private static final Map<String, String> STAGES = Map.of(
+            PaymentValidationEvent.NAME, "validation",
+            PaymentProcessorEvent.NAME, "processor",
+            PaymentPersistenceEvent.NAME, "persistence",
+            PaymentMappingEvent.NAME, "mapping");
+
+    private final Duration threshold;
+    private final Duration stageThreshold;
+    private final SlowPaymentCollector collector;
+    private volatile RecordingStream stream;
+
+    public SlowPaymentReport(@Value("${payments.jfr.slow-report.threshold-ms:500}") long thresholdMs,
+                             @Value("${payments.jfr.slow-report.stage-threshold-ms:1}") long stageThresholdMs,
+                             @Value("${payments.jfr.slow-report.size:100}") int size) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.stageThreshold = Duration.ofMillis(stageThresholdMs);
+        this.collector = new SlowPaymentCollector(size);
+    }
+
+    @ReadOperation
+    public List<SlowPayment> slowPayments() {
+        return collector.recent();
+    }
+
+    private void onPayment(RecordedEvent event) {
+        collector.payment(event.getString("merchantId"), event.getString("orderId"), event.getString("paymentId"),
+                event.getString("method"), event.getString("outcome"), event.getStartTime(), event.getDuration());
+    }
+
+    private void onStage(RecordedEvent event) {
+        // A resposta é serializada depois do pagamento: o toJson nunca pertence a ele
+        if (PaymentMappingEvent.NAME.equals(event.getEventType().getName())
+                && !PaymentMappingEvent.TO_ENTITY.equals(event.getString("outcome"))) {
+            return;
+        }
+        collector.stage(event.getString("merchantId"), event.getString("orderId"),
+                STAGES.get(event.getEventType().getName()), event.getDuration());
+    }
+
+    @Override
+    public void start() {
+        var recording = new RecordingStream();
+        // Só os pagamentos lentos passam do threshold; etapas abaixo do stage-threshold não mudam o diagnóstico
+        recording.enable(PaymentProcessedEvent.NAME).withThreshold(threshold).withoutStackTrace();
+        STAGES.keySet().forEach(name -> {
+            recording.enable(name).withThreshold(stageThreshold).withoutStackTrace();
+            recording.onEvent(name, this::onStage);
+        });
+        recording.onEvent(PaymentProcessedEvent.NAME, this::onPayment);
+        recording.onFlush(collector::flush);
+        recording.onError(error -> log.warn("Slow payment report stream failed: {}", error.getMessage()));
+        recording.setMaxAge(Duration.ofSeconds(30));
+        recording.startAsync();
+        stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.clickbait.payments.infrastructure.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "partition_leases")
+public class PartitionLease {
+    @Id
+    private Integer partition;
+    private String owner;
+    @Indexed(name = "expired_leases", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
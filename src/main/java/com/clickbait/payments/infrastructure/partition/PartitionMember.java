@@ -0,0 +1,22 @@
+package com.clickbait.payments.infrastructure.partition;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Réplica viva: o heartbeat estende expiresAt; as que param de bater saem da divisão depois do TTL
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "partition_members")
+public class PartitionMember {
+    @Id
+    private String member;
+    @Indexed(name = "expired_members", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,234 @@
+package com.clickbait.payments.infrastructure.partition;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Divide as partições de {@link PaymentPartitions} entre as réplicas, para que os jobs em segundo
+ * plano (hoje o relay do outbox) leiam só o que é seu em vez de todas varrerem tudo.
+ *
+ * <p>A cada heartbeat a réplica renova sua entrada em {@code partition_members}, lê as réplicas
+ * vivas e calcula sua cota (partições / réplicas, com o resto para as primeiras em ordem de id).
+ * Depois renova os leases que já tem em {@code partition_leases}, devolve o excedente quando uma
+ * réplica entra e pega partições livres ou vencidas até completar a cota quando uma sai. Um lease
+ * é adquirido com o mesmo {@code findAndModify} com upsert do lease de pedidos.
+ *
+ * <p>Se o heartbeat falhar, as partições deixam de valer localmente quando o lease venceria no
+ * MongoDB, antes que outra réplica possa assumi-las. O TTL usa o relógio de cada réplica e precisa
+ * ficar bem acima da diferença entre eles.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.persistence.mode", havingValue = "document", matchIfMissing = true)
+public class PartitionOwnership implements SmartLifecycle {
+
+    private final MongoTemplate mongoTemplate;
+    private final int partitionCount;
+    private final Duration leaseTtl;
+    private final long heartbeatIntervalMs;
+    private final String member;
+    private volatile Set<Integer> owned = Set.of();
+    private volatile long validUntil;
+    private volatile ScheduledExecutorService executor;
+
+    public PartitionOwnership(MongoTemplate mongoTemplate,
+                              PaymentPartitions partitions,
+                              MeterRegistry meterRegistry,
+                              @Value("${payments.partitions.lease-ttl-ms:10000}") long leaseTtlMs,
+                              @Value("${payments.partitions.heartbeat-interval-ms:3000}") long heartbeatIntervalMs) {
+        if (heartbeatIntervalMs >= leaseTtlMs) {
+            throw new IllegalArgumentException("Partition heartbeat interval must be shorter than the lease TTL");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.partitionCount = partitions.count();
+        this.leaseTtl = Duration.ofMillis(leaseTtlMs);
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.member = hostName() + "-" + UUID.randomUUID();
+        Gauge.builder("payments.partitions.owned", this, ownership -> ownership.ownedPartitions().size())
+                .description("Partitions of background work owned by this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Partições desta réplica; vazio antes do primeiro heartbeat e quando os leases podem ter vencido.
+     */
+    public Set<Integer> ownedPartitions() {
+        return System.nanoTime() - validUntil < 0 ? owned : Set.of();
+    }
+
+    void heartbeat() {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(leaseTtl);
+        mongoTemplate.upsert(Query.query(where("_id").is(member)), Update.update("expiresAt", expiresAt),
+                PartitionMember.class);
+        List<String> members = liveMembers(now);
+        int index = members.indexOf(member);
+        int share = partitionCount / members.size() + (index < partitionCount % members.size() ? 1 : 0);
+
+        var current = new TreeSet<Integer>();
+        for (int partition : owned) {
+            if (renew(partition, expiresAt)) {
+                current.add(partition);
+            } else {
+                log.info("Lost partition {} to another instance", partition);
+            }
+        }
+        var excess = new ArrayList<Integer>();
+        while (current.size() > share) {
+            excess.add(current.pollLast());
+        }
+        // Deixam de valer localmente antes de voltar ao MongoDB: se o heartbeat falhar daqui em diante,
+        // outra réplica pode assumi-las e as duas não podem publicar a mesma partição
+        owned = Set.copyOf(current);
+        excess.forEach(this::release);
+        // Cada réplica começa a procurar num ponto diferente, para não disputarem as mesmas partições
+        int offset = index * (partitionCount / members.size());
+        for (int i = 0; i < partitionCount && current.size() < share; i++) {
+            int partition = (offset + i) % partitionCount;
+            if (!current.contains(partition) && claim(partition, now, expiresAt)) {
+                current.add(partition);
+            }
+        }
+
+        if (!current.equals(owned)) {
+            log.info("Owning {} of {} partitions with {} live instances: {}",
+                    current.size(), partitionCount, members.size(), current);
+        }
+        owned = Set.copyOf(current);
+        validUntil = start + leaseTtl.toNanos();
+    }
+
+    private List<String> liveMembers(Instant now) {
+        var members = new ArrayList<>(mongoTemplate.find(
+                        Query.query(where("expiresAt").gt(now)).with(Sort.by("_id")), PartitionMember.class)
+                .stream()
+                .map(PartitionMember::getMember)
+                .toList());
+        if (!members.contains(member)) {
+            members.add(member);
+            members.sort(null);
+        }
+        return members;
+    }
+
+    private boolean renew(int partition, Instant expiresAt) {
+        return mongoTemplate.updateFirst(
+                Query.query(where("_id").is(partition).and("owner").is(member)),
+                Update.update("expiresAt", expiresAt),
+                PartitionLease.class).getMatchedCount() > 0;
+    }
+
+    private boolean claim(int partition, Instant now, Instant expiresAt) {
+        try {
+            mongoTemplate.findAndModify(
+                    Query.query(where("_id").is(partition).and("expiresAt").lt(now)),
+                    new Update().set("owner", member).set("expiresAt", expiresAt),
+                    FindAndModifyOptions.options().upsert(true),
+                    PartitionLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void release(int partition) {
+        mongoTemplate.remove(Query.query(where("_id").is(partition).and("owner").is(member)), PartitionLease.class);
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            var thread = new Thread(task, "partition-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Thread própria: um MongoDB lento não pode atrasar o heartbeat atrás dos jobs @Scheduled
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                heartbeat();
+            } catch (RuntimeException e) {
+                log.warn("Partition heartbeat failed: {}", e.getMessage());
+            }
+        }, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Devolve as partições na saída para que as outras réplicas assumam sem esperar o TTL
+    @Override
+    public void stop() {
+        var current = executor;
+        executor = null;
+        if (current == null) {
+            return;
+        }
+        current.shutdownNow();
+        try {
+            // Um heartbeat em andamento poderia pegar de volta as partições depois da devolução
+            if (!current.awaitTermination(leaseTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Partition heartbeat did not stop, partitions will expire in {} ms", leaseTtl.toMillis());
+                owned = Set.of();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            owned = Set.of();
+            return;
+        }
+        var partitions = ownedPartitions();
+        owned = Set.of();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        try {
+            partitions.forEach(this::release);
+            mongoTemplate.remove(Query.query(where("_id").is(member)), PartitionMember.class);
+        } catch (DataAccessException e) {
+            log.warn("Could not release partitions on shutdown, they will expire in {} ms: {}",
+                    leaseTtl.toMillis(), e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    String member() {
+        return member;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
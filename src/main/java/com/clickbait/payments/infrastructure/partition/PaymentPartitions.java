@@ -0,0 +1,30 @@
+package com.clickbait.payments.infrastructure.partition;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partição de um pedido: {@code hashCode} do orderId (estável entre JVMs) módulo
+ * {@code payments.partitions.count}. Todas as mensagens de um pedido caem na mesma partição, então
+ * quem é dono dela continua publicando na ordem em que foram gravadas.
+ */
+@Component
+public class PaymentPartitions {
+
+    private final int count;
+
+    public PaymentPartitions(@Value("${payments.partitions.count:16}") int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        this.count = count;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int of(String orderId) {
+        return orderId == null ? 0 : Math.floorMod(orderId.hashCode(), count);
+    }
+}
@@ -0,0 +1,37 @@
+package com.clickbait.payments.infrastructure.tenancy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Lojista de uma chamada, informado pelo canal ({@code X-Merchant-Id} no REST, {@code merchant_id}
+ * no gRPC) depois da autenticação no gateway. Sem o cabeçalho vale o lojista padrão, o que mantém
+ * os clientes de antes da separação por lojista funcionando.
+ *
+ * <p>O id vira tag de métrica e parte de chaves no MongoDB, então o formato é restrito.
+ */
+@Component
+public class MerchantResolver {
+
+    public static final String HEADER = "X-Merchant-Id";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final String defaultMerchantId;
+
+    public MerchantResolver(@Value("${payments.tenancy.default-merchant-id:default}") String defaultMerchantId) {
+        this.defaultMerchantId = defaultMerchantId;
+    }
+
+    public String resolve(String merchantId) {
+        if (merchantId == null || merchantId.isEmpty()) {
+            return defaultMerchantId;
+        }
+        if (!VALID.matcher(merchantId).matches()) {
+            throw new IllegalArgumentException("Invalid merchant id");
+        }
+        return merchantId;
+    }
+}
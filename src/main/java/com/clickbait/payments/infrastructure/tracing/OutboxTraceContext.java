@@ -0,0 +1,61 @@
+package com.clickbait.payments.infrastructure.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leva o trace da requisição até a publicação do evento. O contexto é gravado na mensagem do
+ * outbox (cabeçalhos {@code traceparent}/{@code b3}, conforme a propagação configurada) e o
+ * relay abre um span filho dele ao publicar; um publisher para broker injeta o span corrente
+ * nos cabeçalhos da mensagem.
+ */
+@Component
+public class OutboxTraceContext {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    @Autowired
+    public OutboxTraceContext(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this(tracer.getIfAvailable(() -> Tracer.NOOP), propagator.getIfAvailable(() -> Propagator.NOOP));
+    }
+
+    public OutboxTraceContext(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    // Cabeçalhos do span corrente, ou null fora de um trace
+    public Map<String, String> capture() {
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context == null) {
+            return null;
+        }
+        Map<String, String> headers = new HashMap<>(4);
+        propagator.inject(context, headers, Map::put);
+        return headers.isEmpty() ? null : headers;
+    }
+
+    // Span de publicação filho do contexto gravado, ou null quando a mensagem não tem contexto
+    public Span resume(String name, Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        return propagator.extract(headers, Map::get)
+                .name(name)
+                .kind(Span.Kind.PRODUCER)
+                .start();
+    }
+
+    public Tracer.SpanInScope inScope(Span span) {
+        return tracer.withSpan(span);
+    }
+}
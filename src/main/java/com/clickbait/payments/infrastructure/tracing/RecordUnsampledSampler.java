@@ -0,0 +1,37 @@
+package com.clickbait.payments.infrastructure.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+
+/**
+ * Troca o descarte do sampler delegado por "gravar sem exportar": o span existe, mas só o
+ * {@link TailSamplingSpanProcessor} decide, no fim do trace, se ele sai. Traces amostrados na
+ * cabeça seguem o caminho normal do exporter.
+ */
+public class RecordUnsampledSampler implements Sampler {
+
+    private final Sampler delegate;
+
+    public RecordUnsampledSampler(Sampler delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        SamplingResult result = delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        return result.getDecision() == SamplingDecision.DROP ? SamplingResult.recordOnly() : result;
+    }
+
+    @Override
+    public String getDescription() {
+        return "RecordUnsampled{" + delegate.getDescription() + "}";
+    }
+}
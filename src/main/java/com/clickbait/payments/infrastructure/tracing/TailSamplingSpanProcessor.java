@@ -0,0 +1,157 @@
+package com.clickbait.payments.infrastructure.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem na cauda para os traces que a cabeça não escolheu: os spans ficam guardados por
+ * trace até o span raiz local terminar, e o trace inteiro é exportado se ele demorou mais que o
+ * limite ou se algum span terminou com erro. Os demais são descartados.
+ * <p>
+ * O buffer é limitado em {@code maxTraces} traces de até {@code maxSpansPerTrace} spans; cheio, traces
+ * novos deixam de ser guardados e entradas cujo span raiz nunca terminou são removidas depois de
+ * {@link #STALE_AFTER_NANOS}. A exportação roda numa thread própria, com fila de {@code exportQueueSize}
+ * traces: a thread da requisição nunca espera o exporter, e com a fila cheia o trace é descartado.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    static final long STALE_AFTER_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long EXPORT_TIMEOUT_SECONDS = 10;
+
+    private static final class PendingTrace {
+        final long createdAt = System.nanoTime();
+        final List<SpanData> spans = new ArrayList<>(8);
+        boolean error;
+    }
+
+    private final SpanExporter exporter;
+    private final long latencyThresholdNanos;
+    private final int maxTraces;
+    private final int maxSpansPerTrace;
+    private final Map<String, PendingTrace> traces = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor export;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TailSamplingSpanProcessor(SpanExporter exporter, long latencyThresholdMs, int maxTraces,
+                                     int maxSpansPerTrace, int exportQueueSize) {
+        this.exporter = exporter;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.maxTraces = maxTraces;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.export = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(exportQueueSize),
+                runnable -> {
+                    var thread = new Thread(runnable, "payments-tail-export");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> dropped.incrementAndGet());
+        // O forceFlush entra direto na fila, então a thread precisa existir antes do primeiro trace
+        export.prestartAllCoreThreads();
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext context = span.getSpanContext();
+        if (context.isSampled()) {
+            return;
+        }
+        SpanData data = span.toSpanData();
+        boolean error = data.getStatus().getStatusCode() == StatusCode.ERROR;
+        SpanContext parent = span.getParentSpanContext();
+
+        if (parent.isValid() && !parent.isRemote()) {
+            if (traces.size() >= maxTraces && !traces.containsKey(context.getTraceId())) {
+                dropped.incrementAndGet();
+                evictStale();
+                return;
+            }
+            traces.compute(context.getTraceId(), (traceId, trace) -> {
+                PendingTrace pending = trace != null ? trace : new PendingTrace();
+                // Acima do limite o trace sai incompleto, mas o erro de qualquer span ainda conta
+                if (pending.spans.size() < maxSpansPerTrace) {
+                    pending.spans.add(data);
+                }
+                pending.error |= error;
+                return pending;
+            });
+            return;
+        }
+
+        PendingTrace trace = traces.remove(context.getTraceId());
+        boolean keep = error || span.getLatencyNanos() >= latencyThresholdNanos || (trace != null && trace.error);
+        if (keep) {
+            List<SpanData> spans = trace != null ? trace.spans : new ArrayList<>(1);
+            spans.add(data);
+            export.execute(() -> exporter.export(spans).join(EXPORT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    int pendingTraces() {
+        return traces.size();
+    }
+
+    // Traces que não couberam no buffer ou na fila de exportação
+    public long droppedTraces() {
+        return dropped.get();
+    }
+
+    private void evictStale() {
+        long now = System.nanoTime();
+        traces.values().removeIf(trace -> now - trace.createdAt > STALE_AFTER_NANOS);
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        traces.clear();
+        export.shutdown();
+        try {
+            export.awaitTermination(EXPORT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return exporter.shutdown();
+    }
+
+    // Espera vaga na fila em vez de descartar: o flush só termina depois dos traces já enfileirados
+    @Override
+    public CompletableResultCode forceFlush() {
+        var result = new CompletableResultCode();
+        try {
+            export.getQueue().put(() -> exporter.flush().whenComplete(result::succeed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableResultCode.ofFailure();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.clickbait.payments.infrastructure.tracing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um span por comando do MongoDB, filho do span corrente. O driver síncrono chama o listener na
+ * thread que executa o comando. Comandos fora de um trace (monitoramento do driver, jobs agendados
+ * sem span) não geram span. O corpo do comando não vai para o span: pode conter dados do cliente.
+ */
+public class TracingMongoCommandListener implements CommandListener {
+
+    private final Tracer tracer;
+    private final Map<Integer, Span> spans = new ConcurrentHashMap<>();
+
+    public TracingMongoCommandListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return;
+        }
+        String command = event.getCommandName();
+        Span.Builder span = tracer.spanBuilder()
+                .setParent(parent.context())
+                .name("mongodb " + command)
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName("mongodb")
+                .tag("db.system", "mongodb")
+                .tag("db.name", event.getDatabaseName())
+                .tag("db.operation", command);
+        BsonValue collection = event.getCommand().get(command);
+        if (collection != null && collection.isString()) {
+            span.tag("db.mongodb.collection", collection.asString().getValue());
+        }
+        spans.put(event.getRequestId(), span.start());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Span span = spans.remove(event.getRequestId());
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Span span = spans.remove(event.getRequestId());
+        if (span != null) {
+            span.error(event.getThrowable());
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.clickbait.payments.infrastructure.warmup;
+
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.event.ConnectionReadyEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conta as conexões prontas de cada pool do driver (um por servidor do cluster), para o warm-up
+ * saber quando todos chegaram ao tamanho mínimo.
+ */
+@Component
+public class MongoConnectionPoolMonitor implements ConnectionPoolListener {
+
+    private final Map<ServerId, Integer> minSizes = new ConcurrentHashMap<>();
+    private final Map<ServerId, Set<ConnectionId>> ready = new ConcurrentHashMap<>();
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        minSizes.put(event.getServerId(), event.getSettings().getMinSize());
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        minSizes.remove(event.getServerId());
+        ready.remove(event.getServerId());
+    }
+
+    @Override
+    public void connectionReady(ConnectionReadyEvent event) {
+        ConnectionId id = event.getConnectionId();
+        ready.computeIfAbsent(id.getServerId(), k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        ConnectionId id = event.getConnectionId();
+        var connections = ready.get(id.getServerId());
+        if (connections != null) {
+            connections.remove(id);
+        }
+    }
+
+    public int readyConnections() {
+        return ready.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // Pools ainda sem servidor descoberto contam como faltando o mínimo inteiro
+    public int missingConnections() {
+        int missing = 0;
+        for (var entry : minSizes.entrySet()) {
+            var connections = ready.get(entry.getKey());
+            missing += Math.max(0, entry.getValue() - (connections != null ? connections.size() : 0));
+        }
+        return missing;
+    }
+}
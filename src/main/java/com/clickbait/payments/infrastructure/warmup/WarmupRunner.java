@@ -0,0 +1,279 @@
+package com.clickbait.payments.infrastructure.warmup;
+
+import com.clickbait.payments.application.FxConversionService;
+import com.clickbait.payments.application.MerchantQuotas;
+import com.clickbait.payments.application.PaymentLookupKeys;
+import com.clickbait.payments.application.PaymentMetrics;
+import com.clickbait.payments.application.PaymentService;
+import com.clickbait.payments.application.PaymentTracing;
+import com.clickbait.payments.domain.exception.PaymentValidationException;
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import com.clickbait.payments.domain.ports.out.PaymentProcessingPort;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentDetailsDTO;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aquece a aplicação antes de ela receber tráfego. O Spring Boot só muda o readiness para
+ * {@code ACCEPTING_TRAFFIC} depois que os {@link ApplicationRunner}s terminam, então o probe de
+ * readiness continua recusando enquanto este runner executa:
+ *
+ * <ul>
+ *   <li>pagamentos sintéticos percorrem o caminho da requisição (Jackson, {@link PaymentMapper},
+ *   validador, câmbio, chaves de busca e {@link PaymentService}) contra portas que não fazem nada,
+ *   até o JIT compilar esse código;</li>
+ *   <li>o pool do MongoDB é aberto até o tamanho mínimo;</li>
+ *   <li>os timers de {@link PaymentMetrics} são registrados.</li>
+ * </ul>
+ *
+ * <p>Falhas aqui não impedem a subida: são registradas no log e a aplicação segue fria.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String WARMUP_MERCHANT = "warmup";
+
+    private final PaymentMapper paymentMapper;
+    private final ObjectMapper objectMapper;
+    private final ProcessPaymentUseCase syntheticService;
+    private final PaymentMetrics paymentMetrics;
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final MongoConnectionPoolMonitor poolMonitor;
+    private final boolean mongoPersistence;
+    private final int iterations;
+    private final long maxDurationMs;
+    private final long mongoTimeoutMs;
+
+    public WarmupRunner(PaymentMapper paymentMapper,
+                        ObjectMapper objectMapper,
+                        FxConversionService fxConversionService,
+                        PaymentLookupKeys paymentLookupKeys,
+                        PaymentMetrics paymentMetrics,
+                        ObjectProvider<MongoTemplate> mongoTemplate,
+                        MongoConnectionPoolMonitor poolMonitor,
+                        @Value("${payments.persistence.mode:document}") String persistenceMode,
+                        @Value("${payments.warmup.iterations:3000}") int iterations,
+                        @Value("${payments.warmup.max-duration-ms:15000}") long maxDurationMs,
+                        @Value("${payments.warmup.mongo-timeout-ms:10000}") long mongoTimeoutMs) {
+        this.paymentMapper = paymentMapper;
+        this.objectMapper = objectMapper;
+        this.paymentMetrics = paymentMetrics;
+        this.mongoTemplate = mongoTemplate;
+        this.poolMonitor = poolMonitor;
+        this.mongoPersistence = !"in-memory".equals(persistenceMode);
+        this.iterations = iterations;
+        this.maxDurationMs = maxDurationMs;
+        this.mongoTimeoutMs = mongoTimeoutMs;
+        // Mesmas classes do serviço real, com métricas e spans descartados: o JIT compila o mesmo código
+        var ports = new SyntheticPorts();
+        var discarded = new SimpleMeterRegistry();
+        this.syntheticService = new PaymentService(ports, ports, event -> { }, ports, new MerchantQuotas(discarded, 0, 0, 0, List.of()),
+                fxConversionService, paymentLookupKeys, new PaymentMetrics(discarded), new PaymentTracing(Tracer.NOOP));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        paymentMetrics.preload();
+        int payments = warmPaymentPath();
+        int connections = mongoPersistence ? warmConnectionPool() : 0;
+        log.info("Warm-up finished in {} ms: {} synthetic payments, {} MongoDB connections",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), payments, connections);
+    }
+
+    int warmPaymentPath() {
+        List<byte[]> bodies;
+        try {
+            bodies = requestBodies();
+        } catch (IOException e) {
+            log.warn("Skipping payment warm-up: {}", e.getMessage());
+            return 0;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        int done = 0;
+        try {
+            while (done < iterations && System.nanoTime() < deadline) {
+                var request = objectMapper.readValue(bodies.get(done % bodies.size()), CreatePaymentRequest.class);
+                try {
+                    var payment = paymentMapper.toEntity(request);
+                    payment.setMerchantId(WARMUP_MERCHANT);
+                    objectMapper.writeValueAsBytes(syntheticService.processPayment(payment));
+                } catch (PaymentValidationException e) {
+                    // O caminho de erro também recebe tráfego real
+                    objectMapper.writeValueAsBytes(e.getViolations());
+                }
+                done++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Payment warm-up stopped after {} iterations: {}", done, e.getMessage());
+        }
+        return done;
+    }
+
+    /**
+     * O driver só completa o pool até o mínimo na manutenção periódica
+     * ({@code payments.mongo.pool.maintenance-frequency-ms}); o ping garante que o servidor já foi
+     * descoberto e a espera termina quando todos os pools chegam ao mínimo ou o prazo acaba.
+     */
+    int warmConnectionPool() {
+        var template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(mongoTimeoutMs);
+        try {
+            CompletableFuture.runAsync(() -> template.executeCommand(new Document("ping", 1)))
+                    .get(mongoTimeoutMs, TimeUnit.MILLISECONDS);
+            while (poolMonitor.missingConnections() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("MongoDB not reachable during warm-up: {}", e.getCause() != null ? e.getCause().getMessage() : "timed out");
+        }
+        if (poolMonitor.missingConnections() > 0) {
+            log.warn("MongoDB connection pool below minimum size after warm-up: {} connections missing",
+                    poolMonitor.missingConnections());
+        }
+        return poolMonitor.readyConnections();
+    }
+
+    // Um pedido de cada método, um em moeda estrangeira e um inválido
+    private List<byte[]> requestBodies() throws IOException {
+        var bodies = new ArrayList<byte[]>();
+        bodies.add(objectMapper.writeValueAsBytes(request("BRL", details(PaymentMethod.CREDIT_CARD))));
+        bodies.add(objectMapper.writeValueAsBytes(request("BRL", details(PaymentMethod.PIX))));
+        bodies.add(objectMapper.writeValueAsBytes(request("BRL", details(PaymentMethod.BANK_SLIP))));
+        bodies.add(objectMapper.writeValueAsBytes(request("USD", details(PaymentMethod.CREDIT_CARD))));
+        var invalid = details(PaymentMethod.PIX);
+        invalid.setPixKey(null);
+        bodies.add(objectMapper.writeValueAsBytes(request("BRL", invalid)));
+        return bodies;
+    }
+
+    private static CreatePaymentRequest request(String currency, PaymentDetailsDTO details) {
+        var request = new CreatePaymentRequest();
+        request.setOrderId("warmup");
+        request.setAmount(new BigDecimal("100.00"));
+        request.setCurrency(currency);
+        request.setPaymentMethod(details.getPaymentMethod());
+        request.setPaymentDetails(details);
+        return request;
+    }
+
+    private static PaymentDetailsDTO details(PaymentMethod method) {
+        var details = new PaymentDetailsDTO();
+        details.setPaymentMethod(method);
+        switch (method) {
+            case CREDIT_CARD -> {
+                details.setCardNumber("4111111111111111");
+                details.setCardHolderName("Warm Up");
+                details.setExpirationDate("12/30");
+                details.setCvv("123");
+            }
+            case PIX -> {
+                details.setPixKey("warmup@example.com");
+                details.setPixKeyType("email");
+            }
+            case BANK_SLIP -> {
+                details.setCustomerDocument("123.456.789-00");
+                details.setCustomerName("Warm Up");
+                details.setDueDate(LocalDateTime.now().plusDays(3).withNano(0).toString());
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Persistência, processador e lease que não saem do processo: o pagamento recebe um id e o
+     * status que o processador real daria no caminho feliz.
+     */
+    private static class SyntheticPorts implements PaymentPersistencePort, PaymentProcessingPort, PaymentLeasePort {
+
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public Payment savePayment(Payment payment) {
+            payment.setId("warmup-" + ids.incrementAndGet());
+            return payment;
+        }
+
+        @Override
+        public Optional<Payment> findById(String merchantId, String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Payment> findByOrderId(String merchantId, String orderId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public boolean tryAcquire(String merchantId, String orderId) {
+            return true;
+        }
+
+        @Override
+        public void release(String merchantId, String orderId) {
+        }
+
+        @Override
+        public Payment processCreditCardPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }
+
+        @Override
+        public Payment processPixPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }
+
+        @Override
+        public Payment processBankSlipPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.PENDING);
+            ((BankSlipDetails) payment.getPaymentDetails()).setBarCode("00000000000000000000000000000000000000000000");
+            return payment;
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.clickbait.clickbait;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest(classes = com.clickbait.payments.PaymentsApplication.class)
+@SpringBootTest(classes = com.clickbait.payments.PaymentsApplication.class,
+		properties = {"spring.data.mongodb.auto-index-creation=false", "payments.grpc.port=0",
+				"payments.sse.change-streams.enabled=false", "payments.warmup.mongo-timeout-ms=1000",
+				"payments.search.hmac-key=test-key"})
 class ClickbaitApplicationTests {
 
 	@Test
@@ -0,0 +1,82 @@
+package com.clickbait.payments.allocation;
+
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentDetailsDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entradas por método de pagamento, iguais às dos benchmarks JMH, para que os limites de alocação
+ * e os números do JMH sejam comparáveis.
+ */
+final class AllocationFixtures {
+
+    private AllocationFixtures() {
+    }
+
+    static CreatePaymentRequest request(PaymentMethod method) {
+        var details = new PaymentDetailsDTO();
+        details.setPaymentMethod(method);
+        switch (method) {
+            case CREDIT_CARD -> {
+                details.setCardNumber("4111111111111111");
+                details.setCardHolderName("John Doe");
+                details.setExpirationDate("12/30");
+                details.setCvv("123");
+            }
+            case PIX -> {
+                details.setPixKey("user@example.com");
+                details.setPixKeyType("email");
+            }
+            case BANK_SLIP -> {
+                details.setCustomerDocument("123.456.789-00");
+                details.setCustomerName("John Doe");
+                details.setDueDate(LocalDateTime.now().plusDays(3).withNano(0).toString());
+            }
+        }
+
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order-" + method.name().toLowerCase());
+        request.setAmount(new BigDecimal("100.00"));
+        request.setCurrency("BRL");
+        request.setPaymentMethod(method);
+        request.setPaymentDetails(details);
+        return request;
+    }
+
+    static Payment payment(PaymentMethod method) {
+        var payment = Payment.builder()
+                .orderId("order-" + method.name().toLowerCase())
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(method)
+                .paymentDetails(details(method))
+                .build();
+        payment.setMerchantId("merchant-1");
+        return payment;
+    }
+
+    private static PaymentDetails details(PaymentMethod method) {
+        return switch (method) {
+            case CREDIT_CARD -> CreditCardDetails.builder()
+                    .paymentMethod(method)
+                    .cardNumber("4111111111111111")
+                    .cardHolderName("John Doe")
+                    .expirationDate("12/30")
+                    .cvv("123")
+                    .build();
+            case PIX -> PixDetails.builder()
+                    .paymentMethod(method)
+                    .pixKey("user@example.com")
+                    .pixKeyType("email")
+                    .build();
+            case BANK_SLIP -> BankSlipDetails.builder()
+                    .paymentMethod(method)
+                    .customerDocument("123.456.789-00")
+                    .customerName("John Doe")
+                    .dueDate(LocalDateTime.now().plusDays(3))
+                    .build();
+        };
+    }
+}
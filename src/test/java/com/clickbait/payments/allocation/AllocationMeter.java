@@ -0,0 +1,88 @@
+package com.clickbait.payments.allocation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mede bytes alocados por operação na thread atual com {@code ThreadMXBean}. Roda um aquecimento
+ * para o JIT compilar o caminho e depois várias rodadas, ficando com a menor média: alocações
+ * esporádicas (resize de caches, classes carregadas tarde) não entram no número.
+ * <p>
+ * Os limites ficam em {@code allocation-budgets.properties}; {@code -Dallocation.budget.<chave>}
+ * sobrescreve um limite sem editar o arquivo.
+ */
+final class AllocationMeter {
+
+    static final int WARMUP_OPERATIONS = 20_000;
+    static final int OPERATIONS = 2_000;
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Properties BUDGETS = load();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * A operação recebe o índice da chamada dentro da rodada (0 a {@code operations} - 1), para
+     * usar entradas montadas em {@code beforeRound}, fora da medição.
+     */
+    static long bytesPerOperation(int warmupOperations, int operations, IntConsumer operation, Runnable beforeRound) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation accounting not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < warmupOperations; i++) {
+            if (i % operations == 0) {
+                beforeRound.run();
+            }
+            operation.accept(i % operations);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            beforeRound.run();
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < operations; i++) {
+                operation.accept(i);
+            }
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, allocated / operations);
+        }
+        return best;
+    }
+
+    static long bytesPerOperation(IntConsumer operation, Runnable beforeRound) {
+        return bytesPerOperation(WARMUP_OPERATIONS, OPERATIONS, operation, beforeRound);
+    }
+
+    static long bytesPerOperation(IntConsumer operation) {
+        return bytesPerOperation(operation, () -> { });
+    }
+
+    static void assertWithinBudget(String key, long bytesPerOperation) {
+        String configured = System.getProperty("allocation.budget." + key, BUDGETS.getProperty(key));
+        assertTrue(configured != null, "No allocation budget configured for " + key);
+        long budget = Long.parseLong(configured.trim());
+        assertTrue(bytesPerOperation <= budget,
+                () -> key + " allocates " + bytesPerOperation + " bytes/op, budget is " + budget);
+    }
+
+    private static Properties load() {
+        var properties = new Properties();
+        try (InputStream in = AllocationMeter.class.getResourceAsStream("/allocation-budgets.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read allocation budgets", e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,96 @@
+package com.clickbait.payments.allocation;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.infrastructure.adapters.in.rest.PaymentController;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static com.clickbait.payments.allocation.AllocationMeter.assertWithinBudget;
+import static com.clickbait.payments.allocation.AllocationMeter.bytesPerOperation;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * {@code POST /api/v1/payments} pelo MockMvc, com o mapper e o serializer reais e um caso de uso
+ * que só aprova. O número inclui o que o MockMvc aloca para simular a requisição, então vale como
+ * comparação entre versões, não como custo absoluto por requisição.
+ */
+@Tag("allocation")
+@WebMvcTest(PaymentController.class)
+@Import({PaymentMapper.class, MerchantResolver.class, PaymentControllerAllocationTest.Approving.class})
+class PaymentControllerAllocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class Approving {
+        // Um stub em vez de @MockBean: o Mockito registra cada chamada e isso entraria na medida
+        @Bean
+        ProcessPaymentUseCase processPaymentUseCase() {
+            return new ProcessPaymentUseCase() {
+                @Override
+                public Payment processPayment(Payment payment) {
+                    payment.setId("65a1f0c2e4b0a1b2c3d4e5f6");
+                    payment.setStatus(payment.getPaymentMethod() == PaymentMethod.BANK_SLIP
+                            ? PaymentStatus.PENDING : PaymentStatus.APPROVED);
+                    return payment;
+                }
+
+                @Override
+                public Optional<Payment> getPaymentById(String merchantId, String paymentId) {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Optional<Payment> getPaymentByOrderId(String merchantId, String orderId) {
+                    return Optional.empty();
+                }
+            };
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(PaymentMethod.class)
+    void shouldStayWithinAllocationBudgetWhenCreatingPayment(PaymentMethod method) throws Exception {
+        // given
+        byte[] body = objectMapper.writeValueAsBytes(AllocationFixtures.request(method));
+
+        // when
+        // Menos iterações que os outros: cada chamada do MockMvc custa bem mais
+        long bytes = bytesPerOperation(3_000, 300, i -> {
+            try {
+                int status = mockMvc.perform(post("/api/v1/payments")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn().getResponse().getStatus();
+                if (status != 201) {
+                    throw new AssertionError("Unexpected status " + status);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, () -> { });
+
+        // then
+        assertWithinBudget("controller." + method, bytes);
+    }
+}
@@ -0,0 +1,33 @@
+package com.clickbait.payments.allocation;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static com.clickbait.payments.allocation.AllocationMeter.assertWithinBudget;
+import static com.clickbait.payments.allocation.AllocationMeter.bytesPerOperation;
+
+@Tag("allocation")
+class PaymentMapperAllocationTest {
+
+    private final PaymentMapper mapper = new PaymentMapper();
+
+    // Guarda o resultado para o JIT não eliminar a chamada
+    private Payment last;
+
+    @ParameterizedTest
+    @EnumSource(PaymentMethod.class)
+    void shouldStayWithinAllocationBudgetWhenMappingRequest(PaymentMethod method) {
+        // given
+        var request = AllocationFixtures.request(method);
+
+        // when
+        long bytes = bytesPerOperation(i -> last = mapper.toEntity(request));
+
+        // then
+        assertWithinBudget("mapper." + method, bytes);
+    }
+}
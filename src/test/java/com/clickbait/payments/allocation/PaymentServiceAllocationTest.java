@@ -0,0 +1,114 @@
+package com.clickbait.payments.allocation;
+
+import com.clickbait.payments.application.FxConversionService;
+import com.clickbait.payments.application.MerchantQuotas;
+import com.clickbait.payments.application.PaymentLookupKeys;
+import com.clickbait.payments.application.PaymentMetrics;
+import com.clickbait.payments.application.PaymentService;
+import com.clickbait.payments.application.PaymentTracing;
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import com.clickbait.payments.domain.ports.out.PaymentProcessingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.clickbait.payments.allocation.AllocationMeter.OPERATIONS;
+import static com.clickbait.payments.allocation.AllocationMeter.assertWithinBudget;
+import static com.clickbait.payments.allocation.AllocationMeter.bytesPerOperation;
+
+/**
+ * {@code processPayment} com portas que não alocam nem guardam nada: o número é só do serviço
+ * (validação, FX, chaves de busca, métricas, evento). Os pagamentos de entrada são montados antes
+ * de cada rodada, porque o serviço altera o objeto recebido.
+ */
+@Tag("allocation")
+class PaymentServiceAllocationTest {
+
+    private final PaymentService paymentService = new PaymentService(new NoOpPersistence(), new ApprovingProcessor(),
+            event -> { }, new NoOpLease(), new MerchantQuotas(new SimpleMeterRegistry(), 50, 0, 0, List.of("merchant-1")),
+            new FxConversionService(() -> List.of(FxRate.of("USD", "BRL", new BigDecimal("5.42"), LocalDateTime.now())), "BRL"),
+            new PaymentLookupKeys("test-key"), new PaymentMetrics(new SimpleMeterRegistry()),
+            new PaymentTracing(Tracer.NOOP));
+
+    private final Payment[] inputs = new Payment[OPERATIONS];
+
+    @ParameterizedTest
+    @EnumSource(PaymentMethod.class)
+    void shouldStayWithinAllocationBudgetWhenProcessingPayment(PaymentMethod method) {
+        // given
+        Runnable prepareInputs = () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                inputs[i] = AllocationFixtures.payment(method);
+            }
+        };
+
+        // when
+        long bytes = bytesPerOperation(i -> inputs[i] = paymentService.processPayment(inputs[i]), prepareInputs);
+
+        // then
+        assertWithinBudget("service." + method, bytes);
+    }
+
+    private static final class NoOpPersistence implements PaymentPersistencePort {
+        @Override
+        public Payment savePayment(Payment payment) {
+            payment.setId("65a1f0c2e4b0a1b2c3d4e5f6");
+            return payment;
+        }
+
+        @Override
+        public Optional<Payment> findById(String merchantId, String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Payment> findByOrderId(String merchantId, String orderId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Payment> findByLookupKey(String merchantId, PaymentLookupKey key, String value, String afterId, int limit) {
+            return List.of();
+        }
+    }
+
+    private static final class NoOpLease implements PaymentLeasePort {
+        @Override
+        public boolean tryAcquire(String merchantId, String orderId) {
+            return true;
+        }
+
+        @Override
+        public void release(String merchantId, String orderId) {
+        }
+    }
+
+    private static final class ApprovingProcessor implements PaymentProcessingPort {
+        @Override
+        public Payment processCreditCardPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }
+
+        @Override
+        public Payment processPixPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }
+
+        @Override
+        public Payment processBankSlipPayment(Payment payment) {
+            payment.setStatus(PaymentStatus.PENDING);
+            return payment;
+        }
+    }
+}
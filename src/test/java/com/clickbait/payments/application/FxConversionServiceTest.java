@@ -0,0 +1,125 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxConversionServiceTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final List<FxRate> rates = new ArrayList<>(List.of(
+            FxRate.of("USD", "BRL", new BigDecimal("5.42"), AS_OF),
+            FxRate.of("JPY", "BRL", new BigDecimal("0.036"), AS_OF),
+            FxRate.of("USD", "EUR", new BigDecimal("0.92"), AS_OF)));
+
+    private boolean unavailable;
+
+    private final FxConversionService service = new FxConversionService(() -> {
+        if (unavailable) {
+            throw new IllegalStateException("rates file unavailable");
+        }
+        return List.copyOf(rates);
+    }, "BRL");
+
+    @Test
+    void shouldConvertToSettlementCurrencyAndRecordRate() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "USD"))
+                .paymentMethod(PaymentMethod.PIX)
+                .build();
+
+        // when
+        service.settle(payment);
+
+        // then
+        assertEquals(Money.of(new BigDecimal("542.00"), "BRL"), payment.getSettlementAmount());
+        assertEquals("USD", payment.getFxRate().baseCurrency());
+        assertEquals(0, new BigDecimal("5.42").compareTo(payment.getFxRate().toBigDecimal()));
+    }
+
+    @Test
+    void shouldLeaveSettlementCurrencyPaymentsUntouched() {
+        // given
+        var payment = Payment.builder()
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .build();
+
+        // when
+        service.settle(payment);
+
+        // then
+        assertNull(payment.getSettlementAmount());
+        assertNull(payment.getFxRate());
+    }
+
+    @Test
+    void shouldConvertBetweenDifferentFractionDigitsWithHalfEvenRounding() {
+        // given
+        var rate = service.rateFor("JPY");
+
+        // when/then
+        assertEquals(Money.ofMinor(3600, "BRL"), service.convert(Money.ofMinor(1000, "JPY"), rate));
+        assertEquals(Money.ofMinor(4, "BRL"), service.convert(Money.ofMinor(1, "JPY"), rate));
+        assertEquals(Money.ofMinor(450, "BRL"), service.convert(Money.ofMinor(125, "JPY"), rate));
+
+        // empates vão para o par: 2,5 -> 2 e 7,5 -> 8
+        var tie = FxRate.of("USD", "BRL", new BigDecimal("2.5"), AS_OF);
+        assertEquals(Money.ofMinor(2, "BRL"), service.convert(Money.ofMinor(1, "USD"), tie));
+        assertEquals(Money.ofMinor(8, "BRL"), service.convert(Money.ofMinor(3, "USD"), tie));
+    }
+
+    @Test
+    void shouldMatchBigDecimalConversionForLargeAmounts() {
+        // given
+        var rate = service.rateFor("USD");
+        var amount = Money.ofMinor(Long.MAX_VALUE / 1_000_000, "USD");
+
+        // when
+        var converted = service.convert(amount, rate);
+
+        // then
+        var expected = Money.of(amount.toBigDecimal().multiply(new BigDecimal("5.42")), "BRL", java.math.RoundingMode.HALF_EVEN);
+        assertEquals(expected, converted);
+    }
+
+    @Test
+    void shouldFailWhenRateIsMissing() {
+        // given
+        var payment = Payment.builder()
+                .amount(Money.of(new BigDecimal("100.00"), "GBP"))
+                .build();
+
+        // when/then
+        var exception = assertThrows(PaymentProcessingException.class, () -> service.settle(payment));
+        assertEquals("No exchange rate from GBP to BRL", exception.getMessage());
+    }
+
+    @Test
+    void shouldSwapTableOnRefreshAndKeepItOnFailure() {
+        // given
+        rates.set(0, FxRate.of("USD", "BRL", new BigDecimal("6.00"), AS_OF));
+
+        // when
+        service.refresh();
+
+        // then
+        assertEquals(600_000_000L, service.rateFor("USD").scaledRate());
+
+        // when
+        unavailable = true;
+        service.refresh();
+
+        // then
+        assertEquals(600_000_000L, service.rateFor("USD").scaledRate());
+    }
+}
@@ -0,0 +1,103 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MerchantQuotasTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectMerchantOverConcurrencyWithoutAffectingOthers() {
+        // given
+        var quotas = new MerchantQuotas(registry, 2, 0, 0, List.of("merchant-1"));
+        quotas.acquire("merchant-1");
+        var second = quotas.acquire("merchant-1");
+
+        // when
+        var exception = assertThrows(MerchantQuotaExceededException.class, () -> quotas.acquire("merchant-1"));
+
+        // then
+        assertEquals(MerchantQuotas.CONCURRENCY, exception.getQuota());
+        assertDoesNotThrow(() -> quotas.acquire("merchant-2"));
+        assertEquals(2, registry.get("payments.merchant.in.flight").tag("merchant", "merchant-1").gauge().value());
+        assertEquals(1, registry.get("payments.merchant.throttled")
+                .tags("merchant", "merchant-1", "quota", MerchantQuotas.CONCURRENCY).counter().count());
+
+        // when
+        second.release();
+
+        // then
+        assertDoesNotThrow(() -> quotas.acquire("merchant-1"));
+    }
+
+    @Test
+    void shouldRejectMerchantOverRateAfterBurstAndFreeTheSlot() {
+        // given
+        var quotas = new MerchantQuotas(registry, 10, 0.001, 3, List.of("merchant-1"));
+        for (int i = 0; i < 3; i++) {
+            quotas.acquire("merchant-1").release();
+        }
+
+        // when
+        var exception = assertThrows(MerchantQuotaExceededException.class, () -> quotas.acquire("merchant-1"));
+
+        // then
+        assertEquals(MerchantQuotas.RATE, exception.getQuota());
+        assertEquals("Merchant merchant-1 exceeded its rate quota", exception.getMessage());
+        // A recusa por taxa não deixa o pagamento contado como em andamento
+        assertEquals(0, registry.get("payments.merchant.in.flight").tag("merchant", "merchant-1").gauge().value());
+        assertDoesNotThrow(() -> quotas.acquire("merchant-2"));
+    }
+
+    @Test
+    void shouldShareOneQuotaAmongUnknownMerchants() {
+        // given
+        var quotas = new MerchantQuotas(registry, 1, 0, 0, List.of("merchant-1"));
+        var first = quotas.acquire("unknown-1");
+
+        // when
+        var exception = assertThrows(MerchantQuotaExceededException.class, () -> quotas.acquire("unknown-2"));
+
+        // then
+        assertEquals(MerchantQuotas.CONCURRENCY, exception.getQuota());
+        assertEquals("Merchant unknown-2 exceeded its concurrency quota", exception.getMessage());
+        assertEquals(1, registry.get("payments.merchant.throttled")
+                .tags("merchant", MerchantQuotas.OTHER, "quota", MerchantQuotas.CONCURRENCY).counter().count());
+        assertEquals(1, registry.get("payments.merchant.in.flight").tag("merchant", MerchantQuotas.OTHER).gauge().value());
+        assertTrue(registry.find("payments.merchant.in.flight").tag("merchant", "unknown-1").gauges().isEmpty());
+        assertEquals("merchant-1", quotas.metricTag("merchant-1"));
+        assertEquals(MerchantQuotas.OTHER, quotas.metricTag("unknown-1"));
+        assertDoesNotThrow(() -> quotas.acquire("merchant-1"));
+
+        // when
+        first.release();
+
+        // then
+        assertDoesNotThrow(() -> quotas.acquire("unknown-2"));
+    }
+
+    @Test
+    void shouldKeepConcurrencyCapWhileManyUnknownMerchantsArriveDuringAnInFlightPayment() {
+        // given
+        var quotas = new MerchantQuotas(registry, 1, 0, 0, List.of());
+        var inFlight = quotas.acquire("unknown-1");
+
+        // when
+        // Ids novos a cada requisição não abrem cota nova nem descartam a que está em uso
+        for (int i = 2; i <= 100; i++) {
+            var merchantId = "unknown-" + i;
+            assertThrows(MerchantQuotaExceededException.class, () -> quotas.acquire(merchantId));
+        }
+
+        // then
+        assertThrows(MerchantQuotaExceededException.class, () -> quotas.acquire("unknown-1"));
+        inFlight.release();
+        assertDoesNotThrow(() -> quotas.acquire("unknown-1"));
+    }
+}
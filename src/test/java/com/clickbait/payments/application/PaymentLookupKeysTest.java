@@ -0,0 +1,75 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentLookupKeysTest {
+
+    private final PaymentLookupKeys lookupKeys = new PaymentLookupKeys("test-key");
+
+    @Test
+    void shouldIgnoreDocumentPunctuation() {
+        // when/then
+        assertEquals(lookupKeys.customerDocumentHash("12345678900"), lookupKeys.customerDocumentHash("123.456.789-00"));
+        assertEquals(lookupKeys.customerDocumentHash("12ABC34501DE35"), lookupKeys.customerDocumentHash("12.abc.345/01de-35"));
+        assertEquals(lookupKeys.cardFingerprint("4111111111111111"), lookupKeys.cardFingerprint("4111 1111 1111 1111"));
+    }
+
+    @Test
+    void shouldNotExposeTheRawValue() {
+        // when
+        var hash = lookupKeys.customerDocumentHash("123.456.789-00");
+
+        // then
+        assertFalse(hash.contains("12345678900"));
+        assertEquals(43, hash.length());
+        assertNotEquals(hash, new PaymentLookupKeys("other-key").customerDocumentHash("123.456.789-00"));
+        // Documento e cartão com os mesmos dígitos não colidem
+        assertNotEquals(lookupKeys.customerDocumentHash("4111111111111111"), lookupKeys.cardFingerprint("4111111111111111"));
+    }
+
+    @Test
+    void shouldStampTheKeyMatchingThePaymentMethod() {
+        // given
+        var bankSlip = payment(PaymentMethod.BANK_SLIP, BankSlipDetails.builder()
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .customerDocument("123.456.789-00")
+                .customerName("John Doe")
+                .build());
+        var pix = payment(PaymentMethod.PIX, PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKey("user@example.com")
+                .pixKeyType("email")
+                .build());
+
+        // when
+        lookupKeys.apply(bankSlip);
+        lookupKeys.apply(pix);
+
+        // then
+        assertEquals(lookupKeys.customerDocumentHash("12345678900"), bankSlip.getCustomerDocumentHash());
+        assertNull(bankSlip.getCardFingerprint());
+        assertNull(pix.getCustomerDocumentHash());
+        assertNull(pix.getCardFingerprint());
+    }
+
+    @Test
+    void shouldRejectValuesWithoutDigits() {
+        // when/then
+        assertThrows(IllegalArgumentException.class, () -> lookupKeys.cardFingerprint("---"));
+        assertThrows(IllegalArgumentException.class, () -> new PaymentLookupKeys(" "));
+    }
+
+    private Payment payment(PaymentMethod method, PaymentDetails details) {
+        return Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(method)
+                .paymentDetails(details)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.clickbait.payments.application;
+
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentSearchServiceTest {
+
+    private static final String MERCHANT = "merchant-1";
+
+    @Mock
+    private PaymentPersistencePort paymentPersistencePort;
+
+    private final PaymentLookupKeys lookupKeys = new PaymentLookupKeys("test-key");
+
+    private PaymentSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new PaymentSearchService(paymentPersistencePort, lookupKeys, 100);
+    }
+
+    @Test
+    void shouldReturnCursorWhenThereIsAnotherPage() {
+        // given
+        var hash = lookupKeys.customerDocumentHash("12345678900");
+        doReturn(List.of(payment("p3"), payment("p2"), payment("p1")))
+                .when(paymentPersistencePort).findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, hash, null, 3);
+
+        // when
+        var page = searchService.searchByCustomerDocument(MERCHANT, "123.456.789-00", null, 2);
+
+        // then
+        assertEquals(List.of("p3", "p2"), page.items().stream().map(Payment::getId).toList());
+        assertEquals("p2", page.nextCursor());
+    }
+
+    @Test
+    void shouldOmitCursorOnLastPage() {
+        // given
+        var fingerprint = lookupKeys.cardFingerprint("4111111111111111");
+        doReturn(List.of(payment("p1")))
+                .when(paymentPersistencePort).findByLookupKey(MERCHANT, PaymentLookupKey.CARD_FINGERPRINT, fingerprint, "p2", 3);
+
+        // when
+        var page = searchService.searchByCardNumber(MERCHANT, "4111111111111111", "p2", 2);
+
+        // then
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() {
+        // when/then
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchByCardNumber(MERCHANT, "4111111111111111", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchByCardNumber(MERCHANT, "4111111111111111", null, 101));
+        verify(paymentPersistencePort, never()).findByLookupKey(any(), any(), any(), any(), anyInt());
+    }
+
+    private Payment payment(String id) {
+        return Payment.builder().id(id).orderId("order-" + id).build();
+    }
+}
@@ -1,9 +1,18 @@
 package com.clickbait.payments.application;
 
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
+import com.clickbait.payments.domain.exception.PaymentInProgressException;
 import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.exception.PaymentValidationException;
 import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
+import com.clickbait.payments.domain.ports.out.PaymentEventBus;
+import com.clickbait.payments.domain.ports.out.PaymentLeasePort;
 import com.clickbait.payments.domain.ports.out.PaymentPersistencePort;
 import com.clickbait.payments.domain.ports.out.PaymentProcessingPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,20 +33,36 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceTest {
 
+    private static final String MERCHANT = "merchant-1";
+
     @Mock
     private PaymentPersistencePort paymentPersistencePort;
 
     @Mock
     private PaymentProcessingPort paymentProcessingPort;
 
+    @Mock
+    private PaymentEventBus paymentEventBus;
+
+    @Mock
+    private PaymentLeasePort paymentLeasePort;
+
     @Captor
     private ArgumentCaptor<Payment> paymentCaptor;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MerchantQuotas merchantQuotas;
+
     private PaymentService paymentService;
 
     @BeforeEach
     void setUp() {
-        paymentService = new PaymentService(paymentPersistencePort, paymentProcessingPort);
+        merchantQuotas = new MerchantQuotas(meterRegistry, 1, 0, 0, List.of(MERCHANT));
+        lenient().doReturn(true).when(paymentLeasePort).tryAcquire(any(), any());
+        paymentService = new PaymentService(paymentPersistencePort, paymentProcessingPort, paymentEventBus, paymentLeasePort,
+                merchantQuotas, new FxConversionService(() -> List.of(FxRate.of("USD", "BRL", new BigDecimal("5.42"), LocalDateTime.now())), "BRL"),
+                new PaymentLookupKeys("test-key"), new PaymentMetrics(meterRegistry), new PaymentTracing(Tracer.NOOP));
     }
 
     @Test
@@ -52,11 +78,12 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .paymentDetails(creditCardDetails)
                 .createdAt(LocalDateTime.now())
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         var processedPayment = Payment.builder()
                 .id("payment123")
@@ -84,6 +111,15 @@ class PaymentServiceTest {
         assertNotNull(result.getUpdatedAt());
         verify(paymentProcessingPort).processCreditCardPayment(paymentCaptor.capture());
         verify(paymentPersistencePort).savePayment(paymentCaptor.capture());
+        verify(paymentEventBus).publish(argThat(event -> event instanceof PaymentCreatedEvent
+                && "payment123".equals(event.getPaymentId())));
+        // A chave de busca do cartão é derivada antes do processamento
+        assertNotNull(paymentCaptor.getAllValues().get(0).getCardFingerprint());
+        assertNull(paymentCaptor.getAllValues().get(0).getCustomerDocumentHash());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSING)
+                .tags("method", "CREDIT_CARD", "outcome", "approved").timer().count());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSOR)
+                .tags("method", "CREDIT_CARD", "outcome", "approved").timer().count());
     }
 
     @Test
@@ -94,6 +130,7 @@ class PaymentServiceTest {
                 .amount(null) // explicitamente setando amount como null para melhor clareza
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         // when/then
         var exception = assertThrows(PaymentProcessingException.class, 
@@ -102,6 +139,253 @@ class PaymentServiceTest {
         assertEquals("Payment amount must be greater than zero", exception.getMessage());
         verify(paymentProcessingPort, never()).processCreditCardPayment(any());
         verify(paymentPersistencePort, never()).savePayment(any());
+        verify(paymentEventBus, never()).publish(any());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSING)
+                .tags("method", "CREDIT_CARD", "outcome", "invalid").timer().count());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.VALIDATION_FAILURES)
+                .tags("method", "CREDIT_CARD", "field", "amount").counter().count());
+        assertNull(meterRegistry.find(PaymentMetrics.PROCESSOR).timer());
+    }
+
+    @Test
+    void shouldTagUnrepresentableAmountsWithFixedReason() {
+        // given
+        var first = pixPaymentWithInvalidAmount(new InvalidAmount(new BigDecimal("1500.5"), "JPY"));
+        var second = pixPaymentWithInvalidAmount(new InvalidAmount(new BigDecimal("99.123"), "BRL"));
+
+        // when
+        assertThrows(PaymentValidationException.class, () -> paymentService.processPayment(first));
+        assertThrows(PaymentValidationException.class, () -> paymentService.processPayment(second));
+
+        // then
+        var counters = meterRegistry.find(PaymentMetrics.VALIDATION_FAILURES).counters();
+        assertEquals(1, counters.size());
+        assertEquals("invalid_scale", counters.iterator().next().getId().getTag("reason"));
+        assertEquals(2, counters.iterator().next().count());
+    }
+
+    @Test
+    void shouldRecordFailedOutcomeWhenProcessorDeclines() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        doThrow(new PaymentProcessingException("PIX payment failed")).when(paymentProcessingPort).processPixPayment(any());
+
+        // when
+        assertThrows(PaymentProcessingException.class, () -> paymentService.processPayment(payment));
+
+        // then
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSOR)
+                .tags("method", "PIX", "outcome", "failed").timer().count());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSING)
+                .tags("method", "PIX", "outcome", "failed").timer().count());
+        verify(paymentPersistencePort, never()).savePayment(any());
+        verify(paymentLeasePort).release(MERCHANT, "order123");
+    }
+
+    @Test
+    void shouldRejectPaymentWhileAnotherAttemptForTheOrderIsInProgress() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        doReturn(false).when(paymentLeasePort).tryAcquire(MERCHANT, "order123");
+
+        // when
+        var exception = assertThrows(PaymentInProgressException.class, () -> paymentService.processPayment(payment));
+
+        // then
+        assertEquals("A payment for order order123 is already in progress", exception.getMessage());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSING)
+                .tags("method", "PIX", "outcome", "conflict").timer().count());
+        verifyNoInteractions(paymentProcessingPort, paymentPersistencePort, paymentEventBus);
+        verify(paymentLeasePort, never()).release(any(), any());
+    }
+
+    @Test
+    void shouldNotChargeAgainWhenOrderIsRetriedAfterPaymentWasSaved() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        var processedPayment = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .status(PaymentStatus.APPROVED)
+                .build();
+        when(paymentProcessingPort.processPixPayment(any(Payment.class))).thenReturn(processedPayment);
+        when(paymentPersistencePort.savePayment(any(Payment.class))).thenReturn(processedPayment);
+        when(paymentPersistencePort.findByOrderId(MERCHANT, "order123"))
+                .thenReturn(Optional.empty(), Optional.of(processedPayment));
+        paymentService.processPayment(payment);
+
+        // when
+        var exception = assertThrows(PaymentAlreadyExistsException.class, () -> paymentService.processPayment(payment));
+
+        // then
+        assertEquals("Order order123 already has payment payment123", exception.getMessage());
+        assertEquals("payment123", exception.getPaymentId());
+        verify(paymentProcessingPort, times(1)).processPixPayment(any());
+        verify(paymentPersistencePort, times(1)).savePayment(any());
+        verify(paymentLeasePort, times(2)).release(MERCHANT, "order123");
+        assertEquals(1, meterRegistry.get(PaymentMetrics.PROCESSING)
+                .tags("method", "PIX", "outcome", "conflict").timer().count());
+    }
+
+    @Test
+    void shouldChargeAgainWhenPreviousPaymentOfTheOrderWasRejected() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        var rejected = Payment.builder()
+                .id("payment122")
+                .orderId("order123")
+                .status(PaymentStatus.REJECTED)
+                .build();
+        var approved = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .status(PaymentStatus.APPROVED)
+                .build();
+        when(paymentPersistencePort.findByOrderId(MERCHANT, "order123")).thenReturn(Optional.of(rejected));
+        when(paymentProcessingPort.processPixPayment(any(Payment.class))).thenReturn(approved);
+        when(paymentPersistencePort.savePayment(any(Payment.class))).thenReturn(approved);
+
+        // when
+        var result = paymentService.processPayment(payment);
+
+        // then
+        assertEquals("payment123", result.getId());
+        assertEquals(PaymentStatus.APPROVED, result.getStatus());
+        verify(paymentProcessingPort).processPixPayment(any());
+    }
+
+    @Test
+    void shouldRejectRetryWhilePreviousPaymentOfTheOrderIsPending() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        var pending = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .status(PaymentStatus.PENDING)
+                .build();
+        when(paymentPersistencePort.findByOrderId(MERCHANT, "order123")).thenReturn(Optional.of(pending));
+
+        // when
+        var exception = assertThrows(PaymentAlreadyExistsException.class, () -> paymentService.processPayment(payment));
+
+        // then
+        assertEquals("payment123", exception.getPaymentId());
+        verifyNoInteractions(paymentProcessingPort);
+        verify(paymentLeasePort).release(MERCHANT, "order123");
+    }
+
+    @Test
+    void shouldThrottleMerchantOverItsConcurrencyQuota() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        var inFlight = merchantQuotas.acquire(MERCHANT);
+
+        // when
+        var exception = assertThrows(MerchantQuotaExceededException.class, () -> paymentService.processPayment(payment));
+
+        // then
+        assertEquals(MerchantQuotas.CONCURRENCY, exception.getQuota());
+        assertEquals(1, meterRegistry.get(PaymentMetrics.MERCHANT_PROCESSING)
+                .tags("merchant", MERCHANT, "outcome", "throttled").timer().count());
+        assertEquals(1, meterRegistry.get("payments.merchant.throttled")
+                .tags("merchant", MERCHANT, "quota", MerchantQuotas.CONCURRENCY).counter().count());
+        verifyNoInteractions(paymentProcessingPort, paymentPersistencePort, paymentEventBus, paymentLeasePort);
+        inFlight.release();
+    }
+
+    @Test
+    void shouldRecordMerchantMetricsOnlyForConfiguredMerchantsAndValidRequests() {
+        // given
+        var unknown = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        unknown.setMerchantId("unknown-merchant");
+        var invalid = Payment.builder().orderId("order456").build();
+        invalid.setMerchantId(MERCHANT);
+        var processedPayment = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .status(PaymentStatus.APPROVED)
+                .build();
+        when(paymentProcessingPort.processPixPayment(any(Payment.class))).thenReturn(processedPayment);
+        when(paymentPersistencePort.savePayment(any(Payment.class))).thenReturn(processedPayment);
+
+        // when
+        paymentService.processPayment(unknown);
+        assertThrows(PaymentValidationException.class, () -> paymentService.processPayment(invalid));
+
+        // then
+        assertEquals(1, meterRegistry.get(PaymentMetrics.MERCHANT_PROCESSING)
+                .tags("merchant", MerchantQuotas.OTHER, "outcome", "approved").timer().count());
+        assertTrue(meterRegistry.find(PaymentMetrics.MERCHANT_PROCESSING).tag("merchant", "unknown-merchant").timers().isEmpty());
+        assertTrue(meterRegistry.find(PaymentMetrics.MERCHANT_PROCESSING).tag("outcome", "invalid").timers().isEmpty());
     }
 
     @Test
@@ -115,11 +399,12 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .paymentDetails(pixDetails)
                 .createdAt(LocalDateTime.now())
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         var processedPayment = Payment.builder()
                 .id("payment123")
@@ -161,11 +446,12 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.BANK_SLIP)
                 .paymentDetails(bankSlipDetails)
                 .createdAt(LocalDateTime.now())
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         var processedPayment = Payment.builder()
                 .id("payment123")
@@ -195,20 +481,49 @@ class PaymentServiceTest {
         verify(paymentPersistencePort).savePayment(paymentCaptor.capture());
     }
 
+    @Test
+    void shouldConvertForeignCurrencyPaymentBeforeProcessing() {
+        // given
+        var pixDetails = PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKey("test@email.com")
+                .pixKeyType("EMAIL")
+                .build();
+
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("10.00"), "USD"))
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(pixDetails)
+                .build();
+        payment.setMerchantId(MERCHANT);
+
+        when(paymentProcessingPort.processPixPayment(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(paymentPersistencePort.savePayment(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        var result = paymentService.processPayment(payment);
+
+        // then
+        assertEquals(Money.of(new BigDecimal("54.20"), "BRL"), result.getSettlementAmount());
+        assertEquals("USD", result.getFxRate().baseCurrency());
+    }
+
     @Test
     void shouldFindPaymentById() {
         // given
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .status(PaymentStatus.APPROVED)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
-        when(paymentPersistencePort.findById("payment123")).thenReturn(Optional.of(payment));
+        when(paymentPersistencePort.findById(MERCHANT, "payment123")).thenReturn(Optional.of(payment));
 
         // when
-        var result = paymentService.getPaymentById("payment123");
+        var result = paymentService.getPaymentById(MERCHANT, "payment123");
 
         // then
         assertTrue(result.isPresent());
@@ -221,14 +536,15 @@ class PaymentServiceTest {
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .status(PaymentStatus.APPROVED)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
-        when(paymentPersistencePort.findByOrderId("order123")).thenReturn(Optional.of(payment));
+        when(paymentPersistencePort.findByOrderId(MERCHANT, "order123")).thenReturn(Optional.of(payment));
 
         // when
-        var result = paymentService.getPaymentByOrderId("order123");
+        var result = paymentService.getPaymentByOrderId(MERCHANT, "order123");
 
         // then
         assertTrue(result.isPresent());
@@ -245,16 +561,19 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .paymentDetails(creditCardDetails)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         // when/then
         var exception = assertThrows(PaymentProcessingException.class,
                 () -> paymentService.processPayment(payment));
 
-        assertEquals("Card holder name must be specified", exception.getMessage());
+        // Um número sem dígitos é violação, e não um erro ao derivar a chave de busca
+        assertEquals("Card number must contain digits", exception.getMessage());
+        assertEquals(4, ((PaymentValidationException) exception).getViolations().size());
         verify(paymentProcessingPort, never()).processCreditCardPayment(any());
         verify(paymentPersistencePort, never()).savePayment(any());
     }
@@ -268,10 +587,11 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .paymentDetails(pixDetails)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         // when/then
         var exception = assertThrows(PaymentProcessingException.class,
@@ -291,10 +611,11 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.BANK_SLIP)
                 .paymentDetails(bankSlipDetails)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         // when/then
         var exception = assertThrows(PaymentProcessingException.class,
@@ -316,10 +637,11 @@ class PaymentServiceTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .paymentDetails(pixDetails)
                 .build();
+        payment.setMerchantId(MERCHANT);
 
         // when/then
         var exception = assertThrows(PaymentProcessingException.class,
@@ -329,4 +651,19 @@ class PaymentServiceTest {
         verify(paymentProcessingPort, never()).processCreditCardPayment(any());
         verify(paymentPersistencePort, never()).savePayment(any());
     }
-}
\ No newline at end of file
+
+    private Payment pixPaymentWithInvalidAmount(InvalidAmount invalidAmount) {
+        var payment = Payment.builder()
+                .orderId("order123")
+                .paymentMethod(PaymentMethod.PIX)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("test@email.com")
+                        .pixKeyType("EMAIL")
+                        .build())
+                .build();
+        payment.setMerchantId(MERCHANT);
+        payment.setInvalidAmount(invalidAmount);
+        return payment;
+    }
+}
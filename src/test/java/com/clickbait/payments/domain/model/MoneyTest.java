@@ -0,0 +1,85 @@
+package com.clickbait.payments.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertDecimalAmountToMinorUnits() {
+        // when
+        var money = Money.of(new BigDecimal("100.5"), "BRL");
+
+        // then
+        assertEquals(10050, money.minorUnits());
+        assertEquals("BRL", money.currency());
+        assertEquals(new BigDecimal("100.50"), money.toBigDecimal());
+    }
+
+    @Test
+    void shouldUseCurrencyFractionDigits() {
+        // when
+        var yen = Money.of(new BigDecimal("1500"), "JPY");
+        var dinar = Money.of(new BigDecimal("1.234"), "KWD");
+
+        // then
+        assertEquals(1500, yen.minorUnits());
+        assertEquals(1234, dinar.minorUnits());
+        assertEquals(new BigDecimal("1500"), yen.toBigDecimal());
+    }
+
+    @Test
+    void shouldRejectAmountWithMoreDecimalsThanCurrencyAllows() {
+        // when/then
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> Money.of(new BigDecimal("10.001"), "BRL"));
+        assertEquals("Amount 10.001 is not representable in BRL minor units", exception.getMessage());
+    }
+
+    @Test
+    void shouldAcceptTrailingZerosBeyondCurrencyScale() {
+        // when
+        var money = Money.of(new BigDecimal("10.1000"), "BRL");
+
+        // then
+        assertEquals(1010, money.minorUnits());
+    }
+
+    @Test
+    void shouldRoundWhenRoundingModeIsGiven() {
+        // when
+        var halfEvenDown = Money.of(new BigDecimal("10.005"), "BRL", RoundingMode.HALF_EVEN);
+        var halfEvenUp = Money.of(new BigDecimal("10.015"), "BRL", RoundingMode.HALF_EVEN);
+
+        // then
+        assertEquals(1000, halfEvenDown.minorUnits());
+        assertEquals(1002, halfEvenUp.minorUnits());
+    }
+
+    @Test
+    void shouldRejectUnknownCurrency() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(100, "XYZ"));
+    }
+
+    @Test
+    void shouldAddAndSubtractSameCurrency() {
+        // given
+        var ten = Money.ofMinor(1000, "BRL");
+        var five = Money.ofMinor(500, "BRL");
+
+        // then
+        assertEquals(Money.ofMinor(1500, "BRL"), ten.plus(five));
+        assertEquals(Money.ofMinor(500, "BRL"), ten.minus(five));
+        assertTrue(ten.compareTo(five) > 0);
+    }
+
+    @Test
+    void shouldRejectArithmeticAcrossCurrencies() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Money.ofMinor(1000, "BRL").plus(Money.ofMinor(1000, "USD")));
+    }
+}
@@ -22,7 +22,7 @@ class PaymentTest {
         // when
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(creditCardDetails)
@@ -50,7 +50,7 @@ class PaymentTest {
         // when
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(pixDetails)
@@ -78,7 +78,7 @@ class PaymentTest {
         // when
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.BANK_SLIP)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(bankSlipDetails)
@@ -98,21 +98,21 @@ class PaymentTest {
         // given/when
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("-100.00"))
+                .amount(Money.of(new BigDecimal("-100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .build();
         
         // then
         assertNotNull(payment);
-        assertEquals(new BigDecimal("-100.00"), payment.getAmount());
+        assertEquals(Money.of(new BigDecimal("-100.00"), "BRL"), payment.getAmount());
     }
 
     @Test
     void shouldCreatePaymentWithNullOrderId() {
         // given/when
         var payment = Payment.builder()
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .build();
@@ -127,7 +127,7 @@ class PaymentTest {
         // given/when
         var payment = Payment.builder()
                 .orderId("")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .build();
@@ -142,7 +142,7 @@ class PaymentTest {
         // given
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -157,7 +157,7 @@ class PaymentTest {
         var now = LocalDateTime.now();
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .createdAt(now)
                 .build();
@@ -172,7 +172,7 @@ class PaymentTest {
         // given
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .createdAt(LocalDateTime.now())
@@ -189,4 +189,29 @@ class PaymentTest {
         assertTrue(payment.getUpdatedAt().isAfter(initialUpdatedAt),
             "updatedAt should be after the initial value");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReleaseOrderOnlyWhenPaymentIsRejected() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .build();
+
+        // then
+        assertTrue(payment.isHoldsOrder());
+
+        // when
+        payment.setStatus(PaymentStatus.REJECTED);
+
+        // then
+        assertFalse(payment.isHoldsOrder());
+
+        // when
+        payment.setStatus(PaymentStatus.APPROVED);
+
+        // then
+        assertTrue(payment.isHoldsOrder());
+    }
+}
@@ -0,0 +1,117 @@
+package com.clickbait.payments.domain.model.event;
+
+import com.clickbait.payments.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentAggregateTest {
+
+    @Test
+    void shouldRecordCreatedEventForNewPayment() {
+        // given
+        var aggregate = PaymentAggregate.empty("payment123");
+        var payment = createBankSlipPayment();
+
+        // when
+        var events = aggregate.record(payment, LocalDateTime.now());
+
+        // then
+        assertEquals(1, events.size());
+        assertEquals(PaymentEventType.PAYMENT_CREATED, events.get(0).getType());
+        assertEquals(1, aggregate.getVersion());
+        assertEquals("payment123", aggregate.getState().getId());
+        assertEquals("order123", aggregate.getState().getOrderId());
+        assertEquals(PaymentStatus.PENDING, aggregate.getState().getStatus());
+    }
+
+    @Test
+    void shouldRecordOnlyChangedFields() {
+        // given
+        var aggregate = PaymentAggregate.empty("payment123");
+        aggregate.record(createBankSlipPayment(), LocalDateTime.now());
+        var updated = createBankSlipPayment();
+        updated.setStatus(PaymentStatus.APPROVED);
+
+        // when
+        var events = aggregate.record(updated, LocalDateTime.now());
+
+        // then
+        assertEquals(1, events.size());
+        var statusChanged = (PaymentStatusChangedEvent) events.get(0);
+        assertEquals(PaymentStatus.PENDING, statusChanged.getPreviousStatus());
+        assertEquals(PaymentStatus.APPROVED, statusChanged.getStatus());
+        assertEquals(2, statusChanged.getSequence());
+        assertEquals(2, aggregate.getVersion());
+    }
+
+    @Test
+    void shouldNotRecordEventsWhenNothingChanged() {
+        // given
+        var aggregate = PaymentAggregate.empty("payment123");
+        aggregate.record(createBankSlipPayment(), LocalDateTime.now());
+
+        // when
+        var events = aggregate.record(createBankSlipPayment(), LocalDateTime.now());
+
+        // then
+        assertTrue(events.isEmpty());
+        assertEquals(1, aggregate.getVersion());
+    }
+
+    @Test
+    void shouldReplaySnapshotAndTailEvents() {
+        // given
+        var source = PaymentAggregate.empty("payment123");
+        source.record(createBankSlipPayment(), LocalDateTime.now());
+        var snapshot = source.getState();
+
+        var approved = createBankSlipPayment();
+        approved.setStatus(PaymentStatus.APPROVED);
+        var tail = source.record(approved, LocalDateTime.now());
+
+        // when
+        var replayed = PaymentAggregate.replay("payment123", snapshot, 1, tail);
+
+        // then
+        assertEquals(2, replayed.getVersion());
+        assertEquals(PaymentStatus.APPROVED, replayed.getState().getStatus());
+    }
+
+    @Test
+    void shouldRejectOutOfOrderEvents() {
+        // given
+        var event = PaymentStatusChangedEvent.builder()
+                .paymentId("payment123")
+                .sequence(3)
+                .status(PaymentStatus.APPROVED)
+                .build();
+
+        // when/then
+        assertThrows(IllegalStateException.class,
+                () -> PaymentAggregate.replay("payment123", createBankSlipPayment(), 1, List.of(event)));
+    }
+
+    private Payment createBankSlipPayment() {
+        var details = BankSlipDetails.builder()
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .customerDocument("123.456.789-00")
+                .customerName("John Doe")
+                .barCode("123")
+                .dueDate(LocalDateTime.of(2030, 1, 1, 0, 0))
+                .build();
+
+        return Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .status(PaymentStatus.PENDING)
+                .paymentDetails(details)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+    }
+}
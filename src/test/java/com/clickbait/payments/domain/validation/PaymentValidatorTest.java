@@ -0,0 +1,237 @@
+package com.clickbait.payments.domain.validation;
+
+import com.clickbait.payments.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentValidatorTest {
+
+    private final PaymentValidator validator = new PaymentValidator();
+
+    @Test
+    void shouldAcceptValidCreditCardPayment() {
+        // given
+        var payment = payment(PaymentMethod.CREDIT_CARD, CreditCardDetails.builder()
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .cardNumber("4111111111111111")
+                .cardHolderName("John Doe")
+                .expirationDate("12/25")
+                .cvv("123")
+                .build());
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void shouldAcceptValidPixPayment() {
+        // given
+        var payment = payment(PaymentMethod.PIX, PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKey("123e4567-e89b-12d3-a456-426614174000")
+                .pixKeyType("random")
+                .build());
+
+        // when/then
+        assertTrue(validator.validate(payment).isEmpty());
+    }
+
+    @Test
+    void shouldAcceptValidBankSlipPayment() {
+        // given
+        var payment = payment(PaymentMethod.BANK_SLIP, BankSlipDetails.builder()
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .customerDocument("123.456.789-00")
+                .customerName("John Doe")
+                .dueDate(LocalDateTime.now().plusDays(3))
+                .build());
+
+        // when/then
+        assertTrue(validator.validate(payment).isEmpty());
+    }
+
+    @Test
+    void shouldReportEveryMissingCreditCardFieldAtOnce() {
+        // given
+        var payment = payment(PaymentMethod.CREDIT_CARD, CreditCardDetails.builder()
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .cardNumber("   ")
+                .cardHolderName("John Doe")
+                .build());
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(
+                new Violation("paymentDetails.cardNumber", "Card number must be specified"),
+                new Violation("paymentDetails.expirationDate", "Card expiration date must be specified"),
+                new Violation("paymentDetails.cvv", "Card CVV must be specified")), violations);
+    }
+
+    @Test
+    void shouldRejectSearchableValuesWithNothingToHash() {
+        // given
+        var card = payment(PaymentMethod.CREDIT_CARD, CreditCardDetails.builder()
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .cardNumber("abcd")
+                .cardHolderName("John Doe")
+                .expirationDate("12/25")
+                .cvv("123")
+                .build());
+        var bankSlip = payment(PaymentMethod.BANK_SLIP, BankSlipDetails.builder()
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .customerDocument("../-")
+                .customerName("John Doe")
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .build());
+
+        // when
+        var cardViolations = validator.validate(card);
+        var bankSlipViolations = validator.validate(bankSlip);
+
+        // then
+        assertEquals(List.of(new Violation("paymentDetails.cardNumber", "Card number must contain digits")), cardViolations);
+        assertEquals(List.of(new Violation("paymentDetails.customerDocument", "Customer document must contain digits or letters")),
+                bankSlipViolations);
+    }
+
+    @Test
+    void shouldReportCommonAndDetailViolationsTogether() {
+        // given
+        var payment = payment(PaymentMethod.PIX, PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKeyType("email")
+                .build());
+        payment.setAmount(Money.ofMinor(0, "BRL"));
+        payment.setOrderId("");
+        payment.setMerchantId(null);
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of("amount", "orderId", "merchantId", "paymentDetails.pixKey"),
+                violations.stream().map(Violation::field).toList());
+    }
+
+    @Test
+    void shouldRejectBankSlipWithoutCustomerDocumentOrWithPastDueDate() {
+        // given
+        var payment = payment(PaymentMethod.BANK_SLIP, BankSlipDetails.builder()
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .customerName("John Doe")
+                .dueDate(LocalDateTime.now().minusDays(1))
+                .build());
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(
+                new Violation("paymentDetails.customerDocument", "Customer document must be specified for bank slip"),
+                new Violation("paymentDetails.dueDate", "Due date cannot be in the past")), violations);
+    }
+
+    @Test
+    void shouldSkipMethodRulesWhenDetailsDoNotMatchPaymentMethod() {
+        // given
+        var payment = payment(PaymentMethod.CREDIT_CARD, PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKey("test@email.com")
+                .pixKeyType("EMAIL")
+                .build());
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(new Violation("paymentDetails.paymentMethod",
+                "Payment method in details must match the payment method")), violations);
+    }
+
+    @Test
+    void shouldRequireDetailsOnlyWhenPaymentMethodIsKnown() {
+        // given
+        var payment = payment(null, null);
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(new Violation("paymentMethod", "Payment method must be specified")), violations);
+    }
+
+    @Test
+    void shouldRequirePaymentMethodInDetails() {
+        // given
+        var payment = payment(PaymentMethod.PIX, PixDetails.builder()
+                .pixKey("test@email.com")
+                .pixKeyType("EMAIL")
+                .build());
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(new Violation("paymentDetails.paymentMethod", "Payment method is required")), violations);
+    }
+
+    @Test
+    void shouldReportUnrepresentableAmountWithOtherViolations() {
+        // given
+        var payment = payment(PaymentMethod.PIX, PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKeyType("EMAIL")
+                .build());
+        payment.setAmount(null);
+        payment.setInvalidAmount(new InvalidAmount(new BigDecimal("1500.5"), "JPY"));
+        payment.setOrderId(null);
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(
+                new Violation("amount", "Amount 1500.5 is not representable in JPY minor units", "invalid_scale"),
+                new Violation("orderId", "Order ID must be specified"),
+                new Violation("paymentDetails.pixKey", "PIX key must be specified")), violations);
+    }
+
+    @Test
+    void shouldReportUnknownCurrency() {
+        // given
+        var payment = payment(PaymentMethod.PIX, PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKey("test@email.com")
+                .pixKeyType("EMAIL")
+                .build());
+        payment.setAmount(null);
+        payment.setInvalidAmount(new InvalidAmount(new BigDecimal("10.00"), "ABC"));
+
+        // when
+        var violations = validator.validate(payment);
+
+        // then
+        assertEquals(List.of(new Violation("amount", "Currency ABC is not a valid ISO 4217 code", "invalid_currency")), violations);
+    }
+
+    private Payment payment(PaymentMethod method, PaymentDetails details) {
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(method)
+                .paymentDetails(details)
+                .build();
+        payment.setMerchantId("merchant-1");
+        return payment;
+    }
+}
@@ -0,0 +1,264 @@
+package com.clickbait.payments.infrastructure.adapters.in.grpc;
+
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import com.clickbait.payments.domain.exception.PaymentInProgressException;
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.model.InvalidAmount;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.CreatePaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.GetPaymentRequest;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentResult;
+import com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentServiceGrpc;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentGrpcServiceTest {
+
+    @Mock
+    private ProcessPaymentUseCase processPaymentUseCase;
+
+    private Server server;
+    private ManagedChannel channel;
+    private PaymentServiceGrpc.PaymentServiceBlockingStub blockingStub;
+    private PaymentServiceGrpc.PaymentServiceStub asyncStub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new PaymentGrpcService(processPaymentUseCase, new PaymentGrpcMapper(), new MerchantResolver("default")))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blockingStub = PaymentServiceGrpc.newBlockingStub(channel);
+        asyncStub = PaymentServiceGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldCreatePaymentAndMaskCardNumber() {
+        // given
+        doAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            payment.setId("payment123");
+            payment.setStatus(PaymentStatus.APPROVED);
+            return payment;
+        }).when(processPaymentUseCase).processPayment(any(Payment.class));
+
+        // when
+        var response = blockingStub.createPayment(creditCardRequest("order123"));
+
+        // then
+        var captor = ArgumentCaptor.forClass(Payment.class);
+        verify(processPaymentUseCase).processPayment(captor.capture());
+        assertEquals(Money.ofMinor(10000, "BRL"), captor.getValue().getAmount());
+        assertEquals("123", ((CreditCardDetails) captor.getValue().getPaymentDetails()).getCvv());
+        assertEquals("default", captor.getValue().getMerchantId());
+
+        assertEquals("payment123", response.getId());
+        assertEquals("default", response.getMerchantId());
+        assertEquals(com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentStatus.APPROVED, response.getStatus());
+        assertEquals("**** **** **** 1111", response.getCreditCard().getCardNumber());
+        assertEquals("", response.getCreditCard().getCvv());
+    }
+
+    @Test
+    void shouldReturnInvalidArgumentWhenValidationFails() {
+        // given
+        doThrow(new PaymentProcessingException("Card CVV must be specified"))
+                .when(processPaymentUseCase).processPayment(any(Payment.class));
+
+        // when
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createPayment(creditCardRequest("order123")));
+
+        // then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("Card CVV must be specified", exception.getStatus().getDescription());
+    }
+
+    @Test
+    void shouldNotExposeUnexpectedErrorDetails() {
+        // given
+        doThrow(new IllegalStateException("Timed out after 30000 ms while waiting for a server at mongo-0:27017"))
+                .when(processPaymentUseCase).processPayment(any(Payment.class));
+
+        // when
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createPayment(creditCardRequest("order123")));
+
+        // then
+        assertEquals(Status.Code.INTERNAL, exception.getStatus().getCode());
+        assertEquals("Internal error", exception.getStatus().getDescription());
+    }
+
+    @Test
+    void shouldKeepMinorUnitsOfAmountWithUnknownCurrency() {
+        // given
+        var captor = ArgumentCaptor.forClass(Payment.class);
+        doThrow(new PaymentProcessingException("Currency ABC is not a valid ISO 4217 code"))
+                .when(processPaymentUseCase).processPayment(captor.capture());
+        var request = creditCardRequest("order123").toBuilder()
+                .setAmount(com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Money.newBuilder()
+                        .setMinorUnits(10000)
+                        .setCurrency("ABC"))
+                .build();
+
+        // when
+        assertThrows(StatusRuntimeException.class, () -> blockingStub.createPayment(request));
+
+        // then
+        assertNull(captor.getValue().getAmount());
+        assertEquals(InvalidAmount.ofMinor(10000, "ABC"), captor.getValue().getInvalidAmount());
+        assertTrue(captor.getValue().getInvalidAmount().minorUnits());
+    }
+
+    @Test
+    void shouldReturnAbortedWhenPaymentForOrderIsInProgress() {
+        // given
+        doThrow(new PaymentInProgressException("order123"))
+                .when(processPaymentUseCase).processPayment(any(Payment.class));
+
+        // when
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createPayment(creditCardRequest("order123")));
+
+        // then
+        assertEquals(Status.Code.ABORTED, exception.getStatus().getCode());
+    }
+
+    @Test
+    void shouldReturnResourceExhaustedWhenMerchantExceedsQuota() {
+        // given
+        doThrow(new MerchantQuotaExceededException("merchant-1", "concurrency"))
+                .when(processPaymentUseCase).processPayment(argThat(payment -> "merchant-1".equals(payment.getMerchantId())));
+
+        // when
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createPayment(creditCardRequest("order123").toBuilder().setMerchantId("merchant-1").build()));
+
+        // then
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, exception.getStatus().getCode());
+        assertEquals("Merchant merchant-1 exceeded its concurrency quota", exception.getStatus().getDescription());
+    }
+
+    @Test
+    void shouldReturnInvalidArgumentForInvalidMerchantId() {
+        // when
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getPayment(GetPaymentRequest.newBuilder().setId("payment123").setMerchantId("../x").build()));
+
+        // then
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        verifyNoInteractions(processPaymentUseCase);
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenPaymentDoesNotExist() {
+        // given
+        doReturn(Optional.empty()).when(processPaymentUseCase).getPaymentById("default", "nonexistent");
+
+        // when
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getPayment(GetPaymentRequest.newBuilder().setId("nonexistent").build()));
+
+        // then
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+    }
+
+    @Test
+    void shouldAnswerEachBatchItemInOrderAndKeepStreamOpenOnErrors() throws Exception {
+        // given
+        doAnswer(invocation -> invocation.getArgument(0))
+                .when(processPaymentUseCase).processPayment(argThat(payment -> !"bad".equals(payment.getOrderId())));
+        doThrow(new PaymentProcessingException("Payment amount must be greater than zero"))
+                .when(processPaymentUseCase).processPayment(argThat(payment -> "bad".equals(payment.getOrderId())));
+        doThrow(new IllegalStateException("Command failed with error 11600: interrupted at shutdown"))
+                .when(processPaymentUseCase).processPayment(argThat(payment -> "broken".equals(payment.getOrderId())));
+
+        List<PaymentResult> results = new CopyOnWriteArrayList<>();
+        var completed = new CompletableFuture<Void>();
+
+        // when
+        var requests = asyncStub.submitPayments(new StreamObserver<>() {
+            @Override
+            public void onNext(PaymentResult result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.complete(null);
+            }
+        });
+        requests.onNext(creditCardRequest("order1"));
+        requests.onNext(creditCardRequest("bad"));
+        requests.onNext(creditCardRequest("broken"));
+        requests.onNext(creditCardRequest("order2"));
+        requests.onCompleted();
+        completed.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(List.of("order1", "bad", "broken", "order2"), results.stream().map(PaymentResult::getOrderId).toList());
+        assertTrue(results.get(0).hasPayment());
+        assertEquals("Payment amount must be greater than zero", results.get(1).getError());
+        assertEquals("Internal error", results.get(2).getError());
+        assertTrue(results.get(3).hasPayment());
+        verify(processPaymentUseCase, times(4)).processPayment(any(Payment.class));
+    }
+
+    private CreatePaymentRequest creditCardRequest(String orderId) {
+        return CreatePaymentRequest.newBuilder()
+                .setOrderId(orderId)
+                .setAmount(com.clickbait.payments.infrastructure.adapters.in.grpc.v1.Money.newBuilder()
+                        .setMinorUnits(10000)
+                        .setCurrency("BRL"))
+                .setPaymentMethod(com.clickbait.payments.infrastructure.adapters.in.grpc.v1.PaymentMethod.CREDIT_CARD)
+                .setCreditCard(com.clickbait.payments.infrastructure.adapters.in.grpc.v1.CreditCardDetails.newBuilder()
+                        .setCardNumber("4111111111111111")
+                        .setCardHolderName("John Doe")
+                        .setExpirationDate("12/25")
+                        .setCvv("123"))
+                .build();
+    }
+}
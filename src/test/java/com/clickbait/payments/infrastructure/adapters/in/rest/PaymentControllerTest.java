@@ -1,13 +1,17 @@
 package com.clickbait.payments.infrastructure.adapters.in.rest;
 
+import com.clickbait.payments.domain.exception.MerchantQuotaExceededException;
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
+import com.clickbait.payments.domain.exception.PaymentInProgressException;
 import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.exception.PaymentValidationException;
 import com.clickbait.payments.domain.model.*;
 import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
-import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentResponse;
+import com.clickbait.payments.domain.validation.Violation;
 import com.clickbait.payments.infrastructure.adapters.in.rest.dto.CreatePaymentRequest;
 import com.clickbait.payments.infrastructure.adapters.in.rest.dto.PaymentDetailsDTO;
 import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
-import com.clickbait.payments.infrastructure.adapters.in.rest.validator.PaymentDetailsValidator;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,14 +19,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.validation.Errors;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -30,6 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PaymentController.class)
+@Import(MerchantResolver.class)
 @ExtendWith(MockitoExtension.class)
 class PaymentControllerTest {
 
@@ -45,9 +52,6 @@ class PaymentControllerTest {
     @MockBean
     private PaymentMapper paymentMapper;
 
-    @MockBean
-    private PaymentDetailsValidator paymentDetailsValidator;
-
     @Test
     void shouldCreateCreditCardPayment() throws Exception {
         // given
@@ -67,16 +71,14 @@ class PaymentControllerTest {
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.APPROVED)
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        doNothing().when(paymentDetailsValidator).validate(any(PaymentDetailsDTO.class), any(Errors.class));
         doReturn(payment).when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
         doReturn(payment).when(processPaymentUseCase).processPayment(any(Payment.class));
-        doReturn(new PaymentResponse()).when(paymentMapper).toResponse(any(Payment.class));
 
         // when/then
         mockMvc.perform(post("/api/v1/payments")
@@ -99,18 +101,21 @@ class PaymentControllerTest {
         // Missing required card details
         request.setPaymentDetails(details);
 
-        doAnswer(invocation -> {
-                Errors errors = invocation.getArgument(1);
-                errors.reject("invalid.payment", "Invalid payment details");
-                return null;
-        }).when(paymentDetailsValidator).validate(any(PaymentDetailsDTO.class), any(Errors.class));
+        doReturn(new Payment()).when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
+        doThrow(new PaymentValidationException(List.of(
+                new Violation("paymentDetails.cardNumber", "Card number must be specified"),
+                new Violation("paymentDetails.cvv", "Card CVV must be specified"))))
+                .when(processPaymentUseCase).processPayment(any(Payment.class));
 
         // when/then
         mockMvc.perform(post("/api/v1/payments")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.message").exists());
+                .andExpect(jsonPath("$.message").value("Card number must be specified"))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[1].field").value("paymentDetails.cvv"))
+                .andExpect(jsonPath("$.errors[1].message").value("Card CVV must be specified"));
    }
 
     @Test
@@ -119,23 +124,76 @@ class PaymentControllerTest {
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.APPROVED)
                 .build();
 
-        doReturn(Optional.of(payment)).when(processPaymentUseCase).getPaymentById("payment123");
-        doReturn(new PaymentResponse()).when(paymentMapper).toResponse(any(Payment.class));
+        doReturn(Optional.of(payment)).when(processPaymentUseCase).getPaymentById("default", "payment123");
 
         // when/then
         mockMvc.perform(get("/api/v1/payments/payment123"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("payment123"))
+                .andExpect(jsonPath("$.amount").value(100.00))
+                .andExpect(jsonPath("$.currency").value("BRL"))
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.settlementAmount").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        // given
+        var payment = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(PaymentStatus.PENDING)
+                .updatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+                .build();
+        doReturn(Optional.of(payment)).when(processPaymentUseCase).getPaymentByOrderId("default", "order123");
+
+        String etag = mockMvc.perform(get("/api/v1/payments/order/order123"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when/then
+        mockMvc.perform(get("/api/v1/payments/order/order123").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnBodyWithNewETagWhenPaymentChanged() throws Exception {
+        // given
+        var payment = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(PaymentStatus.PENDING)
+                .updatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5))
+                .build();
+        doReturn(Optional.of(payment)).when(processPaymentUseCase).getPaymentById("default", "payment123");
+        String staleEtag = mockMvc.perform(get("/api/v1/payments/payment123"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        payment.setStatus(PaymentStatus.APPROVED);
+
+        // when/then
+        mockMvc.perform(get("/api/v1/payments/payment123").header("If-None-Match", staleEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(staleEtag)))
+                .andExpect(jsonPath("$.status").value("APPROVED"));
     }
 
     @Test
     void shouldReturnNotFoundWhenPaymentDoesNotExist() throws Exception {
         // given
-        doReturn(Optional.empty()).when(processPaymentUseCase).getPaymentById("nonexistent");
+        doReturn(Optional.empty()).when(processPaymentUseCase).getPaymentById("default", "nonexistent");
 
         // when/then
         mockMvc.perform(get("/api/v1/payments/nonexistent"))
@@ -158,7 +216,6 @@ class PaymentControllerTest {
         details.setCvv("123");
         request.setPaymentDetails(details);
 
-        doNothing().when(paymentDetailsValidator).validate(any(PaymentDetailsDTO.class), any(Errors.class));
         doThrow(new PaymentProcessingException("Invalid payment"))
                 .when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
 
@@ -169,4 +226,98 @@ class PaymentControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Invalid payment"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnConflictWhenPaymentForOrderIsInProgress() throws Exception {
+        // given
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order123");
+        request.setAmount(new BigDecimal("100.00"));
+        request.setPaymentMethod(PaymentMethod.PIX);
+
+        doReturn(new Payment()).when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
+        doThrow(new PaymentInProgressException("order123"))
+                .when(processPaymentUseCase).processPayment(any());
+
+        // when/then
+        mockMvc.perform(post("/api/v1/payments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("A payment for order order123 is already in progress"));
+    }
+
+    @Test
+    void shouldReturnConflictWhenOrderAlreadyHasPayment() throws Exception {
+        // given
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order123");
+        request.setAmount(new BigDecimal("100.00"));
+        request.setPaymentMethod(PaymentMethod.PIX);
+
+        doReturn(new Payment()).when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
+        doThrow(new PaymentAlreadyExistsException("order123", "payment123"))
+                .when(processPaymentUseCase).processPayment(any());
+
+        // when/then
+        mockMvc.perform(post("/api/v1/payments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Order order123 already has payment payment123"));
+    }
+
+    @Test
+    void shouldProcessPaymentForMerchantFromHeader() throws Exception {
+        // given
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order123");
+        request.setAmount(new BigDecimal("100.00"));
+        request.setPaymentMethod(PaymentMethod.PIX);
+
+        var payment = Payment.builder().id("payment123").orderId("order123").build();
+        doReturn(payment).when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
+        doReturn(payment).when(processPaymentUseCase).processPayment(any(Payment.class));
+
+        // when
+        mockMvc.perform(post("/api/v1/payments")
+                .header(MerchantResolver.HEADER, "merchant-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // then
+        verify(processPaymentUseCase).processPayment(argThat(p -> "merchant-1".equals(p.getMerchantId())));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidMerchantHeader() throws Exception {
+        // when/then
+        mockMvc.perform(get("/api/v1/payments/payment123").header(MerchantResolver.HEADER, "merchant 1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid merchant id"));
+        verifyNoInteractions(processPaymentUseCase);
+    }
+
+    @Test
+    void shouldReturnTooManyRequestsWhenMerchantExceedsQuota() throws Exception {
+        // given
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order123");
+        request.setAmount(new BigDecimal("100.00"));
+        request.setPaymentMethod(PaymentMethod.PIX);
+
+        doReturn(new Payment()).when(paymentMapper).toEntity(any(CreatePaymentRequest.class));
+        doThrow(new MerchantQuotaExceededException("merchant-1", "rate"))
+                .when(processPaymentUseCase).processPayment(any());
+
+        // when/then
+        mockMvc.perform(post("/api/v1/payments")
+                .header(MerchantResolver.HEADER, "merchant-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Merchant merchant-1 exceeded its rate quota"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest;
+
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.domain.ports.in.SearchPaymentsUseCase;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PaymentSearchController.class)
+@Import(MerchantResolver.class)
+class PaymentSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SearchPaymentsUseCase searchPaymentsUseCase;
+
+    @Test
+    void shouldSearchByCustomerDocument() throws Exception {
+        // given
+        doReturn(new PaymentPage(List.of(bankSlipPayment()), "payment123"))
+                .when(searchPaymentsUseCase).searchByCustomerDocument("default", "123.456.789-00", null, 20);
+
+        // when/then
+        mockMvc.perform(post("/api/v1/payments/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerDocument\": \"123.456.789-00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("payment123"))
+                .andExpect(jsonPath("$.items[0].paymentDetails.customerDocument").value("123.456.789-00"))
+                .andExpect(jsonPath("$.next").value("payment123"))
+                .andExpect(content().string(not(containsString("customerDocumentHash"))));
+    }
+
+    @Test
+    void shouldPassCursorAndLimitWhenSearchingByCard() throws Exception {
+        // given
+        doReturn(new PaymentPage(List.of(), null))
+                .when(searchPaymentsUseCase).searchByCardNumber("merchant-1", "4111111111111111", "payment123", 5);
+
+        // when/then
+        mockMvc.perform(post("/api/v1/payments/search")
+                        .header(MerchantResolver.HEADER, "merchant-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardNumber\": \"4111111111111111\", \"after\": \"payment123\", \"limit\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldRequireExactlyOneCriterion() throws Exception {
+        // when/then
+        mockMvc.perform(post("/api/v1/payments/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerDocument\": \"123.456.789-00\", \"cardNumber\": \"4111111111111111\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Exactly one of customerDocument or cardNumber must be specified"));
+        mockMvc.perform(post("/api/v1/payments/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(searchPaymentsUseCase);
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        // given
+        doThrow(new IllegalArgumentException("Invalid search cursor"))
+                .when(searchPaymentsUseCase).searchByCardNumber(any(), any(), any(), anyInt());
+
+        // when/then
+        mockMvc.perform(post("/api/v1/payments/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardNumber\": \"4111111111111111\", \"after\": \"x\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid search cursor"));
+    }
+
+    private Payment bankSlipPayment() {
+        var payment = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .status(PaymentStatus.PENDING)
+                .paymentDetails(BankSlipDetails.builder()
+                        .paymentMethod(PaymentMethod.BANK_SLIP)
+                        .customerDocument("123.456.789-00")
+                        .customerName("John Doe")
+                        .build())
+                .build();
+        payment.setCustomerDocumentHash("hash");
+        return payment;
+    }
+}
@@ -0,0 +1,199 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest;
+
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import com.clickbait.payments.domain.ports.in.ProcessPaymentUseCase;
+import com.clickbait.payments.infrastructure.adapters.in.rest.sse.PaymentStatusUpdate;
+import com.clickbait.payments.infrastructure.adapters.in.rest.sse.PaymentStreamRegistry;
+import com.clickbait.payments.infrastructure.tenancy.MerchantResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = PaymentStreamController.class, properties = "payments.sse.heartbeat-interval-ms=50")
+@Import({PaymentStreamRegistry.class, MerchantResolver.class, PaymentStreamControllerTest.Metrics.class})
+class PaymentStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PaymentStreamRegistry registry;
+
+    @MockBean
+    private ProcessPaymentUseCase processPaymentUseCase;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void shouldSendSnapshotThenStatusChangesAndCloseOnTerminalStatus() throws Exception {
+        // given
+        doReturn(Optional.of(pixPayment(PaymentStatus.PENDING))).when(processPaymentUseCase).getPaymentById("default", "payment123");
+        MvcResult result = mockMvc.perform(get("/api/v1/payments/payment123/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        registry.publish("default", new PaymentStatusUpdate("payment123", "order123", PaymentStatus.PENDING, LocalDateTime.now()));
+        registry.onEvent(PaymentStatusChangedEvent.builder()
+                .paymentId("payment123")
+                .merchantId("default")
+                .orderId("order123")
+                .occurredAt(LocalDateTime.now())
+                .previousStatus(PaymentStatus.PENDING)
+                .status(PaymentStatus.APPROVED)
+                .build());
+        result.getAsyncResult(5_000);
+
+        // then
+        String body = result.getResponse().getContentAsString();
+        int snapshot = body.indexOf("event:payment\ndata:{\"id\":\"payment123\"");
+        assertTrue(snapshot >= 0 && snapshot < body.indexOf("event:status"), body);
+        // O PENDING repetido não é reenviado
+        assertEquals(1, body.split("event:status", -1).length - 1, body);
+        assertTrue(body.contains("event:status\ndata:{\"paymentId\":\"payment123\",\"orderId\":\"order123\",\"status\":\"APPROVED\""), body);
+        assertEquals(0, registry.subscriberCount());
+    }
+
+    @Test
+    void shouldSendSnapshotBeforeTerminalUpdateThatRacesTheLookup() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            // A mudança chega depois do registro e antes de o snapshot ser entregue
+            registry.publish("default", new PaymentStatusUpdate("payment123", "order123", PaymentStatus.APPROVED, LocalDateTime.now()));
+            return Optional.of(pixPayment(PaymentStatus.PENDING));
+        }).when(processPaymentUseCase).getPaymentById("default", "payment123");
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/v1/payments/payment123/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+
+        // then
+        String body = result.getResponse().getContentAsString();
+        int snapshot = body.indexOf("event:payment\ndata:{\"id\":\"payment123\"");
+        assertTrue(snapshot >= 0 && snapshot < body.indexOf("\"status\":\"APPROVED\""), body);
+        assertEquals(0, registry.subscriberCount());
+    }
+
+    @Test
+    void shouldCloseImmediatelyWhenPaymentIsAlreadyFinal() throws Exception {
+        // given
+        doReturn(Optional.of(pixPayment(PaymentStatus.REJECTED))).when(processPaymentUseCase).getPaymentByOrderId("default", "order123");
+
+        // when
+        MvcResult result = mockMvc.perform(get("/api/v1/payments/order/order123/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+
+        // then
+        assertTrue(result.getResponse().getContentAsString().contains("\"status\":\"REJECTED\""));
+        assertEquals(0, registry.subscriberCount());
+    }
+
+    @Test
+    void shouldSendHeartbeatsWhileIdle() throws Exception {
+        // given
+        doReturn(Optional.of(pixPayment(PaymentStatus.PENDING))).when(processPaymentUseCase).getPaymentByOrderId("default", "order123");
+        MvcResult result = mockMvc.perform(get("/api/v1/payments/order/order123/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        Thread.sleep(300);
+        registry.publish("default", new PaymentStatusUpdate("payment123", "order123", PaymentStatus.APPROVED, LocalDateTime.now()));
+        result.getAsyncResult(5_000);
+
+        // then
+        assertTrue(result.getResponse().getContentAsString().contains(":heartbeat\n\n"));
+    }
+
+    @Test
+    void shouldNotDeliverUpdatesForSameOrderOfAnotherMerchant() throws Exception {
+        // given
+        var payment = pixPayment(PaymentStatus.PENDING);
+        payment.setId("payment456");
+        doReturn(Optional.of(payment)).when(processPaymentUseCase).getPaymentByOrderId("merchant-1", "order123");
+        MvcResult result = mockMvc.perform(get("/api/v1/payments/order/order123/stream")
+                        .header(MerchantResolver.HEADER, "merchant-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        registry.publish("merchant-2", new PaymentStatusUpdate("payment123", "order123", PaymentStatus.REJECTED, LocalDateTime.now()));
+        registry.publish("merchant-1", new PaymentStatusUpdate("payment456", "order123", PaymentStatus.APPROVED, LocalDateTime.now()));
+        result.getAsyncResult(5_000);
+
+        // then
+        String body = result.getResponse().getContentAsString();
+        assertFalse(body.contains("REJECTED"), body);
+        assertTrue(body.contains("\"status\":\"APPROVED\""), body);
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenPaymentDoesNotExist() throws Exception {
+        // given
+        doReturn(Optional.empty()).when(processPaymentUseCase).getPaymentById("default", "nonexistent");
+
+        // when/then
+        mockMvc.perform(get("/api/v1/payments/nonexistent/stream"))
+                .andExpect(status().isNotFound());
+        assertEquals(0, registry.subscriberCount());
+    }
+
+    @Test
+    void shouldUnregisterSubscriptionWhenLookupFails() {
+        // given
+        var failure = new IllegalStateException("lookup timed out");
+
+        // when
+        var thrown = assertThrows(IllegalStateException.class,
+                () -> registry.subscribeToPayment("payment123", () -> { throw failure; }));
+
+        // then
+        assertSame(failure, thrown);
+        assertEquals(0, registry.subscriberCount());
+    }
+
+    private Payment pixPayment(PaymentStatus status) {
+        return Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(status)
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("user@example.com")
+                        .pixKeyType("email")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.clickbait.payments.infrastructure.adapters.in.rest.json;
+
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentJsonSerializerTest {
+
+    // Mesma configuração relevante da aplicação (spring.jackson.default-property-inclusion=non_null)
+    private final ObjectMapper dtoMapper = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+    private final ObjectMapper streamingMapper = JsonMapper.builder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .addModule(new SimpleModule().addSerializer(new PaymentJsonSerializer()))
+            .build();
+    private final PaymentMapper paymentMapper = new PaymentMapper();
+
+    @Test
+    void shouldProduceSameJsonAsMapperForEveryPaymentMethod() throws Exception {
+        for (Payment payment : samples()) {
+            // when
+            String expected = dtoMapper.writeValueAsString(paymentMapper.toResponse(payment));
+            String actual = streamingMapper.writeValueAsString(payment);
+
+            // then
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldMaskCardNumberAndOmitCvv() throws Exception {
+        // given
+        var payment = samples().get(0);
+
+        // when
+        var json = streamingMapper.readTree(streamingMapper.writeValueAsString(payment));
+
+        // then
+        assertEquals("**** **** **** 1111", json.at("/paymentDetails/cardNumber").asText());
+        assertTrue(json.at("/paymentDetails/cvv").isMissingNode());
+    }
+
+    @Test
+    void shouldFormatAmountsLikeBigDecimal() throws Exception {
+        for (var money : List.of(Money.ofMinor(5, "BRL"), Money.ofMinor(-1234, "BRL"), Money.ofMinor(0, "BRL"),
+                Money.ofMinor(1500, "JPY"), Money.ofMinor(1, "KWD"), Money.ofMinor(Long.MIN_VALUE, "BRL"))) {
+            // given
+            var payment = new Payment();
+            payment.setAmount(money);
+
+            // when
+            var json = streamingMapper.writeValueAsString(payment);
+
+            // then
+            assertEquals("{\"amount\":" + money.toBigDecimal() + ",\"currency\":\"" + money.currency() + "\"}", json);
+        }
+    }
+
+    private static List<Payment> samples() {
+        var creditCard = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .status(PaymentStatus.APPROVED)
+                .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_000_000))
+                .updatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 6))
+                .paymentDetails(CreditCardDetails.builder()
+                        .paymentMethod(PaymentMethod.CREDIT_CARD)
+                        .cardNumber("4111111111111111")
+                        .cardHolderName("John \"JD\" Doe")
+                        .expirationDate("12/25")
+                        .cvv("123")
+                        .build())
+                .build();
+
+        var pix = Payment.builder()
+                .id("payment456")
+                .orderId("order456")
+                .amount(Money.of(new BigDecimal("99.90"), "USD"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(PaymentStatus.PENDING)
+                .createdAt(LocalDateTime.of(2025, 6, 30, 23, 59, 0, 1))
+                .updatedAt(LocalDateTime.of(2025, 6, 30, 23, 59, 0, 120_500_000))
+                .paymentDetails(PixDetails.builder()
+                        .paymentMethod(PaymentMethod.PIX)
+                        .pixKey("user@example.com")
+                        .pixKeyType("email")
+                        .build())
+                .build();
+        pix.setSettlementAmount(Money.of(new BigDecimal("541.46"), "BRL"));
+        pix.setFxRate(FxRate.of("USD", "BRL", new BigDecimal("5.42"), LocalDateTime.of(2025, 6, 30, 0, 0)));
+
+        var bankSlip = Payment.builder()
+                .id("payment789")
+                .orderId("order789")
+                .amount(Money.of(new BigDecimal("1500"), "JPY"))
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .status(PaymentStatus.REJECTED)
+                .createdAt(LocalDateTime.of(999, 12, 31, 0, 0))
+                .updatedAt(LocalDateTime.of(2025, 12, 31, 0, 0))
+                .paymentDetails(BankSlipDetails.builder()
+                        .paymentMethod(PaymentMethod.BANK_SLIP)
+                        .customerDocument("123.456.789-00")
+                        .customerName("Joana Silva")
+                        .barCode("34191.79001 01043.510047 91020.150008 1 91690026000")
+                        .dueDate(LocalDateTime.of(2025, 12, 31, 23, 59, 59))
+                        .build())
+                .build();
+
+        var shortCard = Payment.builder()
+                .orderId("order000")
+                .amount(Money.ofMinor(1, "BRL"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .paymentDetails(CreditCardDetails.builder()
+                        .paymentMethod(PaymentMethod.CREDIT_CARD)
+                        .cardNumber("411")
+                        .build())
+                .build();
+
+        return List.of(creditCard, pix, bankSlip, shortCard);
+    }
+}
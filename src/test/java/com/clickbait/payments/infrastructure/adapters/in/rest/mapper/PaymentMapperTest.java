@@ -36,7 +36,7 @@ class PaymentMapperTest {
         // then
         assertNotNull(payment);
         assertEquals("order123", payment.getOrderId());
-        assertEquals(new BigDecimal("100.00"), payment.getAmount());
+        assertEquals(Money.of(new BigDecimal("100.00"), "BRL"), payment.getAmount());
         assertEquals(PaymentMethod.CREDIT_CARD, payment.getPaymentMethod());
         assertTrue(payment.getPaymentDetails() instanceof CreditCardDetails);
         
@@ -45,6 +45,48 @@ class PaymentMapperTest {
         assertEquals("John Doe", creditCardDetails.getCardHolderName());
     }
 
+    @Test
+    void shouldMapRequestCurrencyAndKeepExcessPrecisionForValidation() {
+        // given
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order123");
+        request.setAmount(new BigDecimal("1500"));
+        request.setCurrency("JPY");
+        request.setPaymentMethod(PaymentMethod.PIX);
+
+        // when
+        var payment = mapper.toEntity(request);
+
+        // then
+        assertEquals(Money.ofMinor(1500, "JPY"), payment.getAmount());
+
+        request.setAmount(new BigDecimal("1500.5"));
+        var invalid = mapper.toEntity(request);
+        assertNull(invalid.getAmount());
+        assertEquals(new InvalidAmount(new BigDecimal("1500.5"), "JPY"), invalid.getInvalidAmount());
+    }
+
+    @Test
+    void shouldKeepMissingDetailsPaymentMethodForValidation() {
+        // given
+        var details = new PaymentDetailsDTO();
+        details.setPixKey("test@email.com");
+        details.setPixKeyType("EMAIL");
+
+        var request = new CreatePaymentRequest();
+        request.setOrderId("order123");
+        request.setAmount(new BigDecimal("100.00"));
+        request.setPaymentMethod(PaymentMethod.PIX);
+        request.setPaymentDetails(details);
+
+        // when
+        var payment = mapper.toEntity(request);
+
+        // then
+        assertTrue(payment.getPaymentDetails() instanceof PixDetails);
+        assertNull(payment.getPaymentDetails().getPaymentMethod());
+    }
+
     @Test
     void shouldMapPaymentEntityToPaymentResponse() {
         // given
@@ -59,7 +101,7 @@ class PaymentMapperTest {
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.APPROVED)
                 .paymentDetails(creditCardDetails)
@@ -75,6 +117,7 @@ class PaymentMapperTest {
         assertEquals("payment123", response.getId());
         assertEquals("order123", response.getOrderId());
         assertEquals(new BigDecimal("100.00"), response.getAmount());
+        assertEquals("BRL", response.getCurrency());
         assertEquals(PaymentMethod.CREDIT_CARD, response.getPaymentMethod());
         assertEquals("APPROVED", response.getStatus());
         
@@ -97,7 +140,7 @@ class PaymentMapperTest {
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(details)
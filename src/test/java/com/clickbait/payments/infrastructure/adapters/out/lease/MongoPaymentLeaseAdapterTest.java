@@ -0,0 +1,118 @@
+package com.clickbait.payments.infrastructure.adapters.out.lease;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MongoPaymentLeaseAdapterTest {
+
+    private static final String MERCHANT = "merchant-1";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MongoPaymentLeaseAdapter adapter = new MongoPaymentLeaseAdapter(mongoTemplate, 30_000);
+
+    @Test
+    void shouldClaimExpiredOrMissingLeaseWithUpsert() {
+        // given
+        var query = ArgumentCaptor.forClass(Query.class);
+        var update = ArgumentCaptor.forClass(Update.class);
+        var options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+
+        // when
+        boolean acquired = adapter.tryAcquire(MERCHANT, "order123");
+
+        // then
+        assertTrue(acquired);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(PaymentLease.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("merchant-1:order123", filter.get("_id"));
+        assertInstanceOf(Instant.class, ((Document) filter.get("expiresAt")).get("$lt"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(adapter.owner(), set.get("owner"));
+        assertTrue(options.getValue().isUpsert());
+    }
+
+    @Test
+    void shouldRejectWhenAnotherInstanceHoldsTheLease() {
+        // given
+        doThrow(new DuplicateKeyException("E11000 duplicate key error"))
+                .when(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PaymentLease.class));
+
+        // when
+        boolean first = adapter.tryAcquire(MERCHANT, "order123");
+        boolean second = adapter.tryAcquire(MERCHANT, "order123");
+
+        // then
+        assertFalse(first);
+        assertFalse(second);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PaymentLease.class));
+    }
+
+    @Test
+    void shouldRejectConcurrentAttemptOnSameInstanceWithoutCallingMongo() {
+        // given
+        adapter.tryAcquire(MERCHANT, "order123");
+
+        // when
+        boolean acquired = adapter.tryAcquire(MERCHANT, "order123");
+
+        // then
+        assertFalse(acquired);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PaymentLease.class));
+    }
+
+    @Test
+    void shouldKeepLeasesOfDifferentMerchantsApart() {
+        // given
+        adapter.tryAcquire(MERCHANT, "order123");
+
+        // when
+        boolean acquired = adapter.tryAcquire("merchant-2", "order123");
+
+        // then
+        assertTrue(acquired);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PaymentLease.class));
+    }
+
+    @Test
+    void shouldReleaseOwnLeaseAndAllowNextAttempt() {
+        // given
+        adapter.tryAcquire(MERCHANT, "order123");
+        var query = ArgumentCaptor.forClass(Query.class);
+
+        // when
+        adapter.release(MERCHANT, "order123");
+
+        // then
+        verify(mongoTemplate).remove(query.capture(), eq(PaymentLease.class));
+        assertEquals(adapter.owner(), query.getValue().getQueryObject().get("owner"));
+        assertTrue(adapter.tryAcquire(MERCHANT, "order123"));
+    }
+
+    @Test
+    void shouldNotFailReleaseWhenMongoIsUnavailable() {
+        // given
+        adapter.tryAcquire(MERCHANT, "order123");
+        doThrow(new DataAccessResourceFailureException("Timed out"))
+                .when(mongoTemplate).remove(any(Query.class), eq(PaymentLease.class));
+
+        // when
+        assertDoesNotThrow(() -> adapter.release(MERCHANT, "order123"));
+
+        // then
+        assertTrue(adapter.tryAcquire(MERCHANT, "order123"));
+    }
+}
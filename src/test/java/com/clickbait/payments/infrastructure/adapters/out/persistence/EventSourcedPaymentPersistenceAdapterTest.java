@@ -0,0 +1,218 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.exception.PaymentProcessingException;
+import com.clickbait.payments.domain.model.*;
+import com.clickbait.payments.domain.model.event.PaymentCreatedEvent;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSourcedPaymentPersistenceAdapterTest {
+
+    private static final String MERCHANT = "merchant-1";
+
+    @Mock
+    private PaymentEventRepository eventRepository;
+
+    @Mock
+    private PaymentSnapshotRepository snapshotRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<PaymentEvent>> eventsCaptor;
+
+    private EventSourcedPaymentPersistenceAdapter persistenceAdapter;
+
+    @BeforeEach
+    void setUp() {
+        persistenceAdapter = new EventSourcedPaymentPersistenceAdapter(eventRepository, snapshotRepository, mongoTemplate, 2);
+    }
+
+    @Test
+    void shouldAppendCreatedEventForNewPayment() {
+        // given
+        var payment = createPixPayment();
+
+        // when
+        var saved = persistenceAdapter.savePayment(payment);
+
+        // then
+        assertNotNull(saved.getId());
+        assertEquals(PaymentStatus.APPROVED, saved.getStatus());
+        verify(eventRepository).insert(eventsCaptor.capture());
+        assertEquals(1, eventsCaptor.getValue().size());
+        assertInstanceOf(PaymentCreatedEvent.class, eventsCaptor.getValue().get(0));
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldTakeSnapshotWhenIntervalIsReached() {
+        // given
+        when(snapshotRepository.findById("payment123")).thenReturn(Optional.empty());
+        when(eventRepository.findByPaymentIdAndSequenceGreaterThanOrderBySequenceAsc("payment123", 0))
+                .thenReturn(List.of(createdEvent()));
+        var payment = createPixPayment();
+        payment.setId("payment123");
+        payment.setStatus(PaymentStatus.REJECTED);
+
+        // when
+        var saved = persistenceAdapter.savePayment(payment);
+
+        // then
+        assertEquals(PaymentStatus.REJECTED, saved.getStatus());
+        verify(eventRepository).insert(eventsCaptor.capture());
+        assertInstanceOf(PaymentStatusChangedEvent.class, eventsCaptor.getValue().get(0));
+        verify(snapshotRepository).save(argThat(snapshot -> snapshot.getVersion() == 2
+                && snapshot.getState().getStatus() == PaymentStatus.REJECTED));
+    }
+
+    @Test
+    void shouldRebuildPaymentFromSnapshotAndTail() {
+        // given
+        var snapshotState = createPixPayment();
+        snapshotState.setId("payment123");
+        when(snapshotRepository.findById("payment123"))
+                .thenReturn(Optional.of(new PaymentSnapshot("payment123", 1, snapshotState, LocalDateTime.now())));
+        when(eventRepository.findByPaymentIdAndSequenceGreaterThanOrderBySequenceAsc("payment123", 1))
+                .thenReturn(List.of(PaymentStatusChangedEvent.builder()
+                        .paymentId("payment123")
+                        .sequence(2)
+                        .occurredAt(LocalDateTime.now())
+                        .previousStatus(PaymentStatus.APPROVED)
+                        .status(PaymentStatus.REJECTED)
+                        .build()));
+
+        // when
+        var found = persistenceAdapter.findById(MERCHANT, "payment123");
+
+        // then
+        assertTrue(found.isPresent());
+        assertEquals(PaymentStatus.REJECTED, found.get().getStatus());
+    }
+
+    @Test
+    void shouldNotReturnPaymentOfAnotherMerchant() {
+        // given
+        when(snapshotRepository.findById("payment123")).thenReturn(Optional.empty());
+        when(eventRepository.findByPaymentIdAndSequenceGreaterThanOrderBySequenceAsc("payment123", 0))
+                .thenReturn(List.of(createdEvent()));
+
+        // when
+        var found = persistenceAdapter.findById("merchant-2", "payment123");
+
+        // then
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenPaymentHasNoEvents() {
+        // given
+        when(snapshotRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(eventRepository.findByPaymentIdAndSequenceGreaterThanOrderBySequenceAsc("nonexistent", 0))
+                .thenReturn(List.of());
+
+        // when
+        var result = persistenceAdapter.findById(MERCHANT, "nonexistent");
+
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void shouldRebuildSearchPageWithoutLoadingEachPayment() {
+        // given
+        var snapshotState = createPixPayment();
+        snapshotState.setId("payment456");
+        when(mongoTemplate.find(any(Query.class), eq(PaymentCreatedEvent.class))).thenReturn(List.of(
+                PaymentCreatedEvent.builder().paymentId("payment456").build(),
+                PaymentCreatedEvent.builder().paymentId("payment123").build()));
+        when(snapshotRepository.findAllById(List.of("payment456", "payment123")))
+                .thenReturn(List.of(new PaymentSnapshot("payment456", 1, snapshotState, LocalDateTime.now())));
+        when(mongoTemplate.find(any(Query.class), eq(PaymentEvent.class))).thenReturn(List.of(
+                createdEvent(),
+                PaymentStatusChangedEvent.builder()
+                        .paymentId("payment456")
+                        .sequence(2)
+                        .occurredAt(LocalDateTime.now())
+                        .previousStatus(PaymentStatus.APPROVED)
+                        .status(PaymentStatus.REJECTED)
+                        .build()));
+
+        // when
+        var page = persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CARD_FINGERPRINT, "hash", null, 10);
+
+        // then
+        assertEquals(List.of("payment456", "payment123"), page.stream().map(Payment::getId).toList());
+        assertEquals(PaymentStatus.REJECTED, page.get(0).getStatus());
+        assertEquals(PaymentStatus.APPROVED, page.get(1).getStatus());
+        verify(snapshotRepository, never()).findById(any());
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void shouldFailOnConcurrentModification() {
+        // given
+        when(eventRepository.insert(anyList())).thenThrow(new DuplicateKeyException("duplicate"));
+
+        // when/then
+        assertThrows(PaymentProcessingException.class, () -> persistenceAdapter.savePayment(createPixPayment()));
+    }
+
+    private PaymentEvent createdEvent() {
+        var payment = createPixPayment();
+        return PaymentCreatedEvent.builder()
+                .paymentId("payment123")
+                .merchantId(MERCHANT)
+                .orderId(payment.getOrderId())
+                .sequence(1)
+                .occurredAt(payment.getCreatedAt())
+                .amount(payment.getAmount())
+                .paymentMethod(payment.getPaymentMethod())
+                .status(payment.getStatus())
+                .paymentDetails(payment.getPaymentDetails())
+                .createdAt(payment.getCreatedAt())
+                .build();
+    }
+
+    private Payment createPixPayment() {
+        var details = PixDetails.builder()
+                .paymentMethod(PaymentMethod.PIX)
+                .pixKey("test@email.com")
+                .pixKeyType("EMAIL")
+                .build();
+
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(PaymentStatus.APPROVED)
+                .paymentDetails(details)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+        payment.setMerchantId(MERCHANT);
+        return payment;
+    }
+}
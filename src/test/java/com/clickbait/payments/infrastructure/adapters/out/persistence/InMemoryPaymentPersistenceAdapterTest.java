@@ -0,0 +1,127 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import com.clickbait.payments.domain.model.PaymentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryPaymentPersistenceAdapterTest {
+
+    private static final String MERCHANT = "merchant-1";
+
+    private final InMemoryPaymentPersistenceAdapter persistenceAdapter = new InMemoryPaymentPersistenceAdapter(3);
+
+    @Test
+    void shouldAssignIdAndFindByIdAndOrderId() {
+        // given
+        var payment = payment("order1", null);
+
+        // when
+        var saved = persistenceAdapter.savePayment(payment);
+
+        // then
+        assertNotNull(saved.getId());
+        assertSame(saved, persistenceAdapter.findById(MERCHANT, saved.getId()).orElseThrow());
+        assertSame(saved, persistenceAdapter.findByOrderId(MERCHANT, "order1").orElseThrow());
+    }
+
+    @Test
+    void shouldFindLatestAttemptOfTheOrder() {
+        // given
+        var rejected = payment("order1", null);
+        rejected.setStatus(PaymentStatus.REJECTED);
+        persistenceAdapter.savePayment(rejected);
+
+        // when
+        var retry = persistenceAdapter.savePayment(payment("order1", null));
+
+        // then
+        assertSame(retry, persistenceAdapter.findByOrderId(MERCHANT, "order1").orElseThrow());
+    }
+
+    @Test
+    void shouldNotReturnPaymentsOfAnotherMerchant() {
+        // given
+        var own = persistenceAdapter.savePayment(payment("order1", "hash"));
+        var other = payment("order1", "hash");
+        other.setMerchantId("merchant-2");
+        persistenceAdapter.savePayment(other);
+
+        // then
+        assertSame(own, persistenceAdapter.findByOrderId(MERCHANT, "order1").orElseThrow());
+        assertSame(other, persistenceAdapter.findByOrderId("merchant-2", "order1").orElseThrow());
+        assertTrue(persistenceAdapter.findById("merchant-2", own.getId()).isEmpty());
+        assertEquals(List.of(own), persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", null, 10));
+    }
+
+    @Test
+    void shouldPageLookupKeyNewestFirst() {
+        // given
+        var first = persistenceAdapter.savePayment(payment("order1", "hash"));
+        var second = persistenceAdapter.savePayment(payment("order2", "hash"));
+        var third = persistenceAdapter.savePayment(payment("order3", "hash"));
+
+        // when
+        var page = persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", null, 2);
+        var next = persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", second.getId(), 2);
+
+        // then
+        assertEquals(List.of(third, second), page);
+        assertEquals(List.of(first), next);
+        assertTrue(persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CARD_FINGERPRINT, "hash", null, 2).isEmpty());
+    }
+
+    @Test
+    void shouldEvictOldestPaymentsBeyondMaxSize() {
+        // given
+        var oldest = persistenceAdapter.savePayment(payment("order1", "hash"));
+        for (int i = 2; i <= 4; i++) {
+            persistenceAdapter.savePayment(payment("order" + i, "hash"));
+        }
+
+        // then
+        assertEquals(3, persistenceAdapter.size());
+        assertTrue(persistenceAdapter.findById(MERCHANT, oldest.getId()).isEmpty());
+        assertTrue(persistenceAdapter.findByOrderId(MERCHANT, "order1").isEmpty());
+        assertEquals(3, persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", null, 10).size());
+    }
+
+    @Test
+    void shouldNotDuplicateOnUpdate() {
+        // given
+        var saved = persistenceAdapter.savePayment(payment("order1", "hash"));
+
+        // when
+        saved.setStatus(PaymentStatus.APPROVED);
+        persistenceAdapter.savePayment(saved);
+
+        // then
+        assertEquals(1, persistenceAdapter.size());
+        assertEquals(1, persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", null, 10).size());
+    }
+
+    @Test
+    void shouldRejectInvalidSearchCursor() {
+        // when/then
+        assertThrows(IllegalArgumentException.class,
+                () -> persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", "x", 10));
+    }
+
+    private Payment payment(String orderId, String customerDocumentHash) {
+        var payment = Payment.builder()
+                .orderId(orderId)
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.BANK_SLIP)
+                .build();
+        payment.setMerchantId(MERCHANT);
+        payment.setCustomerDocumentHash(customerDocumentHash);
+        return payment;
+    }
+}
@@ -48,12 +48,13 @@ class MongoPaymentPersistenceAdapterIntegrationTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.APPROVED)
                 .paymentDetails(creditCardDetails)
                 .createdAt(LocalDateTime.now())
                 .build();
+        payment.setMerchantId("merchant-1");
 
         // when
         var savedPayment = persistenceAdapter.savePayment(payment);
@@ -62,7 +63,7 @@ class MongoPaymentPersistenceAdapterIntegrationTest {
         assertNotNull(savedPayment.getId());
 
         // when
-        var retrievedPayment = persistenceAdapter.findById(savedPayment.getId());
+        var retrievedPayment = persistenceAdapter.findById("merchant-1", savedPayment.getId());
 
         // then
         assertTrue(retrievedPayment.isPresent());
@@ -82,16 +83,17 @@ class MongoPaymentPersistenceAdapterIntegrationTest {
         // given
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .status(PaymentStatus.APPROVED)
                 .createdAt(LocalDateTime.now())
                 .build();
+        payment.setMerchantId("merchant-1");
 
         persistenceAdapter.savePayment(payment);
 
         // when
-        var found = persistenceAdapter.findByOrderId("order123");
+        var found = persistenceAdapter.findByOrderId("merchant-1", "order123");
 
         // then
         assertTrue(found.isPresent());
@@ -130,7 +132,7 @@ class MongoPaymentPersistenceAdapterIntegrationTest {
 
         return Payment.builder()
                 .orderId("cc_order")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.APPROVED)
                 .paymentDetails(details)
@@ -147,7 +149,7 @@ class MongoPaymentPersistenceAdapterIntegrationTest {
 
         return Payment.builder()
                 .orderId("pix_order")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .status(PaymentStatus.APPROVED)
                 .paymentDetails(details)
@@ -165,7 +167,7 @@ class MongoPaymentPersistenceAdapterIntegrationTest {
 
         return Payment.builder()
                 .orderId("bankslip_order")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.BANK_SLIP)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(details)
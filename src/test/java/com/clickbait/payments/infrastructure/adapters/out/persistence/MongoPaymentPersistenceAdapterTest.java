@@ -1,15 +1,29 @@
 package com.clickbait.payments.infrastructure.adapters.out.persistence;
 
+import com.clickbait.payments.domain.exception.PaymentAlreadyExistsException;
+import com.clickbait.payments.domain.model.Money;
 import com.clickbait.payments.domain.model.Payment;
+import com.clickbait.payments.domain.model.PaymentLookupKey;
 import com.clickbait.payments.domain.model.PaymentMethod;
 import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.model.event.PaymentEventType;
+import com.clickbait.payments.infrastructure.partition.PaymentPartitions;
+import com.clickbait.payments.infrastructure.tracing.OutboxTraceContext;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,9 +33,23 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class MongoPaymentPersistenceAdapterTest {
 
+    private static final String MERCHANT = "merchant-1";
+
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private OutboxTraceContext outboxTraceContext;
+
+    @Spy
+    private PaymentPartitions paymentPartitions = new PaymentPartitions(16);
+
     @InjectMocks
     private MongoPaymentPersistenceAdapter persistenceAdapter;
 
@@ -30,7 +58,7 @@ class MongoPaymentPersistenceAdapterTest {
         // given
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .status(PaymentStatus.APPROVED)
                 .build();
 
@@ -44,20 +72,69 @@ class MongoPaymentPersistenceAdapterTest {
         verify(paymentRepository).save(payment);
     }
 
+    @Test
+    void shouldReportConflictWhenOrderAlreadyHasActivePayment() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .status(PaymentStatus.APPROVED)
+                .build();
+        when(paymentRepository.save(any(Payment.class))).thenThrow(new DuplicateKeyException("merchant_order_active"));
+
+        // when
+        var exception = assertThrows(PaymentAlreadyExistsException.class, () -> persistenceAdapter.savePayment(payment));
+
+        // then
+        assertEquals("Order order123 already has an approved or pending payment", exception.getMessage());
+        verifyNoInteractions(outboxMessageRepository);
+    }
+
+    @Test
+    void shouldWriteCreatedEventToOutboxWhenSavingNewPayment() {
+        // given
+        var payment = Payment.builder()
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(PaymentStatus.APPROVED)
+                .build();
+        var saved = Payment.builder()
+                .id("payment123")
+                .orderId("order123")
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
+                .paymentMethod(PaymentMethod.PIX)
+                .status(PaymentStatus.APPROVED)
+                .build();
+
+        when(paymentRepository.save(any(Payment.class))).thenReturn(saved);
+
+        // when
+        persistenceAdapter.savePayment(payment);
+
+        // then
+        verify(outboxMessageRepository).insert(argThat((OutboxMessage message) ->
+                message.getEventType() == PaymentEventType.PAYMENT_CREATED
+                        && "payment123".equals(message.getPaymentId())
+                        && "order123".equals(message.getOrderId())
+                        && message.getPartition() == Math.floorMod("order123".hashCode(), 16)
+                        && message.getDeliveredAt() == null));
+    }
+
     @Test
     void shouldFindPaymentById() {
         // given
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .status(PaymentStatus.APPROVED)
                 .build();
 
-        when(paymentRepository.findById("payment123")).thenReturn(Optional.of(payment));
+        when(paymentRepository.findByIdAndMerchantId("payment123", MERCHANT)).thenReturn(Optional.of(payment));
 
         // when
-        var found = persistenceAdapter.findById("payment123");
+        var found = persistenceAdapter.findById(MERCHANT, "payment123");
 
         // then
         assertTrue(found.isPresent());
@@ -67,10 +144,10 @@ class MongoPaymentPersistenceAdapterTest {
     @Test
     void shouldReturnEmptyWhenPaymentNotFound() {
         // given
-        when(paymentRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(paymentRepository.findByIdAndMerchantId("nonexistent", MERCHANT)).thenReturn(Optional.empty());
 
         // when
-        var result = persistenceAdapter.findById("nonexistent");
+        var result = persistenceAdapter.findById(MERCHANT, "nonexistent");
 
         // then
         assertTrue(result.isEmpty());
@@ -82,17 +159,44 @@ class MongoPaymentPersistenceAdapterTest {
         var payment = Payment.builder()
                 .id("payment123")
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .status(PaymentStatus.APPROVED)
                 .build();
 
-        when(paymentRepository.findByOrderId("order123")).thenReturn(Optional.of(payment));
+        when(paymentRepository.findFirstByMerchantIdAndOrderIdOrderByIdDesc(MERCHANT, "order123")).thenReturn(Optional.of(payment));
 
         // when
-        var found = persistenceAdapter.findByOrderId("order123");
+        var found = persistenceAdapter.findByOrderId(MERCHANT, "order123");
 
         // then
         assertTrue(found.isPresent());
         assertEquals("order123", found.get().getOrderId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSearchLookupKeyFromCursorNewestFirst() {
+        // given
+        var cursor = new ObjectId().toHexString();
+        var query = ArgumentCaptor.forClass(Query.class);
+        doReturn(List.of()).when(mongoTemplate).find(any(Query.class), eq(Payment.class));
+
+        // when
+        persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CUSTOMER_DOCUMENT, "hash", cursor, 21);
+
+        // then
+        verify(mongoTemplate).find(query.capture(), eq(Payment.class));
+        assertEquals(new Document("merchantId", MERCHANT)
+                .append("customerDocumentHash", "hash")
+                .append("_id", new Document("$lt", new ObjectId(cursor))), query.getValue().getQueryObject());
+        assertEquals(new Document("_id", -1), query.getValue().getSortObject());
+        assertEquals(21, query.getValue().getLimit());
+    }
+
+    @Test
+    void shouldRejectInvalidSearchCursor() {
+        // when/then
+        assertThrows(IllegalArgumentException.class,
+                () -> persistenceAdapter.findByLookupKey(MERCHANT, PaymentLookupKey.CARD_FINGERPRINT, "hash", "not-a-cursor", 20));
+        verifyNoInteractions(mongoTemplate);
+    }
+}
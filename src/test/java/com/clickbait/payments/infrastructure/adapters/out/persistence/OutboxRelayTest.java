@@ -0,0 +1,143 @@
+package com.clickbait.payments.infrastructure.adapters.out.persistence;
+
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import com.clickbait.payments.domain.ports.out.PaymentEventPublisher;
+import com.clickbait.payments.infrastructure.partition.PartitionOwnership;
+import com.clickbait.payments.infrastructure.tracing.OutboxTraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PartitionOwnership partitionOwnership;
+
+    private final List<PaymentEvent> published = new ArrayList<>();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        PaymentEventPublisher publisher = event -> {
+            if ("broken".equals(event.getPaymentId())) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            published.add(event);
+        };
+        relay = new OutboxRelay(mongoTemplate, publisher, new OutboxTraceContext(Tracer.NOOP, Propagator.NOOP),
+                partitionOwnership, 10);
+    }
+
+    @Test
+    void shouldPublishEachOrderInSequenceAndMarkDeliveredInBulk() {
+        // given
+        var batch = List.of(
+                message("m1", "order1", "p1"),
+                message("m2", "order2", "p2"),
+                message("m3", "order1", "p3"));
+
+        // when
+        int delivered = relay.publish(batch);
+
+        // then
+        assertEquals(3, delivered);
+        assertEquals(List.of("p1", "p3", "p2"), published.stream().map(PaymentEvent::getPaymentId).toList());
+        verify(mongoTemplate, times(1)).updateMulti(any(Query.class), any(Update.class), eq(OutboxMessage.class));
+    }
+
+    @Test
+    void shouldHoldRemainingMessagesOfOrderWhenPublishFails() {
+        // given
+        var batch = List.of(
+                message("m1", "order1", "broken"),
+                message("m2", "order1", "p2"),
+                message("m3", "order2", "p3"));
+
+        // when
+        int delivered = relay.publish(batch);
+
+        // then
+        assertEquals(1, delivered);
+        assertEquals(List.of("p3"), published.stream().map(PaymentEvent::getPaymentId).toList());
+    }
+
+    @Test
+    void shouldNotUpdateWhenBatchIsEmpty() {
+        // when
+        int delivered = relay.publish(List.of());
+
+        // then
+        assertEquals(0, delivered);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldSkipRelayWhenNoPartitionIsOwned() {
+        // given
+        doReturn(Set.of()).when(partitionOwnership).ownedPartitions();
+
+        // when
+        relay.relay();
+
+        // then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldFetchOnlyOwnedPartitionsAndUnpartitionedMessagesWithPartitionZero() {
+        // given
+        var query = ArgumentCaptor.forClass(Query.class);
+
+        // when
+        relay.fetchPending(Set.of(0, 3));
+        relay.fetchPending(Set.of(5));
+
+        // then
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(OutboxMessage.class));
+        assertEquals(Set.of(0, 3), partitionsOf(query.getAllValues().get(0), true));
+        assertEquals(Set.of(5), partitionsOf(query.getAllValues().get(1), false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Object> partitionsOf(Query query, boolean includesNull) {
+        var values = new ArrayList<>((Collection<Object>) ((Document) query.getQueryObject().get("partition")).get("$in"));
+        assertEquals(includesNull, values.remove(null));
+        return Set.copyOf(values);
+    }
+
+    private OutboxMessage message(String id, String orderId, String paymentId) {
+        var message = OutboxMessage.of(PaymentStatusChangedEvent.builder()
+                .paymentId(paymentId)
+                .orderId(orderId)
+                .status(PaymentStatus.APPROVED)
+                .build());
+        message.setId(id);
+        return message;
+    }
+}
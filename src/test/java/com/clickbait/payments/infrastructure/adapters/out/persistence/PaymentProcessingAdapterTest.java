@@ -31,7 +31,7 @@ class PaymentProcessingAdapterTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(creditCardDetails)
@@ -60,7 +60,7 @@ class PaymentProcessingAdapterTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(pixDetails)
@@ -87,7 +87,7 @@ class PaymentProcessingAdapterTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.BANK_SLIP)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(bankSlipDetails)
@@ -108,7 +108,7 @@ class PaymentProcessingAdapterTest {
         // given
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.PIX)
                 .status(PaymentStatus.PENDING)
                 .createdAt(LocalDateTime.now())
@@ -130,7 +130,7 @@ class PaymentProcessingAdapterTest {
 
         var payment = Payment.builder()
                 .orderId("order123")
-                .amount(new BigDecimal("100.00"))
+                .amount(Money.of(new BigDecimal("100.00"), "BRL"))
                 .paymentMethod(PaymentMethod.CREDIT_CARD)
                 .status(PaymentStatus.PENDING)
                 .paymentDetails(creditCardDetails)
@@ -0,0 +1,44 @@
+package com.clickbait.payments.infrastructure.config;
+
+import com.clickbait.payments.domain.model.BankSlipDetails;
+import com.clickbait.payments.domain.model.CreditCardDetails;
+import com.clickbait.payments.domain.model.Money;
+import com.clickbait.payments.domain.model.PixDetails;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import com.clickbait.payments.infrastructure.adapters.in.rest.sse.PaymentStatusUpdate;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void shouldRegisterEveryPaymentDetailsSubtypeForMongoInstantiation() throws Exception {
+        // when
+        new NativeConfig.PaymentRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then
+        for (Class<?> type : new Class<?>[]{CreditCardDetails.class, PixDetails.class, BankSlipDetails.class, PaymentStatusChangedEvent.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategories(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+                    .test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(PixDetails.class.getMethod("getPixKey")).test(hints));
+    }
+
+    @Test
+    void shouldRegisterJsonBindingsAndFxRatesResource() throws Exception {
+        // when
+        new NativeConfig.PaymentRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // then
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(PaymentStatusUpdate.class.getMethod("status")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Money.class.getMethod("currency")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("fx-rates.csv").test(hints));
+    }
+}
@@ -0,0 +1,51 @@
+package com.clickbait.payments.infrastructure.crac;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RestorableMongoClientTest {
+
+    @Test
+    void shouldCloseOnCheckpointAndDelegateToNewClientAfterRestore() {
+        // given
+        var first = mock(MongoClient.class);
+        var second = mock(MongoClient.class);
+        var restored = mock(MongoDatabase.class);
+        doReturn(restored).when(second).getDatabase("payments_db");
+        var clients = new ArrayDeque<>(List.of(first, second));
+        var restorable = new RestorableMongoClient(clients::poll);
+
+        // when
+        restorable.beforeCheckpoint(null);
+        restorable.afterRestore(null);
+        var database = restorable.client().getDatabase("payments_db");
+
+        // then
+        verify(first).close();
+        verify(first, never()).getDatabase(anyString());
+        assertSame(restored, database);
+    }
+
+    @Test
+    void shouldKeepProxyIdentityAcrossRestore() {
+        // given
+        var restorable = new RestorableMongoClient(() -> mock(MongoClient.class));
+        var client = restorable.client();
+
+        // when
+        restorable.beforeCheckpoint(null);
+        restorable.afterRestore(null);
+
+        // then
+        assertSame(client, restorable.client());
+        assertEquals(client, client);
+        assertTrue(client.toString().startsWith("RestorableMongoClient["));
+    }
+}
@@ -0,0 +1,184 @@
+package com.clickbait.payments.infrastructure.eventbus;
+
+import com.clickbait.payments.domain.model.PaymentStatus;
+import com.clickbait.payments.domain.model.event.PaymentEvent;
+import com.clickbait.payments.domain.model.event.PaymentStatusChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferPaymentEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RingBufferPaymentEventBus eventBus;
+
+    @AfterEach
+    void tearDown() {
+        if (eventBus != null) {
+            eventBus.stop();
+        }
+    }
+
+    @Test
+    void shouldDeliverEventsInOrderToEveryGroup() throws InterruptedException {
+        // given
+        var metrics = new RecordingHandler("metrics", 1_000);
+        var webhooks = new RecordingHandler("webhooks", 1_000);
+        eventBus = new RingBufferPaymentEventBus(List.of(metrics, webhooks), meterRegistry, 64, "yielding", 1_000);
+        eventBus.start();
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            eventBus.publish(event("payment" + i));
+        }
+
+        // then
+        assertTrue(metrics.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(webhooks.latch.await(5, TimeUnit.SECONDS));
+        assertEquals("payment0", metrics.received.get(0));
+        assertEquals("payment999", metrics.received.get(999));
+        assertEquals(metrics.received, webhooks.received);
+    }
+
+    @Test
+    void shouldApplyBackpressureWhenSlowestGroupFallsBehind() throws InterruptedException {
+        // given
+        var gate = new CountDownLatch(1);
+        var slow = new RecordingHandler("slow", 8) {
+            @Override
+            public void onEvent(PaymentEvent event) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(event);
+            }
+        };
+        eventBus = new RingBufferPaymentEventBus(List.of(slow), meterRegistry, 4, "blocking", 10_000);
+        eventBus.start();
+
+        // when
+        var producer = new Thread(() -> {
+            for (int i = 0; i < 8; i++) {
+                eventBus.publish(event("payment" + i));
+            }
+        });
+        producer.start();
+        producer.join(200);
+
+        // then
+        assertTrue(producer.isAlive(), "producer should wait while the buffer is full");
+        assertEquals(1.0, meterRegistry.get("payments.eventbus.producer.waits").counter().count());
+
+        gate.countDown();
+        assertTrue(slow.latch.await(5, TimeUnit.SECONDS));
+        producer.join(1_000);
+        assertFalse(producer.isAlive());
+    }
+
+    @Test
+    void shouldDropEventsWhenSlowestGroupDoesNotCatchUpInTime() throws InterruptedException {
+        // given
+        var gate = new CountDownLatch(1);
+        var stuck = new RecordingHandler("stuck", 4) {
+            @Override
+            public void onEvent(PaymentEvent event) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(event);
+            }
+        };
+        eventBus = new RingBufferPaymentEventBus(List.of(stuck), meterRegistry, 4, "blocking", 20);
+        eventBus.start();
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            eventBus.publish(event("payment" + i));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertTrue(elapsedMs < 2_000, "publish should give up after the timeout, took " + elapsedMs + " ms");
+        assertEquals(4.0, meterRegistry.get("payments.eventbus.dropped").counter().count());
+        gate.countDown();
+        assertTrue(stuck.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("payment0", "payment1", "payment2", "payment3"), stuck.received);
+    }
+
+    @Test
+    void shouldStartBeforeAndStopAfterTheWebServer() {
+        // given
+        eventBus = new RingBufferPaymentEventBus(List.of(), meterRegistry, 4, "sleeping", 1_000);
+
+        // then
+        assertTrue(eventBus.getPhase() < SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    @Test
+    void shouldKeepDeliveringWhenHandlerFails() throws InterruptedException {
+        // given
+        var recording = new RecordingHandler("default", 2);
+        PaymentEventHandler failing = event -> {
+            throw new IllegalStateException("boom");
+        };
+        eventBus = new RingBufferPaymentEventBus(List.of(failing, recording), meterRegistry, 8, "sleeping", 1_000);
+        eventBus.start();
+
+        // when
+        eventBus.publish(event("payment1"));
+        eventBus.publish(event("payment2"));
+
+        // then
+        assertTrue(recording.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2.0, meterRegistry.get("payments.eventbus.handler.errors").tag("group", "default").counter().count());
+    }
+
+    @Test
+    void shouldRejectBufferSizeThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RingBufferPaymentEventBus(List.of(), meterRegistry, 1000, "sleeping", 1_000));
+    }
+
+    private PaymentEvent event(String paymentId) {
+        return PaymentStatusChangedEvent.builder()
+                .paymentId(paymentId)
+                .status(PaymentStatus.APPROVED)
+                .build();
+    }
+
+    private static class RecordingHandler implements PaymentEventHandler {
+        private final String group;
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch;
+
+        RecordingHandler(String group, int expected) {
+            this.group = group;
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public String group() {
+            return group;
+        }
+
+        @Override
+        public void onEvent(PaymentEvent event) {
+            received.add(event.getPaymentId());
+            latch.countDown();
+        }
+    }
+}
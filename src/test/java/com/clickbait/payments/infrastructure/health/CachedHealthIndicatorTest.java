@@ -0,0 +1,79 @@
+package com.clickbait.payments.infrastructure.health;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachedHealthIndicatorTest {
+
+    private final HealthIndicator delegate = mock(HealthIndicator.class);
+
+    @Test
+    void shouldBeOutOfServiceUntilFirstCheck() {
+        // given
+        var indicator = new CachedHealthIndicator(delegate, Duration.ofMinutes(1));
+
+        // when
+        var health = indicator.health();
+
+        // then
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void shouldServeLastResultWithoutCallingDelegate() {
+        // given
+        var indicator = new CachedHealthIndicator(delegate, Duration.ofMinutes(1));
+        doReturn(Health.up().withDetail("maxWireVersion", 21).build()).when(delegate).health();
+        indicator.refresh();
+
+        // when
+        var first = indicator.health();
+        var second = indicator.health();
+
+        // then
+        assertEquals(Status.UP, first.getStatus());
+        assertEquals(21, first.getDetails().get("maxWireVersion"));
+        assertNotNull(first.getDetails().get("checkedAt"));
+        assertSame(first, second);
+        verify(delegate, times(1)).health();
+    }
+
+    @Test
+    void shouldReportDownWhenDelegateThrows() {
+        // given
+        var indicator = new CachedHealthIndicator(delegate, Duration.ofMinutes(1));
+        doThrow(new IllegalStateException("Timed out")).when(delegate).health();
+
+        // when
+        indicator.refresh();
+
+        // then
+        var health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("java.lang.IllegalStateException: Timed out", health.getDetails().get("error"));
+    }
+
+    @Test
+    void shouldReportDownWhenLastResultIsStale() throws InterruptedException {
+        // given
+        var indicator = new CachedHealthIndicator(delegate, Duration.ofMillis(20));
+        doReturn(Health.up().build()).when(delegate).health();
+        indicator.refresh();
+
+        // when
+        Thread.sleep(50);
+        var health = indicator.health();
+
+        // then
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("UP", health.getDetails().get("lastStatus"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.clickbait.payments.infrastructure.health;
+
+import com.clickbait.payments.application.PaymentMetrics;
+import com.clickbait.payments.application.PaymentMetrics.Outcome;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessorHealthIndicatorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PaymentMetrics metrics = new PaymentMetrics(registry);
+    private final ProcessorHealthIndicator indicator = new ProcessorHealthIndicator(registry, 2, 10, 0.5);
+
+    @Test
+    void shouldOpenCircuitWhenFailureRatioReachesThreshold() {
+        // given
+        indicator.health();
+        record(Outcome.APPROVED, 4);
+        record(Outcome.FAILED, 4);
+        record(Outcome.ERROR, 2);
+
+        // when
+        var health = indicator.health();
+
+        // then
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("OPEN", health.getDetails().get("circuit"));
+        assertEquals(10L, health.getDetails().get("calls"));
+        assertEquals(6L, health.getDetails().get("failures"));
+    }
+
+    @Test
+    void shouldKeepCircuitClosedBelowMinimumCalls() {
+        // given
+        indicator.health();
+        record(Outcome.FAILED, 9);
+
+        // when
+        var health = indicator.health();
+
+        // then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("CLOSED", health.getDetails().get("circuit"));
+    }
+
+    @Test
+    void shouldCloseCircuitWhenFailuresLeaveTheWindow() {
+        // given
+        indicator.health();
+        record(Outcome.FAILED, 20);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        // when
+        record(Outcome.APPROVED, 20);
+        indicator.health();
+        var health = indicator.health();
+
+        // then
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(20L, health.getDetails().get("calls"));
+        assertEquals(0L, health.getDetails().get("failures"));
+    }
+
+    private void record(Outcome outcome, int times) {
+        for (int i = 0; i < times; i++) {
+            metrics.recordProcessor(PaymentMethod.PIX, outcome, 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.clickbait.payments.infrastructure.jfr;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowPaymentCollectorTest {
+
+    private final SlowPaymentCollector collector = new SlowPaymentCollector(2);
+
+    @Test
+    void shouldAttachStagesFromSameAndPreviousChunk() {
+        // given
+        collector.stage("merchant-1", "order123", "validation", Duration.ofMillis(1));
+        collector.flush();
+        collector.stage("merchant-1", "order123", "processor", Duration.ofMillis(600));
+        collector.stage("merchant-1", "order123", "persistence", Duration.ofMillis(20));
+        collector.payment("merchant-1", "order123", "payment123", "CREDIT_CARD", "approved", Instant.EPOCH, Duration.ofMillis(650));
+
+        // when
+        collector.flush();
+
+        // then
+        var payment = collector.recent().get(0);
+        assertEquals("payment123", payment.paymentId());
+        assertEquals(650.0, payment.durationMs());
+        assertEquals(Map.of("validation", 1.0, "processor", 600.0, "persistence", 20.0), payment.stagesMs());
+    }
+
+    @Test
+    void shouldForgetStagesOlderThanTwoChunks() {
+        // given
+        collector.stage("merchant-1", "order123", "validation", Duration.ofMillis(1));
+        collector.flush();
+        collector.flush();
+        collector.payment("merchant-1", "order123", "payment123", "PIX", "approved", Instant.EPOCH, Duration.ofMillis(700));
+
+        // when
+        collector.flush();
+
+        // then
+        assertTrue(collector.recent().get(0).stagesMs().isEmpty());
+    }
+
+    @Test
+    void shouldKeepOnlyMostRecentPaymentsNewestFirst() {
+        // given
+        collector.payment("merchant-1", "order1", "payment1", "PIX", "approved", Instant.EPOCH, Duration.ofMillis(600));
+        collector.payment("merchant-1", "order2", "payment2", "PIX", "approved", Instant.EPOCH, Duration.ofMillis(600));
+        collector.flush();
+        collector.payment("merchant-1", "order3", "payment3", "PIX", "rejected", Instant.EPOCH, Duration.ofMillis(600));
+
+        // when
+        collector.flush();
+
+        // then
+        assertEquals(List.of("payment3", "payment2"),
+                collector.recent().stream().map(SlowPayment::paymentId).toList());
+    }
+
+    @Test
+    void shouldNotMixStagesOfSameOrderFromAnotherMerchant() {
+        // given
+        collector.stage("merchant-1", "order123", "processor", Duration.ofMillis(700));
+        collector.stage("merchant-2", "order123", "processor", Duration.ofMillis(3));
+        collector.payment("merchant-2", "order123", "payment456", "PIX", "approved", Instant.EPOCH, Duration.ofMillis(600));
+
+        // when
+        collector.flush();
+
+        // then
+        assertEquals(Map.of("processor", 3.0), collector.recent().get(0).stagesMs());
+    }
+}
@@ -0,0 +1,47 @@
+package com.clickbait.payments.infrastructure.jfr;
+
+import com.clickbait.payments.application.jfr.PaymentProcessedEvent;
+import com.clickbait.payments.application.jfr.PaymentProcessorEvent;
+import com.clickbait.payments.domain.model.PaymentMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowPaymentReportTest {
+
+    // Thresholds zero: todo pagamento e toda etapa entram no relatório
+    private final SlowPaymentReport report = new SlowPaymentReport(0, 0, 10);
+
+    @AfterEach
+    void tearDown() {
+        report.stop();
+    }
+
+    @Test
+    void shouldReportPaymentsWithStageTimesFromRecordingStream() throws Exception {
+        // given
+        report.start();
+        var payment = new PaymentProcessedEvent();
+        payment.begin();
+        var processor = new PaymentProcessorEvent();
+        processor.begin();
+        Thread.sleep(5);
+        processor.finish("merchant-1", "order123", "payment123", PaymentMethod.PIX, "approved");
+
+        // when
+        payment.finish("merchant-1", "order123", "payment123", PaymentMethod.PIX, "approved");
+
+        // then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (report.slowPayments().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        var slow = report.slowPayments();
+        assertEquals(1, slow.size());
+        assertEquals("order123", slow.get(0).orderId());
+        assertEquals("PIX", slow.get(0).paymentMethod());
+        assertEquals("approved", slow.get(0).outcome());
+        assertTrue(slow.get(0).stagesMs().get("processor") >= 5.0, slow.get(0).toString());
+    }
+}
@@ -0,0 +1,156 @@
+package com.clickbait.payments.infrastructure.partition;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PartitionOwnershipTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PartitionOwnership ownership =
+            new PartitionOwnership(mongoTemplate, new PaymentPartitions(4), registry, 10_000, 3_000);
+
+    @Test
+    void shouldClaimAllPartitionsWhenAlone() {
+        // given
+        members(ownership.member());
+
+        // when
+        ownership.heartbeat();
+
+        // then
+        assertEquals(Set.of(0, 1, 2, 3), ownership.ownedPartitions());
+        assertEquals(4, registry.get("payments.partitions.owned").gauge().value());
+        verify(mongoTemplate, times(4)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(PartitionLease.class));
+    }
+
+    @Test
+    void shouldClaimOnlyItsShareSkippingPartitionsHeldElsewhere() {
+        // given
+        members(ownership.member(), "~other");
+        doThrow(new DuplicateKeyException("E11000 duplicate key error"))
+                .when(mongoTemplate).findAndModify(argThat(query -> Integer.valueOf(0).equals(query.getQueryObject().get("_id"))),
+                        any(Update.class), any(FindAndModifyOptions.class), eq(PartitionLease.class));
+
+        // when
+        ownership.heartbeat();
+
+        // then
+        assertEquals(Set.of(1, 2), ownership.ownedPartitions());
+    }
+
+    @Test
+    void shouldReleaseExcessPartitionsWhenAnotherInstanceJoins() {
+        // given
+        members(ownership.member());
+        ownership.heartbeat();
+        members(ownership.member(), "~other");
+        doReturn(UpdateResult.acknowledged(1, 1L, null))
+                .when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(PartitionLease.class));
+
+        // when
+        ownership.heartbeat();
+
+        // then
+        assertEquals(Set.of(0, 1), ownership.ownedPartitions());
+        verify(mongoTemplate, times(2)).remove(any(Query.class), eq(PartitionLease.class));
+    }
+
+    @Test
+    void shouldDropReleasedPartitionsEvenWhenTheHeartbeatFailsMidway() {
+        // given
+        members(ownership.member());
+        ownership.heartbeat();
+        members(ownership.member(), "~other");
+        doReturn(UpdateResult.acknowledged(1, 1L, null))
+                .when(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(PartitionLease.class));
+        doReturn(null)
+                .doThrow(new DataAccessResourceFailureException("connection reset"))
+                .when(mongoTemplate).remove(any(Query.class), eq(PartitionLease.class));
+
+        // when
+        assertThrows(DataAccessResourceFailureException.class, ownership::heartbeat);
+
+        // then
+        assertEquals(Set.of(0, 1), ownership.ownedPartitions());
+    }
+
+    @Test
+    void shouldWaitForInFlightHeartbeatBeforeReleasingOnStop() throws InterruptedException {
+        // given
+        members(ownership.member());
+        var entered = new CountDownLatch(1);
+        var proceed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            entered.countDown();
+            // Ignora a interrupção, como uma chamada ao driver que já está em andamento
+            while (!proceed.get()) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(PartitionMember.class));
+        ownership.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // when
+        var stopper = new Thread(ownership::stop);
+        stopper.start();
+        Thread.sleep(50);
+        assertTrue(stopper.isAlive());
+        proceed.set(true);
+        stopper.join(5_000);
+
+        // then
+        assertFalse(stopper.isAlive());
+        assertTrue(ownership.ownedPartitions().isEmpty());
+        var order = inOrder(mongoTemplate);
+        order.verify(mongoTemplate, times(4)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(PartitionLease.class));
+        order.verify(mongoTemplate, times(4)).remove(any(Query.class), eq(PartitionLease.class));
+    }
+
+    @Test
+    void shouldStopOwningPartitionsWhenHeartbeatsStopBeforeLeasesExpire() throws InterruptedException {
+        // given
+        var shortLived = new PartitionOwnership(mongoTemplate, new PaymentPartitions(4), registry, 50, 10);
+        members(shortLived.member());
+        shortLived.heartbeat();
+        assertEquals(4, shortLived.ownedPartitions().size());
+
+        // when
+        Thread.sleep(80);
+
+        // then
+        assertTrue(shortLived.ownedPartitions().isEmpty());
+    }
+
+    private void members(String... ids) {
+        var members = Arrays.stream(ids)
+                .sorted()
+                .map(id -> new PartitionMember(id, Instant.now().plusSeconds(10)))
+                .toList();
+        doReturn(List.copyOf(members)).when(mongoTemplate).find(any(Query.class), eq(PartitionMember.class));
+    }
+}
@@ -0,0 +1,209 @@
+package com.clickbait.payments.infrastructure.tracing;
+
+import com.clickbait.payments.infrastructure.config.TracingConfig;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanProcessorTest {
+
+    private final List<SpanData> exported = new CopyOnWriteArrayList<>();
+    private final List<String> exportThreads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch exporting = new CountDownLatch(1);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(new Capturing(), 100, 10, 128, 10);
+    private SdkTracerProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void shouldExportWholeTraceWhenRootIsSlow() {
+        // given
+        var tracer = tracer(0.0);
+        long start = System.nanoTime();
+
+        // when
+        Span root = tracer.spanBuilder("http post /api/v1/payments").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        try (Scope scope = root.makeCurrent()) {
+            tracer.spanBuilder("payment.process").startSpan().end();
+        }
+        root.end(start + TimeUnit.MILLISECONDS.toNanos(150), TimeUnit.NANOSECONDS);
+        flush();
+
+        // then
+        assertEquals(List.of("payment.process", "http post /api/v1/payments"),
+                exported.stream().map(SpanData::getName).toList());
+        assertEquals(0, processor.pendingTraces());
+    }
+
+    @Test
+    void shouldExportTraceWhenAnyChildFails() {
+        // given
+        var tracer = tracer(0.0);
+
+        // when
+        Span root = tracer.spanBuilder("http post /api/v1/payments").startSpan();
+        try (Scope scope = root.makeCurrent()) {
+            tracer.spanBuilder("payment.processor").startSpan().setStatus(StatusCode.ERROR).end();
+            tracer.spanBuilder("mongodb insert").startSpan().end();
+        }
+        root.end();
+        flush();
+
+        // then
+        assertEquals(3, exported.size());
+    }
+
+    @Test
+    void shouldDropFastSuccessfulTrace() {
+        // given
+        var tracer = tracer(0.0);
+
+        // when
+        Span root = tracer.spanBuilder("http get /api/v1/payments/{id}").startSpan();
+        try (Scope scope = root.makeCurrent()) {
+            tracer.spanBuilder("mongodb find").startSpan().end();
+        }
+        root.end();
+        flush();
+
+        // then
+        assertTrue(exported.isEmpty());
+        assertEquals(0, processor.pendingTraces());
+    }
+
+    @Test
+    void shouldLeaveHeadSampledTracesToRegularExporter() {
+        // given
+        var tracer = tracer(1.0);
+
+        // when
+        Span root = tracer.spanBuilder("http post /api/v1/payments").startSpan();
+        root.setStatus(StatusCode.ERROR);
+        root.end();
+        flush();
+
+        // then
+        assertTrue(root.getSpanContext().isSampled());
+        assertTrue(exported.isEmpty());
+    }
+
+    @Test
+    void shouldStopBufferingWhenTraceLimitIsReached() {
+        // given
+        var tracer = tracer(0.0);
+        var roots = new ArrayList<Span>();
+
+        // when
+        for (int i = 0; i < 12; i++) {
+            Span root = tracer.spanBuilder("root").startSpan();
+            try (Scope scope = root.makeCurrent()) {
+                tracer.spanBuilder("child").startSpan().end();
+            }
+            roots.add(root);
+        }
+
+        // then
+        assertEquals(10, processor.pendingTraces());
+        roots.forEach(Span::end);
+        assertEquals(0, processor.pendingTraces());
+    }
+
+    @Test
+    void shouldExportOffTheRequestThreadAndDropWhenQueueIsFull() throws Exception {
+        // given
+        processor = new TailSamplingSpanProcessor(new Capturing(), 100, 10, 128, 1);
+        var tracer = tracer(0.0);
+        release = new CountDownLatch(1);
+
+        // when
+        tracer.spanBuilder("first").startSpan().setStatus(StatusCode.ERROR).end();
+        assertTrue(exporting.await(5, TimeUnit.SECONDS));
+        // O exporter está parado no primeiro trace: o segundo ocupa a fila e o terceiro é descartado
+        tracer.spanBuilder("second").startSpan().setStatus(StatusCode.ERROR).end();
+        tracer.spanBuilder("third").startSpan().setStatus(StatusCode.ERROR).end();
+        release.countDown();
+        flush();
+
+        // then
+        assertEquals(List.of("first", "second"), exported.stream().map(SpanData::getName).toList());
+        assertEquals(1, processor.droppedTraces());
+        assertEquals(List.of("payments-tail-export"), exportThreads.stream().distinct().toList());
+    }
+
+    @Test
+    void shouldCapSpansBufferedPerTrace() {
+        // given
+        processor = new TailSamplingSpanProcessor(new Capturing(), 100, 10, 2, 10);
+        var tracer = tracer(0.0);
+
+        // when
+        Span root = tracer.spanBuilder("root").startSpan();
+        try (Scope scope = root.makeCurrent()) {
+            tracer.spanBuilder("child-1").startSpan().end();
+            tracer.spanBuilder("child-2").startSpan().end();
+            tracer.spanBuilder("child-3").startSpan().setStatus(StatusCode.ERROR).end();
+        }
+        root.end();
+        flush();
+
+        // then
+        assertEquals(List.of("child-1", "child-2", "root"), exported.stream().map(SpanData::getName).toList());
+    }
+
+    private void flush() {
+        assertTrue(processor.forceFlush().join(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    private Tracer tracer(double probability) {
+        provider = SdkTracerProvider.builder()
+                .setSampler(new TracingConfig().paymentsSampler(probability, true))
+                .addSpanProcessor(processor)
+                .build();
+        return provider.get("test");
+    }
+
+    private final class Capturing implements SpanExporter {
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            exportThreads.add(Thread.currentThread().getName());
+            exporting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
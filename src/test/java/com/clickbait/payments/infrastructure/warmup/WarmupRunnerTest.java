@@ -0,0 +1,119 @@
+package com.clickbait.payments.infrastructure.warmup;
+
+import com.clickbait.payments.application.FxConversionService;
+import com.clickbait.payments.application.PaymentLookupKeys;
+import com.clickbait.payments.application.PaymentMetrics;
+import com.clickbait.payments.domain.model.FxRate;
+import com.clickbait.payments.infrastructure.adapters.in.rest.json.PaymentJsonSerializer;
+import com.clickbait.payments.infrastructure.adapters.in.rest.mapper.PaymentMapper;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionReadyEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MongoConnectionPoolMonitor poolMonitor = new MongoConnectionPoolMonitor();
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<MongoTemplate> mongoTemplate = mock(ObjectProvider.class);
+    private final MongoTemplate template = mock(MongoTemplate.class);
+    private final ServerId serverId = new ServerId(new ClusterId(), new ServerAddress("localhost", 27017));
+
+    @Test
+    void shouldRunSyntheticPaymentsAndPreloadMetricsWithoutRecordingThem() throws Exception {
+        // given
+        var runner = runner("in-memory", 500);
+
+        // when
+        runner.run(null);
+
+        // then
+        assertEquals(50, runner.warmPaymentPath());
+        var approvedPix = registry.find(PaymentMetrics.PROCESSING).tags("method", "PIX", "outcome", "approved").timer();
+        assertNotNull(approvedPix);
+        assertEquals(0, approvedPix.count());
+        assertNull(registry.find(PaymentMetrics.VALIDATION_FAILURES).counter());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldWaitUntilConnectionPoolReachesMinimumSize() {
+        // given
+        var runner = runner("document", 5_000);
+        doReturn(template).when(mongoTemplate).getIfAvailable();
+        doReturn(new Document("ok", 1)).when(template).executeCommand(any(Document.class));
+        poolMonitor.connectionPoolCreated(new ConnectionPoolCreatedEvent(serverId,
+                ConnectionPoolSettings.builder().minSize(2).build()));
+        var maintenance = new Thread(() -> {
+            sleep(100);
+            poolMonitor.connectionReady(new ConnectionReadyEvent(new ConnectionId(serverId), 0));
+            poolMonitor.connectionReady(new ConnectionReadyEvent(new ConnectionId(serverId), 0));
+        });
+
+        // when
+        maintenance.start();
+        int connections = runner.warmConnectionPool();
+
+        // then
+        assertEquals(2, connections);
+        assertEquals(0, poolMonitor.missingConnections());
+    }
+
+    @Test
+    void shouldNotFailStartupWhenMongoIsUnreachable() {
+        // given
+        var runner = runner("document", 200);
+        doReturn(template).when(mongoTemplate).getIfAvailable();
+        doThrow(new MongoTimeoutException("no server")).when(template).executeCommand(any(Document.class));
+        poolMonitor.connectionPoolCreated(new ConnectionPoolCreatedEvent(serverId,
+                ConnectionPoolSettings.builder().minSize(2).build()));
+
+        // when
+        int connections = runner.warmConnectionPool();
+
+        // then
+        assertEquals(0, connections);
+        assertEquals(2, poolMonitor.missingConnections());
+    }
+
+    private WarmupRunner runner(String persistenceMode, long mongoTimeoutMs) {
+        var objectMapper = JsonMapper.builder()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .addModule(new SimpleModule().addSerializer(new PaymentJsonSerializer()))
+                .findAndAddModules()
+                .build();
+        var fx = new FxConversionService(() -> List.of(
+                FxRate.of("USD", "BRL", new BigDecimal("5.42"), LocalDateTime.now())), "BRL");
+        return new WarmupRunner(new PaymentMapper(), objectMapper, fx, new PaymentLookupKeys("test-key"),
+                new PaymentMetrics(registry), mongoTemplate, poolMonitor, persistenceMode, 50, 10_000, mongoTimeoutMs);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}